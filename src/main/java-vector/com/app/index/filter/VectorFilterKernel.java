@@ -0,0 +1,104 @@
+package com.app.index.filter;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@code VectorFilterKernel} evaluates the predicates with the Vector API, comparing as many rows at once
+ * as the preferred vector size of the CPU holds.
+ * <p>
+ * Each word of the selection covers 64 rows, a whole number of vectors, so the comparison masks of the vectors
+ * are shifted into the word directly. The rows of the last incomplete word are evaluated by scalar loops.
+ * </p>
+ * <p>
+ * The class is only compiled with the {@code vector} profile, which adds the incubating module to the build,
+ * and is loaded by {@link FilterKernels#fastest()} by name. Loading it fails with a {@link LinkageError}
+ * when the {@code jdk.incubator.vector} module is not available.
+ * </p>
+ */
+public class VectorFilterKernel implements FilterKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // A comparison mask is converted to a long, so a vector holds at most 64 lanes
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE
+            ? ByteVector.SPECIES_PREFERRED
+            : ByteVector.SPECIES_512;
+
+    @Override
+    public void between(long[] values, long min, long max, long[] selection) {
+        var words = values.length / Long.SIZE;
+        for (int word = 0; word < words; word++) {
+            if (selection[word] == 0) {
+                continue;
+            }
+
+            var from = word * Long.SIZE;
+            var bits = 0L;
+            for (int lane = 0; lane < Long.SIZE; lane += LONGS.length()) {
+                var vector = LongVector.fromArray(LONGS, values, from + lane);
+                var mask = vector
+                        .compare(VectorOperators.GE, min)
+                        .and(vector.compare(VectorOperators.LE, max));
+                bits |= mask.toLong() << lane;
+            }
+            selection[word] &= bits;
+        }
+
+        if (words < selection.length) {
+            selection[words] &= ScalarFilterKernel.between(values, words * Long.SIZE, values.length, min, max);
+        }
+    }
+
+    @Override
+    public void between(int[] values, int min, int max, long[] selection) {
+        var words = values.length / Long.SIZE;
+        for (int word = 0; word < words; word++) {
+            if (selection[word] == 0) {
+                continue;
+            }
+
+            var from = word * Long.SIZE;
+            var bits = 0L;
+            for (int lane = 0; lane < Long.SIZE; lane += INTS.length()) {
+                var vector = IntVector.fromArray(INTS, values, from + lane);
+                var mask = vector
+                        .compare(VectorOperators.GE, min)
+                        .and(vector.compare(VectorOperators.LE, max));
+                bits |= mask.toLong() << lane;
+            }
+            selection[word] &= bits;
+        }
+
+        if (words < selection.length) {
+            selection[words] &= ScalarFilterKernel.between(values, words * Long.SIZE, values.length, min, max);
+        }
+    }
+
+    @Override
+    public void equal(byte[] values, byte value, long[] selection) {
+        var words = values.length / Long.SIZE;
+        for (int word = 0; word < words; word++) {
+            if (selection[word] == 0) {
+                continue;
+            }
+
+            var from = word * Long.SIZE;
+            var bits = 0L;
+            for (int lane = 0; lane < Long.SIZE; lane += BYTES.length()) {
+                bits |= ByteVector
+                        .fromArray(BYTES, values, from + lane)
+                        .compare(VectorOperators.EQ, value)
+                        .toLong() << lane;
+            }
+            selection[word] &= bits;
+        }
+
+        if (words < selection.length) {
+            selection[words] &= ScalarFilterKernel.equal(values, words * Long.SIZE, values.length, value);
+        }
+    }
+}
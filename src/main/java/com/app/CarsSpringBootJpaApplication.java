@@ -2,17 +2,20 @@ package com.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The {@code CarsSpringBootJpaApplication} class is the main entry point for the Spring Boot application.
  * It is annotated with {@code @SpringBootApplication}, which enables auto-configuration,
  * component scanning, and configuration properties scanning for the application.
+ * It is also annotated with {@code @EnableScheduling}, which enables the periodic reconcile of the in-memory indexes.
  *
  * The {@code main} method uses {@link SpringApplication#run} to launch the application.
  *
  * This class serves as the starting point for the Cars Spring Boot application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class CarsSpringBootJpaApplication {
 
     /**
@@ -0,0 +1,31 @@
+package com.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code CacheConfig} enables the caching of service results.
+ * <p>
+ * The caches are created by the Caffeine cache manager from the {@code spring.cache} properties,
+ * which bound their size and record their statistics, published as the {@code cache.*} metrics.
+ * </p>
+ * <p>
+ * The group-by caches are cleared after each commit writing cars, but a query started before the commit
+ * may still store its stale result afterwards. The {@code expireAfterWrite} bound of the cache specification
+ * limits how long such a result is served.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * The name of the cache holding the number of cars in each group, keyed by the group field.
+     */
+    public static final String GROUP_BY_AMOUNT_CACHE = "group-by-amount";
+
+    /**
+     * The name of the cache holding the price statistics of each group, keyed by the group field.
+     */
+    public static final String GROUP_BY_PRICE_STATISTIC_CACHE = "group-by-price-statistic";
+}
@@ -0,0 +1,93 @@
+package com.app.config;
+
+import com.app.persistence.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+/**
+ * {@code ReplicaDataSourceConfig} routes the read-only transactions to the read replicas of the database.
+ * <p>
+ * The configuration is active when at least one replica is listed in the {@code app.datasource.replicas}
+ * property. The primary database stays configured by the {@code spring.datasource} properties.
+ * The data source used by JPA defers fetching the physical connection until the first statement, when
+ * the transaction has already marked the connection as read-only or not. Read-only connections are
+ * taken from the replicas, and all other connections, i.e. the writes, from the primary database.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties the {@code spring.datasource} properties.
+     * @return the primary data source.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * Creates the data source spreading the reads over the replicas that are not lagging behind.
+     *
+     * @param primaryDataSource the primary data source, used when no replica can serve reads.
+     * @param properties        the {@code app.datasource} properties.
+     * @return the data source of the read-only connections.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaDataSourceProperties properties) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            var replica = properties.replicas().get(i);
+            var dataSource = DataSourceBuilder
+                    .create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, properties.maxLag(), properties.lagQuery(), properties.lagColumn());
+    }
+
+    /**
+     * Creates the data source used by JPA, which takes the read-only connections from the replicas.
+     *
+     * @param primaryDataSource        the primary data source.
+     * @param replicaRoutingDataSource the data source of the read-only connections.
+     * @return the routing data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The {@code app.datasource} properties describing the read replicas of the database.
+ *
+ * @param replicas  the connection settings of each replica.
+ * @param maxLag    the maximum replication lag of a replica still serving reads.
+ * @param lagQuery  the query run on a replica to read its replication status.
+ * @param lagColumn the column of the status row holding the replication lag in seconds.
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaDataSourceProperties(
+        List<Replica> replicas,
+        @DefaultValue("PT5S") Duration maxLag,
+        @DefaultValue("SHOW REPLICA STATUS") String lagQuery,
+        @DefaultValue("Seconds_Behind_Source") String lagColumn) {
+
+    /**
+     * The connection settings of a single replica.
+     *
+     * @param url      the JDBC URL of the replica.
+     * @param username the user connecting to the replica.
+     * @param password the password of the user.
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
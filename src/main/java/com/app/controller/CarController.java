@@ -3,13 +3,21 @@ package com.app.controller;
 import com.app.controller.dto.*;
 import com.app.controller.dto.car.*;
 import com.app.controller.dto.components.ComponentsWithCarsDto;
-import com.app.persistence.entity.CarEntity;
+import com.app.service.CarImportService;
 import com.app.service.CarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -24,6 +32,8 @@ import java.util.List;
 public class CarController {
 
     private final CarService carService;
+    private final CarImportService carImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new car and returns its ID.
@@ -49,6 +59,35 @@ public class CarController {
         return new ResponseDto<>(carService.saveAll(createCarDtos));
     }
 
+    /**
+     * Creates or updates multiple cars, matching them to the stored cars by brand and model,
+     * and returns the outcome of each car.
+     *
+     * @param createCarDtos List of data of the cars to create or update.
+     * @return ResponseDto containing the ID and the created, updated or unchanged status of each car.
+     */
+    @PostMapping("/all/upsert")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<List<CarUpsertResultDto>> upsertCars(@RequestBody List<CreateCarDto> createCarDtos) {
+        return new ResponseDto<>(carService.upsertAll(createCarDtos));
+    }
+
+    /**
+     * Imports the cars streamed in the request body, one car per line, as newline-delimited JSON or CSV.
+     * The cars are committed in chunks, so rejected rows are reported instead of failing the whole import.
+     *
+     * @param contentType The format of the request body.
+     * @param body        The request body holding the cars.
+     * @return ResponseDto containing the report of the imported chunks and of the rejected rows.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<CarImportReportDto> importCars(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        return new ResponseDto<>(carImportService.importCars(body, contentType));
+    }
+
     /**
      * Retrieves a car by its ID.
      *
@@ -58,7 +97,7 @@ public class CarController {
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.FOUND)
     public ResponseDto<CarDto> findCarById(@PathVariable Long id) {
-        return new ResponseDto<>(carService.findById(id).toCarDto());
+        return new ResponseDto<>(carService.findCarById(id));
     }
 
     /**
@@ -70,11 +109,7 @@ public class CarController {
     @GetMapping()
     @ResponseStatus(HttpStatus.FOUND)
     public ResponseDto<List<CarDto>> findAllCars(@RequestParam List<Long> ids) {
-        return new ResponseDto<>(carService
-                .findAllById(ids)
-                .stream()
-                .map(CarEntity::toCarDto)
-                .toList());
+        return new ResponseDto<>(carService.findCarsById(ids));
     }
 
     /**
@@ -113,6 +148,26 @@ public class CarController {
         return new ResponseDto<>(carService.sortedCarsBy(parameters, direction));
     }
 
+    /**
+     * Retrieves one page of cars sorted by specified parameters and direction.
+     * The next page is requested with the cursor returned in the previous page.
+     *
+     * @param parameters List of parameters to sort by.
+     * @param direction  Sorting direction ("asc" or "desc").
+     * @param cursor     Cursor returned with the previous page, omitted for the first page.
+     * @param limit      Maximum number of cars in the page.
+     * @return ResponseDto containing a page of sorted car data and the cursor of the next page.
+     */
+    @GetMapping("/sort/page")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<CursorPageDto<CarDto>> getSortedCarPage(
+            @RequestParam List<String> parameters,
+            @RequestParam String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return new ResponseDto<>(carService.sortedCarsPageBy(parameters, direction, cursor, limit));
+    }
+
     /**
      * Retrieves a list of cars with speed between specified minimum and maximum values.
      *
@@ -128,6 +183,21 @@ public class CarController {
         return new ResponseDto<>(carService.getCarsWithSpeedInterval(minSpeed, maxSpeed));
     }
 
+    /**
+     * Counts the cars with speed between specified minimum and maximum values.
+     *
+     * @param minSpeed Minimum speed.
+     * @param maxSpeed Maximum speed.
+     * @return ResponseDto containing the number of cars within the speed range.
+     */
+    @GetMapping("/{minSpeed}/{maxSpeed}/count")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<Long> countCarsWithSpeedBetween(
+            @PathVariable Integer minSpeed,
+            @PathVariable Integer maxSpeed) {
+        return new ResponseDto<>(carService.countCarsWithSpeedInterval(minSpeed, maxSpeed));
+    }
+
     /**
      * Retrieves a list of cars based on the specified filter criteria.
      *
@@ -140,6 +210,48 @@ public class CarController {
         return new ResponseDto<>(carService.getCarsFilterBy(carCriterionDto));
     }
 
+    /**
+     * Retrieves one page of cars based on the specified filter criteria, ordered by ID.
+     *
+     * @param carCriterionDto Filtering criteria for the cars.
+     * @param page            Zero-based index of the page.
+     * @param limit           Maximum number of cars in the page.
+     * @return ResponseDto containing a page of cars that match the filter.
+     */
+    @PostMapping("/filter/page")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<SliceDto<CarDto>> getCarsFiltersByPage(
+            @RequestBody CarCriterionDto carCriterionDto,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int limit) {
+        return new ResponseDto<>(carService.getCarsFilterBy(carCriterionDto, page, limit));
+    }
+
+    /**
+     * Streams the cars matching the specified filter criteria as newline-delimited JSON.
+     * Every car is written to the response as soon as it is read from the database.
+     *
+     * @param carCriterionDto Filtering criteria for the cars.
+     * @return StreamingResponseBody writing one car per line.
+     */
+    @PostMapping(value = "/filter/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public StreamingResponseBody streamCarsFiltersBy(@RequestBody CarCriterionDto carCriterionDto) {
+        return outputStream -> carService.streamCarsFilterBy(carCriterionDto, carDto -> writeLine(outputStream, carDto));
+    }
+
+    /**
+     * Streams the whole car catalogue as newline-delimited JSON, ordered by ID.
+     * Every car is written to the response as soon as it is read from the database.
+     *
+     * @return StreamingResponseBody writing one car per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public StreamingResponseBody exportCars() {
+        return outputStream -> carService.exportCars(carDto -> writeLine(outputStream, carDto));
+    }
+
     /**
      * Groups cars by color and returns the number of cars in each group.
      *
@@ -225,11 +337,29 @@ public class CarController {
      * Retrieves cars with a price close to a specified value.
      *
      * @param price The price to compare against.
+     * @param k     The number of closest cars to retrieve. Cars tied with the k-th closest car are included.
      * @return ResponseDto containing the cars close to the specified price.
      */
     @GetMapping("/close/{price}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseDto<List<CarDto>> getCarCloseToPrice(@PathVariable BigDecimal price) {
-        return new ResponseDto<>(carService.getCarsCloseToPrice(price));
+    public ResponseDto<List<CarDto>> getCarCloseToPrice(
+            @PathVariable BigDecimal price,
+            @RequestParam(defaultValue = "1") int k) {
+        return new ResponseDto<>(carService.getCarsCloseToPrice(price, k));
+    }
+
+    /**
+     * Writes the given value to the output stream as a single line of JSON.
+     *
+     * @param outputStream The stream to write to.
+     * @param value        The value to write.
+     */
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.app.controller;
 import com.app.controller.dto.components.ComponentDto;
 import com.app.controller.dto.components.CreateComponentDto;
 import com.app.controller.dto.ResponseDto;
+import com.app.controller.dto.car.GroupByDto;
 import com.app.persistence.entity.ComponentEntity;
 import com.app.service.ComponentService;
 import lombok.RequiredArgsConstructor;
@@ -74,6 +75,17 @@ public class ComponentsController {
                 .toList());
     }
 
+    /**
+     * Counts the cars having each component.
+     *
+     * @return ResponseDto containing the component names and their numbers of cars.
+     */
+    @GetMapping("/count")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseDto<List<GroupByDto<Object>>> countCarsByComponent() {
+        return new ResponseDto<>(componentService.countCarsByComponent());
+    }
+
     /**
      * Deletes a car component by its ID.
      *
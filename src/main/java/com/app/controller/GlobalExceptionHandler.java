@@ -1,6 +1,8 @@
 package com.app.controller;
 
 import com.app.controller.dto.ResponseDto;
+import com.app.validate.ValidationException;
+import com.app.validate.Violation;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -8,6 +10,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.List;
+
 /**
  * Global exception handler that handles various types of exceptions and returns appropriate HTTP responses.
  * The handler catches exceptions thrown within controllers and returns well-formed responses with specific HTTP statuses.
@@ -15,6 +19,18 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Handles ValidationException thrown when one or more objects of a request are not valid.
+     *
+     * @param ex The exception thrown.
+     * @return A ResponseDto containing every violation by row index and the error message.
+     */
+    @ExceptionHandler(ValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseDto<List<Violation>> validationExceptionHandler(ValidationException ex) {
+        return new ResponseDto<>(ex.getViolations(), ex.getMessage());
+    }
+
     /**
      * Handles IllegalArgumentException thrown in the application.
      *
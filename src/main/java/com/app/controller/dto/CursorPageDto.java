@@ -0,0 +1,23 @@
+package com.app.controller.dto;
+
+import java.util.List;
+
+/**
+ * A generic DTO class used to represent one page of a keyset (seek) paginated result.
+ * It contains the elements of the current page and an opaque cursor that points to the next page.
+ *
+ * @param <T> the type of the elements contained in the page
+ */
+public record CursorPageDto<T>(
+        /**
+         * The elements of the current page.
+         */
+        List<T> content,
+
+        /**
+         * The opaque cursor used to request the next page.
+         * This field is {@code null} if there are no more elements.
+         */
+        String nextCursor
+) {
+}
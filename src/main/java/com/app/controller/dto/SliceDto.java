@@ -0,0 +1,33 @@
+package com.app.controller.dto;
+
+import java.util.List;
+
+/**
+ * A generic DTO class used to represent one page of an offset paginated result.
+ * It contains the elements of the requested page and tells whether a following page exists,
+ * without counting all the matching elements.
+ *
+ * @param <T> the type of the elements contained in the page
+ */
+public record SliceDto<T>(
+        /**
+         * The elements of the requested page.
+         */
+        List<T> content,
+
+        /**
+         * The zero-based index of the requested page.
+         */
+        int page,
+
+        /**
+         * The maximum number of elements in the page.
+         */
+        int limit,
+
+        /**
+         * Whether there is at least one element after this page.
+         */
+        boolean hasNext
+) {
+}
@@ -10,6 +10,7 @@ import java.util.List;
  * Represents a DTO (Data Transfer Object) that holds car filtering criteria.
  * This class includes information such as brand, model, speed range, price range, color, and components.
  * It is used for filtering cars based on various search parameters.
+ * By default a car matches when it has any of the components, and with {@code matchAll} when it has all of them.
  */
 public record CarCriterionDto(
         String brand, // The brand of the car
@@ -19,9 +20,27 @@ public record CarCriterionDto(
         BigDecimal minPrice, // The minimum price of the car
         BigDecimal maxPrice, // The maximum price of the car
         Color color, // The color of the car
-        List<String> components // List of components of the car
+        List<String> components, // List of components of the car
+        boolean matchAll // Whether the car must have all the components instead of any of them
 ) {
 
+    /**
+     * Creates criteria matching the cars having any of the given components.
+     *
+     * @param brand      the brand of the car.
+     * @param model      the model of the car.
+     * @param minSpeed   the minimum speed of the car.
+     * @param maxSpeed   the maximum speed of the car.
+     * @param minPrice   the minimum price of the car.
+     * @param maxPrice   the maximum price of the car.
+     * @param color      the color of the car.
+     * @param components the components of the car.
+     */
+    public CarCriterionDto(String brand, String model, Integer minSpeed, Integer maxSpeed,
+                           BigDecimal minPrice, BigDecimal maxPrice, Color color, List<String> components) {
+        this(brand, model, minSpeed, maxSpeed, minPrice, maxPrice, color, components, false);
+    }
+
     /**
      * Converts this `CarCriterionDto` object into a `CarCriterionFilteringView`
      * object that can be used in database queries for car filtering.
@@ -30,6 +49,6 @@ public record CarCriterionDto(
      */
     public CarCriterionFilteringView toFilteringView() {
         return new CarCriterionFilteringView(brand, model, minSpeed, maxSpeed,
-                minPrice, maxPrice, color, components);
+                minPrice, maxPrice, color, components, matchAll);
     }
 }
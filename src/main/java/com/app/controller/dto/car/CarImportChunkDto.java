@@ -0,0 +1,33 @@
+package com.app.controller.dto.car;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of one chunk of a car import.
+ * The cars of a chunk are saved in their own transaction, so a failed chunk does not undo the previous ones.
+ */
+public record CarImportChunkDto(
+        /**
+         * The one-based number of the chunk.
+         */
+        int chunk,
+
+        /**
+         * The number of the first line of the chunk.
+         */
+        long firstLine,
+
+        /**
+         * The number of the last line of the chunk.
+         */
+        long lastLine,
+
+        /**
+         * The number of cars of the chunk that were imported.
+         */
+        int imported,
+
+        /**
+         * The number of rows of the chunk that were rejected.
+         */
+        int failed
+) {
+}
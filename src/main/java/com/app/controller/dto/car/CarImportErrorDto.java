@@ -0,0 +1,17 @@
+package com.app.controller.dto.car;
+
+/**
+ * Data Transfer Object (DTO) describing why a row of a car import was rejected.
+ */
+public record CarImportErrorDto(
+        /**
+         * The number of the line holding the rejected row.
+         */
+        long line,
+
+        /**
+         * The reason why the row was rejected.
+         */
+        String message
+) {
+}
@@ -0,0 +1,30 @@
+package com.app.controller.dto.car;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of a car import.
+ * It holds the totals of the import, the progress of each committed chunk and the errors of the rejected rows.
+ */
+public record CarImportReportDto(
+        /**
+         * The number of imported cars.
+         */
+        long imported,
+
+        /**
+         * The number of rejected rows.
+         */
+        long failed,
+
+        /**
+         * The outcome of each chunk, in the order of the input.
+         */
+        List<CarImportChunkDto> chunks,
+
+        /**
+         * The errors of the rejected rows, in the order of the input.
+         */
+        List<CarImportErrorDto> errors
+) {
+}
@@ -0,0 +1,27 @@
+package com.app.controller.dto.car;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of the upsert of one car.
+ */
+public record CarUpsertResultDto(
+        /**
+         * The ID of the stored car.
+         */
+        Long id,
+
+        /**
+         * The brand of the car.
+         */
+        String brand,
+
+        /**
+         * The model of the car.
+         */
+        String model,
+
+        /**
+         * Whether the car was created, updated or left unchanged.
+         */
+        CarUpsertStatus status
+) {
+}
@@ -0,0 +1,22 @@
+package com.app.controller.dto.car;
+
+/**
+ * The outcome of the upsert of one car.
+ */
+public enum CarUpsertStatus {
+
+    /**
+     * No car with the same brand and model was stored, so the car was inserted.
+     */
+    CREATED,
+
+    /**
+     * The car with the same brand and model differed, so it was updated.
+     */
+    UPDATED,
+
+    /**
+     * The car with the same brand and model was identical, so nothing was written.
+     */
+    UNCHANGED
+}
@@ -0,0 +1,1104 @@
+package com.app.index;
+
+import com.app.color.Color;
+import com.app.index.filter.FilterKernel;
+import com.app.index.filter.FilterKernels;
+import com.app.persistence.CarRepository;
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.CarCriterionFilteringView;
+import com.app.persistence.view.ComponentsAndCarsView;
+import com.app.persistence.view.GroupByAndPriceStatisticView;
+import com.app.persistence.view.GroupByView;
+import com.app.persistence.view.PriceSpeedStatisticView;
+import com.app.service.event.CarColumnsUpdatedEvent;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * {@code CarColumnStore} is a columnar in-memory copy of the {@code cars} table used by the analytics lookups.
+ * <p>
+ * The rows are ordered by ID and split into blocks, each block holding one primitive array per column: the prices
+ * are {@code long} amounts of cents, the speeds {@code int} values, the colors {@code byte} ordinals, and the brands
+ * and models {@code int} codes into dictionaries of the distinct values. The components of each row are codes
+ * into a dictionary of the components, stored one row after the other with the offset of each row.
+ * The groupings and statistics are computed by loops over these arrays, and objects are only created
+ * for the returned groups. The filters are evaluated column by column into a selection bitmask
+ * by the {@link FilterKernel}, which compares several rows at once with the Vector API when it is available.
+ * </p>
+ * <p>
+ * Readers use the current snapshot of the blocks without locking, while every change creates a new snapshot
+ * sharing the unchanged blocks (copy-on-write), like the {@link PriceIndex}. The brand and model dictionaries
+ * only grow between two reloads, so the codes of the unchanged blocks stay valid; the values no longer used
+ * are dropped by the next reload. The store is loaded at startup and updated after the commit of each transaction
+ * that saves or deletes cars or components.
+ * </p>
+ * <p>
+ * The committing threads only queue the changes, which are applied by a single background thread: the changes
+ * queued meanwhile are merged and applied at once, copying only the blocks they affect. The lookups may thus
+ * briefly miss the latest committed changes, and a {@link CarColumnsUpdatedEvent} is published once they answer
+ * with them, so that the results computed from the previous snapshot can be evicted from the caches. The filter
+ * lookups, whose IDs restrict the database queries, are not answered while changes are pending, so they never
+ * hide committed cars.
+ * </p>
+ * <p>
+ * The lookups return an empty {@link Optional} when the store cannot answer them, e.g. when it is disabled,
+ * in which case the database should be queried instead. The cars whose price does not fit into a {@code long}
+ * amount of cents are left out of the store, and no lookup is answered while any such car is stored,
+ * until it is deleted or saved with a smaller price.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CarColumnStore implements SmartInitializingSingleton, DisposableBean {
+
+    /**
+     * The number of rows a block is split into when it is loaded, and half the size above which it is split.
+     */
+    static final int BLOCK_SIZE = 1024;
+
+    /**
+     * The number of decimal places added to the scale of the averaged values, as done by MySQL.
+     */
+    private static final int AVG_SCALE_INCREMENT = 4;
+
+    /**
+     * The number of decimal places of a stored price.
+     */
+    private static final int PRICE_SCALE = 2;
+
+    /**
+     * The color ordinal of a car without a color.
+     */
+    private static final byte NO_COLOR = -1;
+
+    private static final Color[] COLORS = Color.values();
+
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> KEY_ORDER =
+            Comparator.nullsFirst((key1, key2) -> ((Comparable<Object>) key1).compareTo(key2));
+
+    private final CarRepository carRepository;
+    private final ComponentRepository componentRepository;
+    private final boolean enabled;
+    private final int maxFilterSize;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FilterKernel filterKernel = FilterKernels.fastest();
+    private final Executor executor;
+
+    /**
+     * The committed events not yet applied to the store, in the order of their commits.
+     */
+    private final Queue<Object> changes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of committed events not yet visible in the snapshot, decremented only after the snapshot swap.
+     */
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
+    /**
+     * The dictionaries the brands and models of the changed rows are coded with. Guarded by {@code this}.
+     */
+    private Dictionary brands = new Dictionary();
+    private Dictionary models = new Dictionary();
+
+    /**
+     * The IDs of the stored cars left out of the store, since their price does not fit. Guarded by {@code this}.
+     */
+    private final Set<Long> unstoredIds = new HashSet<>();
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of(), brands, models, new ComponentDictionary());
+    private volatile boolean ready;
+    private volatile boolean complete = true;
+
+    /**
+     * Constructor for CarColumnStore.
+     *
+     * @param carRepository       the repository used to load the columns of all cars.
+     * @param componentRepository the repository used to load the components and their cars.
+     * @param enabled             whether the store is used.
+     * @param maxFilterSize       the maximum number of IDs returned by a filter lookup.
+     * @param eventPublisher      the publisher of the events signaling the applied changes.
+     */
+    @Autowired
+    public CarColumnStore(
+            CarRepository carRepository,
+            ComponentRepository componentRepository,
+            @Value("${index.columns.enabled:true}") boolean enabled,
+            @Value("${index.columns.max-filter-size:1000}") int maxFilterSize,
+            ApplicationEventPublisher eventPublisher) {
+        this(carRepository, componentRepository, enabled, maxFilterSize, eventPublisher, Executors.newSingleThreadExecutor(task -> {
+            var thread = new Thread(task, "car-column-store");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructor for CarColumnStore applying the changes with the given executor.
+     *
+     * @param carRepository       the repository used to load the columns of all cars.
+     * @param componentRepository the repository used to load the components and their cars.
+     * @param enabled             whether the store is used.
+     * @param maxFilterSize       the maximum number of IDs returned by a filter lookup.
+     * @param eventPublisher      the publisher of the events signaling the applied changes.
+     * @param executor            the executor applying the queued changes, which must run one task at a time.
+     */
+    CarColumnStore(
+            CarRepository carRepository,
+            ComponentRepository componentRepository,
+            boolean enabled,
+            int maxFilterSize,
+            ApplicationEventPublisher eventPublisher,
+            Executor executor) {
+        this.carRepository = carRepository;
+        this.componentRepository = componentRepository;
+        this.enabled = enabled;
+        this.maxFilterSize = maxFilterSize;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the columns of all cars once the application context has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Stops the thread applying the changes when the application context is closed.
+     */
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Replaces the content of the store with the cars and the components stored in the database,
+     * coding the brands and models with new dictionaries holding only the values in use.
+     */
+    public synchronized void reload() {
+        var components = new ComponentDictionary();
+        componentRepository
+                .findAll()
+                .forEach(component -> components.put(component.getId(), component.getName()));
+
+        var componentsByCar = new HashMap<Long, List<Long>>();
+        componentRepository
+                .findAllComponentCars()
+                .forEach(view -> componentsByCar
+                        .computeIfAbsent(view.carId(), id -> new ArrayList<>())
+                        .add(view.componentId()));
+
+        var rows = carRepository.findAllRows();
+        var newBrands = new Dictionary();
+        var newModels = new Dictionary();
+        var builder = new Builder(rows.size(), newBrands, newModels, components);
+
+        unstoredIds.clear();
+        rows
+                .stream()
+                .filter(row -> fits(row.id(), row.price()))
+                .forEach(row -> builder.add(
+                        row.id(), row.brand(), row.model(), toCents(row.price()), row.speed(), row.color(),
+                        componentsByCar.getOrDefault(row.id(), List.of())));
+        complete = unstoredIds.isEmpty();
+
+        brands = newBrands;
+        models = newModels;
+        snapshot = Snapshot.of(builder.build(), brands, models, components);
+        ready = true;
+    }
+
+    /**
+     * Returns whether the store is enabled, loaded and holds all the stored cars, i.e. whether it can answer lookups.
+     *
+     * @return {@code true} if the store can answer lookups, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return enabled && ready && complete;
+    }
+
+    /**
+     * Groups the cars by the given field and counts the cars of each group.
+     *
+     * @param field the field to group by (e.g., "brand", "model", "color").
+     * @return the groups ordered by the field value, or an empty {@link Optional} if the store cannot answer
+     * the lookup or cannot group by the field.
+     */
+    public Optional<List<GroupByView<Object>>> groupByField(String field) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        return snapshot
+                .grouping(field)
+                .map(grouping -> {
+                    var amounts = new long[grouping.keys().length];
+                    for (var codes : grouping.codes()) {
+                        for (var code : codes) {
+                            amounts[code]++;
+                        }
+                    }
+
+                    var groups = new ArrayList<GroupByView<Object>>();
+                    for (int code = 0; code < amounts.length; code++) {
+                        if (amounts[code] > 0) {
+                            groups.add(new GroupByView<>(grouping.keys()[code], amounts[code]));
+                        }
+                    }
+                    groups.sort(Comparator.comparing(GroupByView::t, KEY_ORDER));
+                    return groups;
+                });
+    }
+
+    /**
+     * Groups the cars by the given field and finds the minimum and the maximum price of each group.
+     *
+     * @param field the field to group by (e.g., "brand", "model", "color").
+     * @return the groups ordered by the field value, or an empty {@link Optional} if the store cannot answer
+     * the lookup or cannot group by the field.
+     */
+    public Optional<List<GroupByAndPriceStatisticView<Object>>> groupByAndPriceStatisticField(String field) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        return current
+                .grouping(field)
+                .map(grouping -> {
+                    var min = new long[grouping.keys().length];
+                    var max = new long[grouping.keys().length];
+                    Arrays.fill(min, Long.MAX_VALUE);
+                    Arrays.fill(max, Long.MIN_VALUE);
+
+                    for (int b = 0; b < current.blocks().length; b++) {
+                        var codes = grouping.codes()[b];
+                        var cents = current.blocks()[b].cents();
+                        for (int row = 0; row < codes.length; row++) {
+                            var code = codes[row];
+                            min[code] = Math.min(min[code], cents[row]);
+                            max[code] = Math.max(max[code], cents[row]);
+                        }
+                    }
+
+                    var groups = new ArrayList<GroupByAndPriceStatisticView<Object>>();
+                    for (int code = 0; code < min.length; code++) {
+                        if (min[code] <= max[code]) {
+                            groups.add(new GroupByAndPriceStatisticView<>(
+                                    grouping.keys()[code], toPrice(min[code]), toPrice(max[code])));
+                        }
+                    }
+                    groups.sort(Comparator.comparing(GroupByAndPriceStatisticView::t, KEY_ORDER));
+                    return groups;
+                });
+    }
+
+    /**
+     * Computes the price and speed statistics of all cars, with the averages rounded as by the database.
+     *
+     * @return an {@link Optional} containing the statistics, or an empty {@link Optional} if the store cannot
+     * answer the lookup, if there are no cars or if the sum of the prices does not fit into a {@code long}.
+     */
+    public Optional<PriceSpeedStatisticView> findPriceSpeedStatistics() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        if (current.size() == 0) {
+            return Optional.empty();
+        }
+
+        var minCents = Long.MAX_VALUE;
+        var maxCents = Long.MIN_VALUE;
+        var centsSum = 0L;
+        var minSpeed = Integer.MAX_VALUE;
+        var maxSpeed = Integer.MIN_VALUE;
+        var speedSum = 0L;
+
+        try {
+            for (var block : current.blocks()) {
+                var cents = block.cents();
+                var speeds = block.speeds();
+                for (int row = 0; row < cents.length; row++) {
+                    minCents = Math.min(minCents, cents[row]);
+                    maxCents = Math.max(maxCents, cents[row]);
+                    centsSum = Math.addExact(centsSum, cents[row]);
+                    minSpeed = Math.min(minSpeed, speeds[row]);
+                    maxSpeed = Math.max(maxSpeed, speeds[row]);
+                    speedSum += speeds[row];
+                }
+            }
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+
+        var count = BigDecimal.valueOf(current.size());
+
+        return Optional.of(new PriceSpeedStatisticView(
+                toPrice(minCents),
+                toPrice(maxCents),
+                toPrice(centsSum).divide(count, PRICE_SCALE + AVG_SCALE_INCREMENT, RoundingMode.HALF_UP).doubleValue(),
+                minSpeed,
+                maxSpeed,
+                BigDecimal.valueOf(speedSum).divide(count, AVG_SCALE_INCREMENT, RoundingMode.HALF_UP).doubleValue()));
+    }
+
+    /**
+     * Lists each component with each of its cars, the way {@link ComponentRepository#groupByComponent()} does.
+     *
+     * @return the components and their cars, ordered by car ID, or an empty {@link Optional} if the store
+     * cannot answer the lookup.
+     */
+    public Optional<List<ComponentsAndCarsView>> groupByComponent() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        var names = current.components().names();
+        var result = new ArrayList<ComponentsAndCarsView>();
+
+        for (var block : current.blocks()) {
+            var offsets = block.componentOffsets();
+            var componentCodes = block.componentCodes();
+
+            for (int row = 0; row < block.size(); row++) {
+                for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+                    var name = names.get(componentCodes[i]);
+                    if (name != null) {
+                        result.add(new ComponentsAndCarsView(
+                                name,
+                                block.ids()[row],
+                                current.brands().value(block.brandCodes()[row]),
+                                current.models().value(block.modelCodes()[row]),
+                                toColor(block.colors()[row]),
+                                toPrice(block.cents()[row]),
+                                block.speeds()[row]));
+                    }
+                }
+            }
+        }
+
+        return Optional.of(result);
+    }
+
+    /**
+     * Finds the IDs of the cars matching the speed, price and color criteria of the given filter.
+     * The brand and model criteria are patterns matched by the database, and the components criteria
+     * are left to the {@link ComponentIndex}, so the returned IDs only narrow the database filter.
+     *
+     * @param filter the filtering criteria.
+     * @return the IDs in ascending order, or an empty {@link Optional} if the store cannot answer the lookup,
+     * if committed changes are not applied yet, if the filter has none of these criteria or if more cars
+     * than the maximum filter size match.
+     */
+    public Optional<List<Long>> filter(CarCriterionFilteringView filter) {
+        if (!isReady() || pendingChanges.get() > 0 || (filter.minSpeed() == null && filter.maxSpeed() == null
+                && filter.minPrice() == null && filter.maxPrice() == null && filter.color() == null)) {
+            return Optional.empty();
+        }
+
+        long minCents;
+        long maxCents;
+        try {
+            minCents = filter.minPrice() == null
+                    ? Long.MIN_VALUE
+                    : toCents(filter.minPrice().setScale(PRICE_SCALE, RoundingMode.CEILING));
+            maxCents = filter.maxPrice() == null
+                    ? Long.MAX_VALUE
+                    : toCents(filter.maxPrice().setScale(PRICE_SCALE, RoundingMode.FLOOR));
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+
+        var blocks = snapshot.blocks();
+        var selections = new long[blocks.length][];
+        var count = 0;
+
+        for (int b = 0; b < blocks.length; b++) {
+            var block = blocks[b];
+            var selection = FilterKernels.selectAll(block.size());
+
+            if (filter.minSpeed() != null || filter.maxSpeed() != null) {
+                filterKernel.between(
+                        block.speeds(),
+                        filter.minSpeed() == null ? Integer.MIN_VALUE : filter.minSpeed(),
+                        filter.maxSpeed() == null ? Integer.MAX_VALUE : filter.maxSpeed(),
+                        selection);
+            }
+            if (minCents != Long.MIN_VALUE || maxCents != Long.MAX_VALUE) {
+                filterKernel.between(block.cents(), minCents, maxCents, selection);
+            }
+            if (filter.color() != null) {
+                filterKernel.equal(block.colors(), (byte) filter.color().ordinal(), selection);
+            }
+
+            count += FilterKernels.count(selection);
+            if (count > maxFilterSize) {
+                return Optional.empty();
+            }
+            selections[b] = selection;
+        }
+
+        var result = new ArrayList<Long>(count);
+        for (int b = 0; b < blocks.length; b++) {
+            var selection = selections[b];
+            for (int word = 0; word < selection.length; word++) {
+                for (var bits = selection[word]; bits != 0; bits &= bits - 1) {
+                    result.add(blocks[b].ids()[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Queues the saved cars to replace their previous rows after the saving transaction is committed.
+     *
+     * @param event the event holding the saved cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        queue(event);
+    }
+
+    /**
+     * Queues the removal of the deleted cars after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        queue(event);
+    }
+
+    /**
+     * Queues the addition or the renaming of the saved components after the saving transaction is committed.
+     *
+     * @param event the event holding the saved components.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentsSaved(ComponentsSavedEvent event) {
+        queue(event);
+    }
+
+    /**
+     * Queues the removal of the deleted components after the deleting transaction is committed.
+     * The rows keep the codes of the removed components, which are skipped until the next reload.
+     *
+     * @param event the event holding the IDs of the deleted components.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentsDeleted(ComponentsDeletedEvent event) {
+        queue(event);
+    }
+
+    private void queue(Object change) {
+        if (!enabled || !ready) {
+            return;
+        }
+
+        pendingChanges.incrementAndGet();
+        changes.add(change);
+        executor.execute(this::applyChanges);
+    }
+
+    /**
+     * Applies all the queued changes to a new snapshot, then publishes a {@link CarColumnsUpdatedEvent}.
+     * A task finding no queued changes, since they were applied by a previous task, does nothing.
+     */
+    private synchronized void applyChanges() {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        var applied = 0;
+        try {
+            applied = swapSnapshot();
+        } finally {
+            pendingChanges.addAndGet(-applied);
+            eventPublisher.publishEvent(new CarColumnsUpdatedEvent());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with one holding all the queued changes. The changes of each car are merged,
+     * so that only its last change is applied, and each block holding a changed car is copied once.
+     *
+     * @return the number of applied changes.
+     */
+    private int swapSnapshot() {
+        var current = snapshot;
+        var components = current.components();
+        var cars = new HashMap<Long, CarEntity>(); // A null car stands for a deleted car
+        var componentsChanged = false;
+        var applied = 0;
+
+        for (var change = changes.poll(); change != null; change = changes.poll()) {
+            applied++;
+            switch (change) {
+                case CarsSavedEvent event -> event.cars().forEach(car -> cars.put(car.getId(), car));
+                case CarsDeletedEvent event -> event.ids().forEach(id -> cars.put(id, null));
+                case ComponentsSavedEvent event -> {
+                    components = componentsChanged ? components : components.copy();
+                    componentsChanged = true;
+                    for (var component : event.components()) {
+                        components.put(component.getId(), component.getName());
+                    }
+                }
+                case ComponentsDeletedEvent event -> {
+                    components = componentsChanged ? components : components.copy();
+                    componentsChanged = true;
+                    for (var id : event.ids()) {
+                        components.remove(id);
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected change: " + change);
+            }
+        }
+
+        if (cars.isEmpty()) {
+            snapshot = current.withComponents(components);
+            return applied;
+        }
+
+        var changesByBlock = new HashMap<Integer, Map<Long, CarEntity>>();
+        cars.forEach((id, car) -> changesByBlock
+                .computeIfAbsent(current.blockOf(id), b -> new HashMap<>())
+                .put(id, car));
+
+        unstoredIds.removeAll(cars.keySet());
+        var blocks = new ArrayList<Block>(current.blocks().length + changesByBlock.size());
+        for (int b = 0; b < current.blocks().length; b++) {
+            var blockChanges = changesByBlock.get(b);
+            if (blockChanges == null) {
+                blocks.add(current.blocks()[b]);
+            } else {
+                blocks.addAll(merge(current.blocks()[b], blockChanges, components));
+            }
+        }
+        complete = unstoredIds.isEmpty();
+
+        snapshot = Snapshot.of(blocks, brands, models, components);
+        return applied;
+    }
+
+    /**
+     * Creates the blocks replacing the given block, without its removed and replaced cars and with the saved cars,
+     * merging both in the order of the IDs. The saved cars whose price does not fit are left out. The result is split if it is too large, and is empty if no car is left.
+     *
+     * @param block      the block to change.
+     * @param cars       the saved cars and the IDs of the deleted cars, mapped to {@code null}, of the block.
+     * @param components the dictionary of the components of the new snapshot.
+     * @return the blocks replacing the given block.
+     */
+    private List<Block> merge(Block block, Map<Long, CarEntity> cars, ComponentDictionary components) {
+        var added = cars
+                .values()
+                .stream()
+                .filter(Objects::nonNull)
+                .filter(car -> fits(car.getId(), car.getPrice()))
+                .sorted(Comparator.comparing(CarEntity::getId))
+                .toList();
+        var ids = block.ids();
+        var builder = new Builder(ids.length + added.size(), brands, models, components);
+        var i = 0;
+        var j = 0;
+
+        while (i < ids.length || j < added.size()) {
+            if (i < ids.length && cars.containsKey(ids[i])) {
+                i++;
+            } else if (j >= added.size() || (i < ids.length && ids[i] < added.get(j).getId())) {
+                builder.copy(block, i++);
+            } else {
+                var car = added.get(j++);
+                builder.add(
+                        car.getId(), car.getBrand(), car.getModel(), toCents(car.getPrice()), car.getSpeed(),
+                        car.getColor(), car.getComponents().stream().map(ComponentEntity::getId).toList());
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns whether the price of the given car fits into the store, recording the car as left out otherwise.
+     */
+    private boolean fits(long id, BigDecimal price) {
+        try {
+            toCents(price);
+            return true;
+        } catch (ArithmeticException e) {
+            log.warn("Price {} of car {} does not fit into the column store, which is unused until the car is changed",
+                    price, id);
+            unstoredIds.add(id);
+            return false;
+        }
+    }
+
+    /**
+     * Converts the given price to cents, rounding it the way a price column with two decimal places does.
+     */
+    private static long toCents(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).movePointRight(PRICE_SCALE).longValueExact();
+    }
+
+    private static BigDecimal toPrice(long cents) {
+        return BigDecimal.valueOf(cents, PRICE_SCALE);
+    }
+
+    private static Color toColor(byte ordinal) {
+        return ordinal == NO_COLOR ? null : COLORS[ordinal];
+    }
+
+    /**
+     * The codes of the rows in a grouping, and the value of the field for each code.
+     *
+     * @param codes the code of the group of each row, one array per block.
+     * @param keys  the field value of each group, indexed by the code.
+     */
+    private record Grouping(int[][] codes, Object[] keys) {
+    }
+
+    /**
+     * An immutable block of rows, holding one array per column.
+     *
+     * @param ids              the IDs of the cars, in ascending order.
+     * @param brandCodes       the codes of the brands of the cars.
+     * @param modelCodes       the codes of the models of the cars.
+     * @param cents            the prices of the cars in cents.
+     * @param speeds           the speeds of the cars.
+     * @param colors           the ordinals of the colors of the cars.
+     * @param componentOffsets the offset of the first component code of each row, followed by the number of codes.
+     * @param componentCodes   the codes of the components of all rows, one row after the other.
+     */
+    private record Block(
+            long[] ids,
+            int[] brandCodes,
+            int[] modelCodes,
+            long[] cents,
+            int[] speeds,
+            byte[] colors,
+            int[] componentOffsets,
+            int[] componentCodes) {
+
+        private static final Block EMPTY = new Block(
+                new long[0], new int[0], new int[0], new long[0], new int[0], new byte[0], new int[1], new int[0]);
+
+        private int size() {
+            return ids.length;
+        }
+    }
+
+    /**
+     * An immutable state of the store.
+     *
+     * @param blocks     the non-empty blocks, in ascending order of the IDs; at least one block, possibly empty.
+     * @param size       the number of rows.
+     * @param brands     the brands of the codes used by the blocks.
+     * @param models     the models of the codes used by the blocks.
+     * @param components the dictionary of the components.
+     */
+    private record Snapshot(
+            Block[] blocks,
+            int size,
+            DictionaryView brands,
+            DictionaryView models,
+            ComponentDictionary components) {
+
+        private static Snapshot of(
+                List<Block> blocks, Dictionary brands, Dictionary models, ComponentDictionary components) {
+            var size = 0;
+            for (var block : blocks) {
+                size += block.size();
+            }
+
+            return new Snapshot(
+                    blocks.isEmpty() ? new Block[]{Block.EMPTY} : blocks.toArray(Block[]::new),
+                    size, brands.view(), models.view(), components);
+        }
+
+        private Snapshot withComponents(ComponentDictionary components) {
+            return new Snapshot(blocks, size, brands, models, components);
+        }
+
+        /**
+         * Returns the block holding the given ID, or into which it is inserted.
+         */
+        private int blockOf(long id) {
+            var low = 0;
+            var high = blocks.length - 1;
+            while (low < high) {
+                var mid = (low + high) >>> 1;
+                var ids = blocks[mid].ids();
+                if (ids[ids.length - 1] < id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the grouping of the rows by the given field, or an empty {@link Optional} if the field
+         * is not held by the store.
+         */
+        private Optional<Grouping> grouping(String field) {
+            return switch (field) {
+                case "id" -> Optional.of(byId());
+                case "brand" -> Optional.of(byCodes(Block::brandCodes, brands));
+                case "model" -> Optional.of(byCodes(Block::modelCodes, models));
+                case "price" -> Optional.of(byPrice());
+                case "speed" -> Optional.of(bySpeed());
+                case "color" -> Optional.of(byColor());
+                default -> Optional.empty();
+            };
+        }
+
+        private Grouping byCodes(Function<Block, int[]> column, DictionaryView dictionary) {
+            var codes = new int[blocks.length][];
+            for (int b = 0; b < blocks.length; b++) {
+                codes[b] = column.apply(blocks[b]);
+            }
+            return new Grouping(codes, dictionary.keys());
+        }
+
+        private Grouping byId() {
+            var codes = new int[blocks.length][];
+            var keys = new Object[size];
+            var code = 0;
+            for (int b = 0; b < blocks.length; b++) {
+                var ids = blocks[b].ids();
+                codes[b] = new int[ids.length];
+                for (int row = 0; row < ids.length; row++) {
+                    codes[b][row] = code;
+                    keys[code++] = ids[row];
+                }
+            }
+            return new Grouping(codes, keys);
+        }
+
+        private Grouping byPrice() {
+            var all = new long[size];
+            var from = 0;
+            for (var block : blocks) {
+                System.arraycopy(block.cents(), 0, all, from, block.size());
+                from += block.size();
+            }
+
+            var distinct = distinct(all);
+            var codes = new int[blocks.length][];
+            for (int b = 0; b < blocks.length; b++) {
+                var cents = blocks[b].cents();
+                codes[b] = new int[cents.length];
+                for (int row = 0; row < cents.length; row++) {
+                    codes[b][row] = Arrays.binarySearch(distinct, cents[row]);
+                }
+            }
+
+            var keys = new Object[distinct.length];
+            for (int code = 0; code < distinct.length; code++) {
+                keys[code] = toPrice(distinct[code]);
+            }
+            return new Grouping(codes, keys);
+        }
+
+        private Grouping bySpeed() {
+            var distinct = Arrays
+                    .stream(blocks)
+                    .flatMapToInt(block -> Arrays.stream(block.speeds()))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            var codes = new int[blocks.length][];
+            for (int b = 0; b < blocks.length; b++) {
+                var speeds = blocks[b].speeds();
+                codes[b] = new int[speeds.length];
+                for (int row = 0; row < speeds.length; row++) {
+                    codes[b][row] = Arrays.binarySearch(distinct, speeds[row]);
+                }
+            }
+
+            var keys = new Object[distinct.length];
+            for (int code = 0; code < distinct.length; code++) {
+                keys[code] = distinct[code];
+            }
+            return new Grouping(codes, keys);
+        }
+
+        private Grouping byColor() {
+            // Cars without a color are grouped under the last code
+            var codes = new int[blocks.length][];
+            for (int b = 0; b < blocks.length; b++) {
+                var colors = blocks[b].colors();
+                codes[b] = new int[colors.length];
+                for (int row = 0; row < colors.length; row++) {
+                    codes[b][row] = colors[row] == NO_COLOR ? COLORS.length : colors[row];
+                }
+            }
+
+            var keys = Arrays.copyOf((Object[]) COLORS, COLORS.length + 1);
+            return new Grouping(codes, keys);
+        }
+
+        private static long[] distinct(long[] values) {
+            Arrays.sort(values);
+            var size = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    values[size++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * A dictionary assigning consecutive codes to the distinct values of a string column.
+     * <p>
+     * Values are only appended, so the codes of a value never change and the snapshots share the array
+     * of the values: a snapshot only reads the codes below the size of the dictionary when it was created.
+     * A dictionary is only changed by the writers of the store.
+     * </p>
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+        private int size;
+
+        private int code(String value) {
+            var code = codes.get(value);
+            if (code == null) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size] = value;
+                code = size++;
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        private DictionaryView view() {
+            return new DictionaryView(values, size);
+        }
+    }
+
+    /**
+     * The values of a {@link Dictionary} at the creation of a snapshot.
+     *
+     * @param values the values indexed by their codes, possibly followed by values appended afterwards.
+     * @param size   the number of values of the snapshot.
+     */
+    private record DictionaryView(String[] values, int size) {
+
+        private String value(int code) {
+            return values[code];
+        }
+
+        private Object[] keys() {
+            return Arrays.copyOf(values, size, Object[].class);
+        }
+    }
+
+    /**
+     * A dictionary assigning consecutive codes to the component IDs and holding the name of each code.
+     * The name of a removed component is {@code null}.
+     * A dictionary is only changed while it is built, and copied to be changed afterwards.
+     */
+    private static final class ComponentDictionary {
+
+        private final List<String> names;
+        private final Map<Long, Integer> codes;
+
+        private ComponentDictionary() {
+            this(new ArrayList<>(), new HashMap<>());
+        }
+
+        private ComponentDictionary(List<String> names, Map<Long, Integer> codes) {
+            this.names = names;
+            this.codes = codes;
+        }
+
+        private void put(Long id, String name) {
+            var code = codes.get(id);
+            if (code == null) {
+                codes.put(id, names.size());
+                names.add(name);
+            } else {
+                names.set(code, name);
+            }
+        }
+
+        private void remove(Long id) {
+            var code = codes.remove(id);
+            if (code != null) {
+                names.set(code, null);
+            }
+        }
+
+        private Integer code(Long id) {
+            return codes.get(id);
+        }
+
+        private List<String> names() {
+            return names;
+        }
+
+        private ComponentDictionary copy() {
+            return new ComponentDictionary(new ArrayList<>(names), new HashMap<>(codes));
+        }
+    }
+
+    /**
+     * Appends rows to new column arrays, which are cut into blocks when they are built.
+     */
+    private static final class Builder {
+
+        private final long[] ids;
+        private final int[] brandCodes;
+        private final int[] modelCodes;
+        private final long[] cents;
+        private final int[] speeds;
+        private final byte[] colors;
+        private final int[] componentOffsets;
+        private int[] componentCodes;
+        private int size;
+        private int componentSize;
+
+        private final Dictionary brands;
+        private final Dictionary models;
+        private final ComponentDictionary components;
+
+        private Builder(int capacity, Dictionary brands, Dictionary models, ComponentDictionary components) {
+            this.ids = new long[capacity];
+            this.brandCodes = new int[capacity];
+            this.modelCodes = new int[capacity];
+            this.cents = new long[capacity];
+            this.speeds = new int[capacity];
+            this.colors = new byte[capacity];
+            this.componentOffsets = new int[capacity + 1];
+            this.componentCodes = new int[capacity];
+            this.brands = brands;
+            this.models = models;
+            this.components = components;
+        }
+
+        /**
+         * Appends a row of the given block, whose codes are those of the dictionaries of the builder.
+         */
+        private void copy(Block block, int row) {
+            ids[size] = block.ids()[row];
+            brandCodes[size] = block.brandCodes()[row];
+            modelCodes[size] = block.modelCodes()[row];
+            cents[size] = block.cents()[row];
+            speeds[size] = block.speeds()[row];
+            colors[size] = block.colors()[row];
+
+            var offsets = block.componentOffsets();
+            for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+                addComponentCode(block.componentCodes()[i]);
+            }
+            componentOffsets[++size] = componentSize;
+        }
+
+        /**
+         * Appends a row with the given values. Unknown components are left out, and repeated ones are kept once.
+         */
+        private void add(
+                long id, String brand, String model, long priceCents, int speed, Color color,
+                List<Long> componentIds) {
+            ids[size] = id;
+            brandCodes[size] = brands.code(brand);
+            modelCodes[size] = models.code(model);
+            cents[size] = priceCents;
+            speeds[size] = speed;
+            colors[size] = color == null ? NO_COLOR : (byte) color.ordinal();
+
+            var first = componentSize;
+            componentIds
+                    .stream()
+                    .map(components::code)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(this::addComponentCode);
+            Arrays.sort(componentCodes, first, componentSize);
+            componentOffsets[++size] = componentSize;
+        }
+
+        private void addComponentCode(int code) {
+            if (componentSize == componentCodes.length) {
+                componentCodes = Arrays.copyOf(componentCodes, Math.max(16, componentSize * 2));
+            }
+            componentCodes[componentSize++] = code;
+        }
+
+        /**
+         * Returns the appended rows as one block, or as blocks of {@link #BLOCK_SIZE} rows if they are
+         * more than twice as many, and as no block if there are none.
+         */
+        private List<Block> build() {
+            if (size == 0) {
+                return List.of();
+            }
+            if (size <= 2 * BLOCK_SIZE) {
+                return List.of(block(0, size));
+            }
+
+            var blocks = new ArrayList<Block>(size / BLOCK_SIZE + 1);
+            for (int from = 0; from < size; from += BLOCK_SIZE) {
+                blocks.add(block(from, Math.min(from + BLOCK_SIZE, size)));
+            }
+            return blocks;
+        }
+
+        private Block block(int from, int to) {
+            var offsets = new int[to - from + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = componentOffsets[from + i] - componentOffsets[from];
+            }
+
+            return new Block(
+                    Arrays.copyOfRange(ids, from, to),
+                    Arrays.copyOfRange(brandCodes, from, to),
+                    Arrays.copyOfRange(modelCodes, from, to),
+                    Arrays.copyOfRange(cents, from, to),
+                    Arrays.copyOfRange(speeds, from, to),
+                    Arrays.copyOfRange(colors, from, to),
+                    offsets,
+                    Arrays.copyOfRange(componentCodes, componentOffsets[from], componentOffsets[to]));
+        }
+    }
+}
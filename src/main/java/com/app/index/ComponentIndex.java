@@ -0,0 +1,381 @@
+package com.app.index;
+
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * {@code ComponentIndex} is an in-memory inverted index from the components to the cars having them.
+ * <p>
+ * Each component maps to a compressed bitmap of the IDs of its cars, so unions (any of the components)
+ * and intersections (all of the components) of component sets are bitmap operations instead of joins of the {@code cars_components} table.
+ * Readers use the current snapshot of the bitmaps without locking, while every change replaces
+ * the changed bitmaps in a new snapshot (copy-on-write). The index is loaded at startup and updated
+ * after the commit of each transaction that saves or deletes cars or components.
+ * </p>
+ * <p>
+ * The index also holds the set of the component IDs, so the existence of components can be checked
+ * without a query.
+ * </p>
+ * <p>
+ * The lookups return an empty {@link Optional} when the index cannot answer them, e.g. when it is disabled,
+ * in which case the database should be queried instead. Component names are matched exactly, while the database
+ * compares them with the collation of the column (e.g. ignoring the case), so a lookup naming a component
+ * the index does not know exactly is left to the database as well.
+ * </p>
+ */
+@Component
+public class ComponentIndex implements SmartInitializingSingleton {
+
+    private final ComponentRepository componentRepository;
+    private final boolean enabled;
+    private final int maxFilterSize;
+
+    /**
+     * The sorted IDs of the components of each indexed car, used to find the bitmaps of a removed car.
+     * The car IDs are kept in a primitive map and the component IDs in primitive arrays. Guarded by {@code this}.
+     */
+    private final LongObjectMap<long[]> componentsByCar = new LongObjectMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+    private volatile boolean ready;
+
+    /**
+     * Constructor for ComponentIndex.
+     *
+     * @param componentRepository the repository used to load the components and their cars.
+     * @param enabled             whether the index is used.
+     * @param maxFilterSize       the maximum number of IDs returned by a filter lookup.
+     */
+    public ComponentIndex(
+            ComponentRepository componentRepository,
+            @Value("${index.component.enabled:true}") boolean enabled,
+            @Value("${index.component.max-filter-size:1000}") int maxFilterSize) {
+        this.componentRepository = componentRepository;
+        this.enabled = enabled;
+        this.maxFilterSize = maxFilterSize;
+    }
+
+    /**
+     * Loads the components and their cars once the application context has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with the components and their cars stored in the database.
+     */
+    public synchronized void reload() {
+        var idsByName = new HashMap<String, Long>();
+        var carsByComponent = new HashMap<Long, Roaring64Bitmap>();
+        componentsByCar.clear();
+
+        componentRepository
+                .findAll()
+                .forEach(component -> {
+                    idsByName.put(component.getName(), component.getId());
+                    carsByComponent.put(component.getId(), new Roaring64Bitmap());
+                });
+
+        componentRepository
+                .findAllComponentCars()
+                .forEach(view -> {
+                    carsByComponent
+                            .computeIfAbsent(view.componentId(), id -> new Roaring64Bitmap())
+                            .addLong(view.carId());
+                    componentsByCar.put(view.carId(), with(componentsByCar.get(view.carId()), view.componentId()));
+                });
+
+        carsByComponent.values().forEach(Roaring64Bitmap::runOptimize);
+        snapshot = new Snapshot(Map.copyOf(idsByName), Map.copyOf(carsByComponent));
+        ready = true;
+    }
+
+    /**
+     * Returns whether the index is enabled and loaded, i.e. whether it can answer lookups.
+     *
+     * @return {@code true} if the index can answer lookups, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Finds the IDs of the cars having at least one of the given components.
+     *
+     * @param names the names of the components.
+     * @return the IDs in ascending order, or an empty {@link Optional} if the index cannot answer the lookup,
+     * if a name is not known exactly or if more cars than the maximum filter size match.
+     */
+    public Optional<List<Long>> findCarsWithAnyComponent(Collection<String> names) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        var cars = new Roaring64Bitmap();
+        for (var name : names) {
+            var bitmap = current.carsOf(name);
+            if (bitmap == null) {
+                return Optional.empty();
+            }
+            cars.or(bitmap);
+        }
+
+        return toIds(cars);
+    }
+
+    /**
+     * Finds the IDs of the cars having all the given components.
+     *
+     * @param names the names of the components.
+     * @return the IDs in ascending order, or an empty {@link Optional} if the index cannot answer the lookup,
+     * if a name is not known exactly or if more cars than the maximum filter size match.
+     */
+    public Optional<List<Long>> findCarsWithAllComponents(Collection<String> names) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        var bitmaps = new ArrayList<Roaring64Bitmap>();
+        for (var name : new HashSet<>(names)) {
+            var bitmap = current.carsOf(name);
+            if (bitmap == null) {
+                return Optional.empty();
+            }
+            bitmaps.add(bitmap);
+        }
+
+        // Intersecting the smallest bitmaps first keeps the intermediate results small
+        bitmaps.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        var cars = bitmaps.isEmpty() ? new Roaring64Bitmap() : bitmaps.getFirst().clone();
+        bitmaps.stream().skip(1).forEach(cars::and);
+
+        return toIds(cars);
+    }
+
+    /**
+     * Checks whether components with all the given IDs exist, without querying the database.
+     *
+     * @param ids the IDs of the components.
+     * @return {@code true} if every ID belongs to a component, or an empty {@link Optional}
+     * if the index cannot answer the lookup.
+     */
+    public Optional<Boolean> containsAllComponents(Collection<Long> ids) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(snapshot.carsByComponent().keySet().containsAll(ids));
+    }
+
+    /**
+     * Counts the cars having each component, using the cardinalities of the bitmaps only.
+     *
+     * @return the number of cars of each component, keyed and ordered by the component name,
+     * or an empty {@link Optional} if the index cannot answer the lookup.
+     */
+    public Optional<SortedMap<String, Long>> countCarsByComponent() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        var counts = new TreeMap<String, Long>();
+        current.idsByName().forEach((name, id) -> counts.put(name, current.carsByComponent().get(id).getLongCardinality()));
+        return Optional.of(counts);
+    }
+
+    /**
+     * Moves the saved cars to the bitmaps of their components after the saving transaction is committed.
+     *
+     * @param event the event holding the saved cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        updateCars(event.cars().stream().map(CarEntity::getId).toList(), event.cars());
+    }
+
+    /**
+     * Removes the deleted cars from the bitmaps after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        updateCars(event.ids(), List.of());
+    }
+
+    /**
+     * Adds the saved components with empty bitmaps, or renames them if they are already indexed,
+     * after the saving transaction is committed.
+     *
+     * @param event the event holding the saved components.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComponentsSaved(ComponentsSavedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        var current = snapshot;
+        var idsByName = new HashMap<>(current.idsByName());
+        var carsByComponent = new HashMap<>(current.carsByComponent());
+        var namesById = new HashMap<Long, String>();
+        idsByName.forEach((name, id) -> namesById.put(id, name));
+
+        event.components().forEach(component -> {
+            var previous = namesById.put(component.getId(), component.getName());
+            if (previous != null) {
+                idsByName.remove(previous);
+            }
+            idsByName.put(component.getName(), component.getId());
+            carsByComponent.putIfAbsent(component.getId(), new Roaring64Bitmap());
+        });
+
+        snapshot = new Snapshot(Map.copyOf(idsByName), Map.copyOf(carsByComponent));
+    }
+
+    /**
+     * Removes the deleted components and their bitmaps after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted components.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComponentsDeleted(ComponentsDeletedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        var current = snapshot;
+        var removed = new HashSet<>(event.ids());
+        var idsByName = new HashMap<>(current.idsByName());
+        var carsByComponent = new HashMap<>(current.carsByComponent());
+
+        idsByName.values().removeIf(removed::contains);
+        carsByComponent.keySet().removeAll(removed);
+
+        snapshot = new Snapshot(Map.copyOf(idsByName), Map.copyOf(carsByComponent));
+    }
+
+    /**
+     * Creates a new snapshot without the removed cars and with the added cars in the bitmaps of their components.
+     * Only the bitmaps of the components of the removed and added cars are visited and copied,
+     * the others are shared with the previous snapshot.
+     *
+     * @param removed the IDs of the cars to remove.
+     * @param added   the cars to add.
+     */
+    private synchronized void updateCars(Collection<Long> removed, List<CarEntity> added) {
+        var current = snapshot;
+        var carsByComponent = new HashMap<>(current.carsByComponent());
+        var copied = new HashSet<Long>();
+        Function<Long, Roaring64Bitmap> edit = componentId -> copied.add(componentId)
+                ? carsByComponent.compute(componentId, (id, cars) -> cars.clone())
+                : carsByComponent.get(componentId);
+
+        removed.forEach(carId -> {
+            var componentIds = componentsByCar.remove(carId);
+            if (componentIds != null) {
+                Arrays
+                        .stream(componentIds)
+                        .filter(carsByComponent::containsKey)
+                        .forEach(componentId -> edit.apply(componentId).removeLong(carId));
+            }
+        });
+
+        added.forEach(car -> {
+            var componentIds = car
+                    .getComponents()
+                    .stream()
+                    .mapToLong(ComponentEntity::getId)
+                    .filter(carsByComponent::containsKey)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+            Arrays
+                    .stream(componentIds)
+                    .forEach(componentId -> edit.apply(componentId).addLong(car.getId()));
+            componentsByCar.put(car.getId(), componentIds);
+        });
+
+        snapshot = new Snapshot(current.idsByName(), Map.copyOf(carsByComponent));
+    }
+
+    /**
+     * Returns a copy of the given sorted component IDs with the given ID, or the given IDs if they hold it already.
+     */
+    private static long[] with(long[] componentIds, long componentId) {
+        if (componentIds == null) {
+            return new long[]{componentId};
+        }
+
+        var index = Arrays.binarySearch(componentIds, componentId);
+        if (index >= 0) {
+            return componentIds;
+        }
+
+        var result = new long[componentIds.length + 1];
+        var at = -index - 1;
+        System.arraycopy(componentIds, 0, result, 0, at);
+        result[at] = componentId;
+        System.arraycopy(componentIds, at, result, at + 1, componentIds.length - at);
+        return result;
+    }
+
+    /**
+     * Converts the given bitmap into the list of its car IDs, unless it holds more than the maximum filter size.
+     */
+    private Optional<List<Long>> toIds(Roaring64Bitmap cars) {
+        if (cars.getLongCardinality() > maxFilterSize) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Arrays
+                .stream(cars.toArray())
+                .boxed()
+                .toList());
+    }
+
+    /**
+     * An immutable state of the index.
+     *
+     * @param idsByName       the IDs of the components, keyed by the component name.
+     * @param carsByComponent the bitmaps of the car IDs, keyed by the component ID.
+     */
+    private record Snapshot(Map<String, Long> idsByName, Map<Long, Roaring64Bitmap> carsByComponent) {
+
+        /**
+         * Returns the bitmap of the cars of the component with exactly the given name, or {@code null} if unknown.
+         */
+        private Roaring64Bitmap carsOf(String name) {
+            var id = name == null ? null : idsByName.get(name);
+            return id == null ? null : carsByComponent.get(id);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.app.index;
+
+import java.util.Arrays;
+
+/**
+ * {@code LongObjectMap} is a hash map from {@code long} keys to object values, with the keys stored in a primitive array.
+ * <p>
+ * The entries are kept with open addressing and linear probing, like in the {@link LongLongMap},
+ * so the map holds no boxed keys and no entry objects. {@link Long#MIN_VALUE} cannot be used as a key,
+ * and {@code null} cannot be used as a value. The map is not thread-safe; the indexes only use it
+ * from their synchronized writers.
+ * </p>
+ *
+ * @param <V> the type of the values.
+ */
+final class LongObjectMap<V> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructor for LongObjectMap.
+     */
+    LongObjectMap() {
+        clear();
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value of the given key.
+     *
+     * @param key the key.
+     * @return the value of the key, or {@code null} if the key has no entry.
+     */
+    V get(long key) {
+        var slot = find(key);
+        return slot < 0 ? null : value(slot);
+    }
+
+    /**
+     * Sets the value of the given key.
+     *
+     * @param key   the key.
+     * @param value the value, not {@code null}.
+     * @return the previous value of the key, or {@code null} if the key had no entry.
+     */
+    V put(long key, V value) {
+        if (key == EMPTY || value == null) {
+            throw new IllegalArgumentException("Key cannot be " + EMPTY + " and value cannot be null");
+        }
+
+        var slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                var previous = value(slot);
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length / 2) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry of the given key.
+     *
+     * @param key the key.
+     * @return the value of the removed entry, or {@code null} if the key had no entry.
+     */
+    V remove(long key) {
+        var gap = find(key);
+        if (gap < 0) {
+            return null;
+        }
+
+        var removed = value(gap);
+        var slot = (gap + 1) & mask;
+        while (keys[slot] != EMPTY) {
+            // An entry can fill the gap only if the gap lies between its home slot and its current slot
+            if (((slot - slot(keys[slot])) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes all the entries and releases the memory held by them.
+     */
+    void clear() {
+        keys = new long[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+        mask = MIN_CAPACITY - 1;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    private int find(long key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+
+        var slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                var slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
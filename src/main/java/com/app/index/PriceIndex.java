@@ -0,0 +1,532 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.view.CarPriceView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * {@code PriceIndex} is an in-memory index of the car IDs sorted by the car prices.
+ * <p>
+ * The prices are held as {@code long} amounts of cents sorted by price and ID in blocks of primitive arrays,
+ * each next to the array of the corresponding car IDs. Readers use the current snapshot of the blocks
+ * without locking, while every change creates a new snapshot sharing the unchanged blocks (copy-on-write).
+ * The price of each car is kept in a primitive map, so a change finds the blocks it affects without a scan.
+ * The index is loaded at startup and updated after the commit of each transaction that saves or deletes cars.
+ * </p>
+ * <p>
+ * The lookups return an empty {@link Optional} when the index cannot answer them, e.g. when it is disabled
+ * or when the requested price has fractions of a cent, in which case the database should be queried instead.
+ * The cars whose price does not fit into a {@code long} amount of cents are left out of the index, and no lookup
+ * is answered while any such car is stored, until it is deleted or saved with a smaller price.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PriceIndex implements SmartInitializingSingleton {
+
+    /**
+     * The number of prices a block is split into when it is loaded, and half the size above which it is split.
+     */
+    static final int BLOCK_SIZE = 1024;
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private final CarRepository carRepository;
+    private final boolean enabled;
+    private final int maxRangeSize;
+
+    private final LongLongMap centsById = new LongLongMap(MISSING);
+
+    /**
+     * The IDs of the cars whose price does not fit into the index. Guarded by {@code this}.
+     */
+    private final Set<Long> unindexedIds = new HashSet<>();
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+    private volatile boolean ready;
+    private volatile boolean complete = true;
+
+    /**
+     * Constructor for PriceIndex.
+     *
+     * @param carRepository the repository used to load the prices of all cars.
+     * @param enabled       whether the index is used.
+     * @param maxRangeSize  the maximum number of IDs returned by a price range lookup.
+     */
+    public PriceIndex(
+            CarRepository carRepository,
+            @Value("${index.price.enabled:true}") boolean enabled,
+            @Value("${index.price.max-range-size:1000}") int maxRangeSize) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+        this.maxRangeSize = maxRangeSize;
+    }
+
+    /**
+     * Loads the prices of all cars once the application context has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with the prices of all cars stored in the database.
+     */
+    public synchronized void reload() {
+        unindexedIds.clear();
+        var entries = sortedEntries(carRepository.findAllPrices(), unindexedIds);
+        complete = unindexedIds.isEmpty();
+
+        centsById.clear();
+        var blocks = new ArrayList<Block>(entries.length / BLOCK_SIZE + 1);
+        for (int from = 0; from < entries.length; from += BLOCK_SIZE) {
+            blocks.add(Block.of(Arrays.asList(entries).subList(from, Math.min(from + BLOCK_SIZE, entries.length))));
+        }
+        for (var entry : entries) {
+            centsById.put(entry[1], entry[0]);
+        }
+
+        snapshot = Snapshot.of(blocks);
+        ready = true;
+    }
+
+    /**
+     * Returns whether the index is enabled, loaded and holds the prices of all cars, i.e. whether it can answer lookups.
+     *
+     * @return {@code true} if the index can answer lookups, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return enabled && ready && complete;
+    }
+
+    /**
+     * Finds the IDs of the {@code k} cars closest in price to the given price.
+     * Cars at the same distance as the {@code k}-th closest car are returned as well.
+     *
+     * @param price the price to compare the cars to.
+     * @param k     the number of closest cars to find.
+     * @return the IDs ordered by price and ID, or an empty {@link Optional} if the index cannot answer the lookup.
+     */
+    public Optional<List<Long>> findClosest(BigDecimal price, int k) {
+        if (!isReady() || price.stripTrailingZeros().scale() > 2) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        long target;
+        try {
+            target = toCents(price);
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+
+        if (current.size() == 0) {
+            return Optional.of(List.of());
+        }
+
+        var right = current.lowerBound(target);
+        var left = right - 1;
+        var distance = 0L;
+
+        for (int taken = 0; taken < k && (left >= 0 || right < current.size()); taken++) {
+            if (right >= current.size() || (left >= 0 && target - current.cents(left) <= current.cents(right) - target)) {
+                distance = target - current.cents(left--);
+            } else {
+                distance = current.cents(right++) - target;
+            }
+        }
+
+        return Optional.of(current.idsBetween(target - distance, target + distance));
+    }
+
+    /**
+     * Finds the IDs of the cars with a price within the given bounds.
+     *
+     * @param minPrice the minimum price (inclusive), or {@code null} for no lower bound.
+     * @param maxPrice the maximum price (inclusive), or {@code null} for no upper bound.
+     * @return the IDs ordered by price and ID, or an empty {@link Optional} if the index cannot answer the lookup
+     * or if more cars than the maximum range size match.
+     */
+    public Optional<List<Long>> findInRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        long from;
+        long to;
+        try {
+            from = minPrice == null ? Long.MIN_VALUE : toCents(minPrice.setScale(2, RoundingMode.CEILING));
+            to = maxPrice == null ? Long.MAX_VALUE : toCents(maxPrice.setScale(2, RoundingMode.FLOOR));
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+
+        var current = snapshot;
+        if (from > to) {
+            return Optional.of(List.of());
+        }
+
+        if (current.upperBound(to) - current.lowerBound(from) > maxRangeSize) {
+            return Optional.empty();
+        }
+
+        return Optional.of(current.idsBetween(from, to));
+    }
+
+    /**
+     * Adds the saved cars to the index, replacing their previous prices, after the saving transaction is committed.
+     *
+     * @param event the event holding the saved cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        if (!enabled || !ready) {
+            return;
+        }
+
+        var prices = event
+                .cars()
+                .stream()
+                .map(car -> new CarPriceView(car.getId(), car.getPrice()))
+                .toList();
+
+        update(prices, prices.stream().map(CarPriceView::id).toList());
+    }
+
+    /**
+     * Removes the deleted cars from the index after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        if (!enabled || !ready) {
+            return;
+        }
+
+        update(List.of(), event.ids());
+    }
+
+    /**
+     * Creates a new snapshot without the removed IDs and with the added prices.
+     * <p>
+     * Only the blocks holding a removed or an added price are copied, so a change costs the size of
+     * the affected blocks and of the array of block references instead of the size of the whole index.
+     * The added prices not fitting into the index are left out, and their cars are remembered until they are
+     * removed, so the index answers no lookup meanwhile.
+     * </p>
+     *
+     * @param added   the prices to add.
+     * @param removed the IDs to remove.
+     */
+    private synchronized void update(List<CarPriceView> added, Collection<Long> removed) {
+        unindexedIds.removeAll(removed);
+        var addedEntries = sortedEntries(added, unindexedIds);
+        complete = unindexedIds.isEmpty();
+
+        var current = snapshot;
+        var changes = new TreeMap<Integer, BlockChange>();
+
+        for (var id : removed) {
+            var cents = centsById.remove(id);
+            if (cents != MISSING) {
+                changes.computeIfAbsent(current.blockOf(cents, id), b -> new BlockChange()).removed.add(id);
+            }
+        }
+
+        for (var entry : addedEntries) {
+            centsById.put(entry[1], entry[0]);
+            changes.computeIfAbsent(current.blockOf(entry[0], entry[1]), b -> new BlockChange()).added.add(entry);
+        }
+
+        var blocks = new ArrayList<Block>(current.blocks().length + changes.size());
+        for (int b = 0; b < current.blocks().length; b++) {
+            var change = changes.get(b);
+            if (change == null) {
+                blocks.add(current.blocks()[b]);
+            } else {
+                blocks.addAll(change.apply(current.blocks()[b]));
+            }
+        }
+
+        snapshot = Snapshot.of(blocks);
+    }
+
+    private static int compare(long cents1, long id1, long cents2, long id2) {
+        var result = Long.compare(cents1, cents2);
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+
+    /**
+     * Converts the given price to cents, rounding it the way a price column with two decimal places does.
+     */
+    private static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Returns the index of the first element greater than or equal to the given value.
+     */
+    private static int lowerBound(long[] values, long value) {
+        var low = 0;
+        var high = values.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element greater than the given value.
+     */
+    private static int upperBound(long[] values, long value) {
+        var low = 0;
+        var high = values.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Converts the given prices to entries of cents and ID, sorted in ascending order of price and ID.
+     * The IDs of the cars whose price does not fit into a {@code long} amount of cents are added to the given set
+     * instead.
+     */
+    private static long[][] sortedEntries(List<CarPriceView> prices, Set<Long> unindexedIds) {
+        var entries = new ArrayList<long[]>(prices.size());
+        for (var price : prices) {
+            try {
+                entries.add(new long[]{toCents(price.price()), price.id()});
+            } catch (ArithmeticException e) {
+                log.warn("Price {} of car {} does not fit into the price index, which is unused until the car is changed",
+                        price.price(), price.id());
+                unindexedIds.add(price.id());
+            }
+        }
+
+        return entries
+                .stream()
+                .sorted((e1, e2) -> compare(e1[0], e1[1], e2[0], e2[1]))
+                .toArray(long[][]::new);
+    }
+
+    /**
+     * An immutable block of the index.
+     *
+     * @param cents the prices in cents, sorted in ascending order of price and ID.
+     * @param ids   the IDs of the cars, in the order of their prices.
+     */
+    private record Block(long[] cents, long[] ids) {
+
+        private static Block of(List<long[]> entries) {
+            var cents = new long[entries.size()];
+            var ids = new long[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                cents[i] = entries.get(i)[0];
+                ids[i] = entries.get(i)[1];
+            }
+            return new Block(cents, ids);
+        }
+
+        private int size() {
+            return cents.length;
+        }
+    }
+
+    /**
+     * The changes of one block, collected before the block is copied.
+     */
+    private static final class BlockChange {
+
+        private final Set<Long> removed = new HashSet<>();
+        private final List<long[]> added = new ArrayList<>();
+
+        /**
+         * Merges the block without the removed IDs with the added entries, splitting the result if it is too large.
+         *
+         * @param block the block to change.
+         * @return the blocks replacing the given block, none if it becomes empty.
+         */
+        private List<Block> apply(Block block) {
+            added.sort((e1, e2) -> compare(e1[0], e1[1], e2[0], e2[1]));
+
+            var entries = new ArrayList<long[]>(block.size() + added.size());
+            var j = 0;
+            for (int i = 0; i < block.size(); i++) {
+                if (removed.contains(block.ids()[i])) {
+                    continue;
+                }
+                while (j < added.size() && compare(added.get(j)[0], added.get(j)[1], block.cents()[i], block.ids()[i]) < 0) {
+                    entries.add(added.get(j++));
+                }
+                entries.add(new long[]{block.cents()[i], block.ids()[i]});
+            }
+            entries.addAll(added.subList(j, added.size()));
+
+            if (entries.size() <= 2 * BLOCK_SIZE) {
+                return entries.isEmpty() ? List.of() : List.of(Block.of(entries));
+            }
+
+            var blocks = new ArrayList<Block>();
+            for (int from = 0; from < entries.size(); from += BLOCK_SIZE) {
+                blocks.add(Block.of(entries.subList(from, Math.min(from + BLOCK_SIZE, entries.size()))));
+            }
+            return blocks;
+        }
+    }
+
+    /**
+     * An immutable state of the index.
+     *
+     * @param blocks the non-empty blocks, in ascending order of price and ID; at least one block, possibly empty.
+     * @param starts the position of the first price of each block among all prices.
+     * @param size   the number of prices.
+     */
+    private record Snapshot(Block[] blocks, int[] starts, int size) {
+
+        private static Snapshot of(List<Block> blocks) {
+            if (blocks.isEmpty()) {
+                return new Snapshot(new Block[]{new Block(new long[0], new long[0])}, new int[]{0}, 0);
+            }
+
+            var starts = new int[blocks.size()];
+            var size = 0;
+            for (int b = 0; b < blocks.size(); b++) {
+                starts[b] = size;
+                size += blocks.get(b).size();
+            }
+            return new Snapshot(blocks.toArray(Block[]::new), starts, size);
+        }
+
+        /**
+         * Returns the price at the given position among all prices.
+         */
+        private long cents(int index) {
+            var b = blockAt(index);
+            return blocks[b].cents()[index - starts[b]];
+        }
+
+        /**
+         * Returns the block holding the price at the given position among all prices.
+         */
+        private int blockAt(int index) {
+            var low = 0;
+            var high = blocks.length - 1;
+            while (low < high) {
+                var mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the block holding the given price and ID, or into which they are inserted.
+         */
+        private int blockOf(long cents, long id) {
+            var low = 0;
+            var high = blocks.length - 1;
+            while (low < high) {
+                var mid = (low + high) >>> 1;
+                var block = blocks[mid];
+                if (compare(block.cents()[block.size() - 1], block.ids()[block.size() - 1], cents, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the position of the first price greater than or equal to the given value.
+         */
+        private int lowerBound(long value) {
+            for (int b = blockWithLast(value, false); b < blocks.length; b++) {
+                var index = PriceIndex.lowerBound(blocks[b].cents(), value);
+                if (index < blocks[b].size()) {
+                    return starts[b] + index;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Returns the position of the first price greater than the given value.
+         */
+        private int upperBound(long value) {
+            for (int b = blockWithLast(value, true); b < blocks.length; b++) {
+                var index = PriceIndex.upperBound(blocks[b].cents(), value);
+                if (index < blocks[b].size()) {
+                    return starts[b] + index;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Returns the first block whose last price is greater than (or equal to, if not strict) the given value.
+         */
+        private int blockWithLast(long value, boolean strict) {
+            var low = 0;
+            var high = size == 0 ? 0 : blocks.length;
+            while (low < high) {
+                var mid = (low + high) >>> 1;
+                var last = blocks[mid].cents()[blocks[mid].size() - 1];
+                if (strict ? last <= value : last < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return size == 0 ? blocks.length : low;
+        }
+
+        private List<Long> idsBetween(long from, long to) {
+            var start = lowerBound(from);
+            var end = upperBound(to);
+            var result = new ArrayList<Long>(Math.max(end - start, 0));
+            if (start >= end) {
+                return result;
+            }
+
+            var b = blockAt(start);
+            var i = start - starts[b];
+            for (int n = start; n < end; n++) {
+                while (i >= blocks[b].size()) {
+                    b++;
+                    i = 0;
+                }
+                result.add(blocks[b].ids()[i++]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.view.CarPriceSpeedView;
+import com.app.persistence.view.PriceSpeedStatisticView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * {@code PriceSpeedStatisticIndex} maintains the price and speed statistics of all cars in memory.
+ * <p>
+ * The sums and the count of the cars are kept exactly, so the averages are computed the way the database
+ * computes them. The prices and speeds are kept in sorted multisets, so the minimum and the maximum stay correct
+ * after deletes. The statistics are recomputed after each change, so reading them takes constant time.
+ * The index is loaded at startup, updated after the commit of each transaction that saves or deletes cars,
+ * and periodically reconciled against the database to correct any drift.
+ * </p>
+ * <p>
+ * A reload reads the database without holding the lock of the index, so the changes committed meanwhile
+ * are applied without waiting for the read. These changes are recorded and replayed on the reloaded data
+ * before it is swapped in. Since a change replaces or removes the values of whole cars, replaying a change
+ * the read already covers leaves the statistics as they are.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PriceSpeedStatisticIndex implements SmartInitializingSingleton {
+
+    /**
+     * The number of decimal places added to the scale of the averaged values, as done by MySQL.
+     */
+    private static final int AVG_SCALE_INCREMENT = 4;
+
+    /**
+     * The number of decimal places of a stored price.
+     */
+    private static final int PRICE_SCALE = 2;
+
+    private final CarRepository carRepository;
+    private final boolean enabled;
+
+    /**
+     * Serializes the reloads, which read the database without holding the lock of the index.
+     */
+    private final Object reloadLock = new Object();
+
+    // The fields below are guarded by this.
+    private final List<List<CarChange>> pending = new ArrayList<>();
+    private boolean reloading;
+    private final Map<Long, CarPriceSpeedView> cars = new HashMap<>();
+    private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+    private final TreeMap<Integer, Integer> speeds = new TreeMap<>();
+    private BigDecimal priceSum = BigDecimal.ZERO;
+    private long speedSum;
+
+    private volatile PriceSpeedStatisticView statistic;
+    private volatile boolean ready;
+
+    /**
+     * Constructor for PriceSpeedStatisticIndex.
+     *
+     * @param carRepository the repository used to load the prices and speeds of all cars.
+     * @param enabled       whether the index is used.
+     */
+    public PriceSpeedStatisticIndex(
+            CarRepository carRepository,
+            @Value("${index.statistic.enabled:true}") boolean enabled) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads the prices and speeds of all cars once the application context has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with the prices and speeds of all cars stored in the database.
+     */
+    public void reload() {
+        load();
+    }
+
+    /**
+     * Reloads the index from the database and reports whether the statistics had drifted from the stored data.
+     * <p>
+     * The reconcile runs periodically, with the delay configured by {@code index.statistic.reconcile-delay}.
+     * </p>
+     *
+     * @return {@code true} if the statistics held before the reload differed from the stored data.
+     */
+    @Scheduled(
+            fixedDelayString = "${index.statistic.reconcile-delay:PT5M}",
+            initialDelayString = "${index.statistic.reconcile-delay:PT5M}")
+    public boolean reconcile() {
+        if (!isReady()) {
+            return false;
+        }
+
+        var reloaded = load();
+        var drifted = !Objects.equals(reloaded.before(), reloaded.after());
+        if (drifted) {
+            log.warn("Price and speed statistics drifted from the stored data: {} instead of {}",
+                    reloaded.before(), reloaded.after());
+        }
+        return drifted;
+    }
+
+    /**
+     * Reads the prices and speeds of all cars without holding the lock of the index, then replaces the content
+     * of the index with them and with the changes applied during the read.
+     *
+     * @return the statistics held before and after the reload.
+     */
+    private Reload load() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                reloading = true;
+                pending.clear();
+            }
+
+            List<CarPriceSpeedView> loaded;
+            try {
+                loaded = carRepository.findAllPricesAndSpeeds();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    reloading = false;
+                    pending.clear();
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                var previous = statistic;
+
+                cars.clear();
+                prices.clear();
+                speeds.clear();
+                priceSum = BigDecimal.ZERO;
+                speedSum = 0;
+
+                loaded.forEach(this::add);
+                pending.forEach(this::apply);
+                pending.clear();
+                reloading = false;
+
+                statistic = compute();
+                ready = true;
+                return new Reload(previous, statistic);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the index is enabled and loaded, i.e. whether it can answer lookups.
+     *
+     * @return {@code true} if the index can answer lookups, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Returns the current price and speed statistics of all cars.
+     *
+     * @return an {@link Optional} containing the statistics, or an empty {@link Optional} if the index cannot
+     * answer the lookup or if there are no cars.
+     */
+    public Optional<PriceSpeedStatisticView> findPriceSpeedStatistics() {
+        return isReady() ? Optional.ofNullable(statistic) : Optional.empty();
+    }
+
+    /**
+     * Adds the saved cars to the statistics, replacing their previous values,
+     * after the saving transaction is committed.
+     *
+     * @param event the event holding the saved cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        change(event
+                .cars()
+                .stream()
+                .map(car -> new CarChange(car.getId(), new CarPriceSpeedView(car.getId(), car.getPrice(), car.getSpeed())))
+                .toList());
+    }
+
+    /**
+     * Removes the deleted cars from the statistics after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        change(event
+                .ids()
+                .stream()
+                .map(id -> new CarChange(id, null))
+                .toList());
+    }
+
+    /**
+     * Applies the changes to the loaded statistics, and records them for the reload in progress, if any.
+     *
+     * @param changes the changes of the cars.
+     */
+    private synchronized void change(List<CarChange> changes) {
+        if (reloading) {
+            pending.add(changes);
+        }
+        if (ready) {
+            apply(changes);
+            statistic = compute();
+        }
+    }
+
+    private void apply(List<CarChange> changes) {
+        changes.forEach(change -> {
+            remove(change.id());
+            if (change.car() != null) {
+                add(change.car());
+            }
+        });
+    }
+
+    private void add(CarPriceSpeedView car) {
+        var price = car.price().setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+        cars.put(car.id(), new CarPriceSpeedView(car.id(), price, car.speed()));
+        prices.merge(price, 1, Integer::sum);
+        speeds.merge(car.speed(), 1, Integer::sum);
+        priceSum = priceSum.add(price);
+        speedSum += car.speed();
+    }
+
+    private void remove(Long id) {
+        var car = cars.remove(id);
+        if (car == null) {
+            return;
+        }
+
+        prices.computeIfPresent(car.price(), (price, count) -> count == 1 ? null : count - 1);
+        speeds.computeIfPresent(car.speed(), (speed, count) -> count == 1 ? null : count - 1);
+        priceSum = priceSum.subtract(car.price());
+        speedSum -= car.speed();
+    }
+
+    private PriceSpeedStatisticView compute() {
+        if (cars.isEmpty()) {
+            return null;
+        }
+
+        var count = BigDecimal.valueOf(cars.size());
+
+        return new PriceSpeedStatisticView(
+                prices.firstKey(),
+                prices.lastKey(),
+                priceSum.divide(count, PRICE_SCALE + AVG_SCALE_INCREMENT, RoundingMode.HALF_UP).doubleValue(),
+                speeds.firstKey(),
+                speeds.lastKey(),
+                BigDecimal.valueOf(speedSum).divide(count, AVG_SCALE_INCREMENT, RoundingMode.HALF_UP).doubleValue());
+    }
+
+    /**
+     * A change of one car: its new price and speed, or {@code null} if it was deleted.
+     *
+     * @param id  the ID of the car.
+     * @param car the new price and speed of the car, or {@code null}.
+     */
+    private record CarChange(Long id, CarPriceSpeedView car) {
+    }
+
+    /**
+     * The statistics held before and after a reload.
+     *
+     * @param before the statistics before the reload.
+     * @param after  the statistics after the reload.
+     */
+    private record Reload(PriceSpeedStatisticView before, PriceSpeedStatisticView after) {
+    }
+}
@@ -0,0 +1,278 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.view.CarSpeedView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * {@code SpeedIndex} is an in-memory index of the car IDs bucketed by the car speeds.
+ * <p>
+ * Each distinct speed maps to a bucket, a sorted array of the IDs of the cars with that speed.
+ * Since speeds are small bounded integers, an interval lookup walks only the buckets within the interval
+ * and a count lookup sums only their sizes. Readers use the current snapshot of the buckets without locking,
+ * while every change replaces the changed buckets in a new snapshot (copy-on-write). The speed of each car
+ * is kept in a primitive map, and a changed bucket is edited by binary search. The index is loaded
+ * at startup and updated after the commit of each transaction that saves or deletes cars.
+ * </p>
+ * <p>
+ * The lookups return an empty {@link Optional} when the index is disabled or not loaded, or when an interval
+ * holds more cars than the maximum range size, in which case the database should be queried instead.
+ * </p>
+ */
+@Component
+public class SpeedIndex implements SmartInitializingSingleton {
+
+    private final CarRepository carRepository;
+    private final boolean enabled;
+    private final int maxRangeSize;
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    /**
+     * The speed of each indexed car, used to find the bucket of a removed car. Guarded by {@code this}.
+     */
+    private final LongLongMap speeds = new LongLongMap(MISSING);
+
+    private volatile NavigableMap<Integer, long[]> buckets = Collections.emptyNavigableMap();
+    private volatile boolean ready;
+
+    /**
+     * Constructor for SpeedIndex.
+     *
+     * @param carRepository the repository used to load the speeds of all cars.
+     * @param enabled       whether the index is used.
+     * @param maxRangeSize  the maximum number of IDs returned by a speed interval lookup.
+     */
+    public SpeedIndex(
+            CarRepository carRepository,
+            @Value("${index.speed.enabled:true}") boolean enabled,
+            @Value("${index.speed.max-range-size:1000}") int maxRangeSize) {
+        this.carRepository = carRepository;
+        this.enabled = enabled;
+        this.maxRangeSize = maxRangeSize;
+    }
+
+    /**
+     * Loads the speeds of all cars once the application context has been created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Replaces the content of the index with the speeds of all cars stored in the database.
+     */
+    public synchronized void reload() {
+        speeds.clear();
+        var grouped = new TreeMap<Integer, List<Long>>();
+        carRepository
+                .findAllSpeeds()
+                .forEach(view -> {
+                    var previous = speeds.put(view.id(), view.speed());
+                    if (previous == MISSING) {
+                        grouped.computeIfAbsent(view.speed(), key -> new ArrayList<>()).add(view.id());
+                    }
+                });
+
+        var loaded = new TreeMap<Integer, long[]>();
+        grouped.forEach((speed, ids) -> loaded.put(speed, sorted(ids)));
+
+        buckets = Collections.unmodifiableNavigableMap(loaded);
+        ready = true;
+    }
+
+    /**
+     * Returns whether the index is enabled and loaded, i.e. whether it can answer lookups.
+     *
+     * @return {@code true} if the index can answer lookups, {@code false} otherwise.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Finds the IDs of the cars with a speed within the given interval.
+     *
+     * @param minSpeed the minimum speed (inclusive).
+     * @param maxSpeed the maximum speed (inclusive).
+     * @return the IDs ordered by speed and ID, or an empty {@link Optional} if the index cannot answer the lookup
+     * or if more cars than the maximum range size match.
+     */
+    public Optional<List<Long>> findBetween(int minSpeed, int maxSpeed) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var interval = buckets.subMap(minSpeed, true, maxSpeed, true).values();
+        var count = 0L;
+        for (var bucket : interval) {
+            count += bucket.length;
+        }
+        if (count > maxRangeSize) {
+            return Optional.empty();
+        }
+
+        var ids = new ArrayList<Long>((int) count);
+        for (var bucket : interval) {
+            for (var id : bucket) {
+                ids.add(id);
+            }
+        }
+        return Optional.of(ids);
+    }
+
+    /**
+     * Counts the cars with a speed within the given interval, using the sizes of the buckets only.
+     *
+     * @param minSpeed the minimum speed (inclusive).
+     * @param maxSpeed the maximum speed (inclusive).
+     * @return the number of cars, or an empty {@link Optional} if the index cannot answer the lookup.
+     */
+    public Optional<Long> countBetween(int minSpeed, int maxSpeed) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        var count = 0L;
+        for (var bucket : buckets.subMap(minSpeed, true, maxSpeed, true).values()) {
+            count += bucket.length;
+        }
+        return Optional.of(count);
+    }
+
+    /**
+     * Adds the saved cars to the index, replacing their previous speeds, after the saving transaction is committed.
+     *
+     * @param event the event holding the saved cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        update(event
+                .cars()
+                .stream()
+                .map(car -> new CarSpeedView(car.getId(), car.getSpeed()))
+                .toList(), List.of());
+    }
+
+    /**
+     * Removes the deleted cars from the index after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted cars.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+
+        update(List.of(), event.ids());
+    }
+
+    /**
+     * Creates a new snapshot of the buckets, editing only the buckets of the changed cars.
+     *
+     * @param added   the speeds of the added or changed cars.
+     * @param removed the IDs of the removed cars.
+     */
+    private synchronized void update(List<CarSpeedView> added, Collection<Long> removed) {
+        var newSpeeds = new HashMap<Long, Integer>();
+        removed.forEach(id -> newSpeeds.put(id, null));
+        added.forEach(view -> newSpeeds.put(view.id(), view.speed()));
+
+        var removedBySpeed = new TreeMap<Integer, List<Long>>();
+        var addedBySpeed = new TreeMap<Integer, List<Long>>();
+        newSpeeds.forEach((id, speed) -> {
+            var previous = speeds.remove(id);
+            if (previous != MISSING) {
+                removedBySpeed.computeIfAbsent((int) previous, key -> new ArrayList<>()).add(id);
+            }
+            if (speed != null) {
+                speeds.put(id, speed);
+                addedBySpeed.computeIfAbsent(speed, key -> new ArrayList<>()).add(id);
+            }
+        });
+
+        var changed = new TreeSet<>(removedBySpeed.keySet());
+        changed.addAll(addedBySpeed.keySet());
+
+        var updated = new TreeMap<>(buckets);
+        for (var speed : changed) {
+            var bucket = edit(
+                    buckets.getOrDefault(speed, new long[0]),
+                    sorted(removedBySpeed.getOrDefault(speed, List.of())),
+                    sorted(addedBySpeed.getOrDefault(speed, List.of())));
+
+            if (bucket.length == 0) {
+                updated.remove(speed);
+            } else {
+                updated.put(speed, bucket);
+            }
+        }
+
+        buckets = Collections.unmodifiableNavigableMap(updated);
+    }
+
+    /**
+     * Returns a copy of the sorted bucket without the removed IDs and with the added IDs.
+     * <p>
+     * The position of each removed or added ID is found by a binary search, and the IDs between two positions
+     * are copied as one run, so the bucket is never rebuilt through a set of boxed IDs.
+     * An ID both removed and added is kept once.
+     * </p>
+     *
+     * @param bucket  the sorted IDs of the bucket.
+     * @param removed the sorted IDs to remove.
+     * @param added   the sorted IDs to add.
+     * @return the sorted IDs of the edited bucket.
+     */
+    static long[] edit(long[] bucket, long[] removed, long[] added) {
+        var result = new long[bucket.length + added.length];
+        var from = 0;
+        var n = 0;
+        var r = 0;
+        var a = 0;
+
+        while (r < removed.length || a < added.length) {
+            var remove = a >= added.length || (r < removed.length && removed[r] <= added[a]);
+            var id = remove ? removed[r++] : added[a++];
+            var index = Arrays.binarySearch(bucket, from, bucket.length, id);
+            var to = index >= 0 ? index : -index - 1;
+
+            System.arraycopy(bucket, from, result, n, to - from);
+            n += to - from;
+            from = to;
+
+            if (remove && index >= 0) {
+                from++;
+            } else if (!remove && index < 0) {
+                result[n++] = id;
+            }
+        }
+
+        System.arraycopy(bucket, from, result, n, bucket.length - from);
+        n += bucket.length - from;
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static long[] sorted(Collection<Long> ids) {
+        return ids
+                .stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.index.filter;
+
+/**
+ * {@code FilterKernel} evaluates predicates over primitive columns into selection bitmasks.
+ * <p>
+ * A selection holds one bit per row, the row {@code i} being the bit {@code i % 64} of the word {@code i / 64}.
+ * Each evaluation clears the bits of the rows not matching the predicate, so evaluating several predicates
+ * on the same selection selects the rows matching all of them.
+ * </p>
+ *
+ * @see FilterKernels
+ */
+public interface FilterKernel {
+
+    /**
+     * Clears the bits of the rows whose value is not within the given bounds.
+     *
+     * @param values    the values of the column.
+     * @param min       the minimum value (inclusive).
+     * @param max       the maximum value (inclusive).
+     * @param selection the selection of the rows of the column.
+     */
+    void between(long[] values, long min, long max, long[] selection);
+
+    /**
+     * Clears the bits of the rows whose value is not within the given bounds.
+     *
+     * @param values    the values of the column.
+     * @param min       the minimum value (inclusive).
+     * @param max       the maximum value (inclusive).
+     * @param selection the selection of the rows of the column.
+     */
+    void between(int[] values, int min, int max, long[] selection);
+
+    /**
+     * Clears the bits of the rows whose value differs from the given value.
+     *
+     * @param values    the values of the column.
+     * @param value     the value to match.
+     * @param selection the selection of the rows of the column.
+     */
+    void equal(byte[] values, byte value, long[] selection);
+}
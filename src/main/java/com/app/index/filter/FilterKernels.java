@@ -0,0 +1,90 @@
+package com.app.index.filter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * {@code FilterKernels} creates the {@link FilterKernel} used by the in-memory filters and the selections
+ * they evaluate predicates into.
+ */
+@Slf4j
+public final class FilterKernels {
+
+    /**
+     * The name of the module of the Vector API.
+     */
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * The name of the kernel using the Vector API, only compiled with the {@code vector} profile.
+     */
+    static final String VECTOR_KERNEL = "com.app.index.filter.VectorFilterKernel";
+
+    private FilterKernels() {
+    }
+
+    /**
+     * Returns the kernel using the Vector API when it is available, and the kernel using scalar loops otherwise.
+     *
+     * @return the fastest kernel available.
+     */
+    public static FilterKernel fastest() {
+        return vector().orElseGet(ScalarFilterKernel::new);
+    }
+
+    /**
+     * Loads the kernel using the Vector API, which is available when the application is built with the
+     * {@code vector} profile and the JVM runs with {@code --add-modules jdk.incubator.vector}.
+     * The kernel is loaded by name, so that the default build compiles without the incubating module.
+     *
+     * @return an {@link Optional} containing the vector kernel, or an empty {@link Optional} if it is not available.
+     */
+    static Optional<FilterKernel> vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((FilterKernel) Class
+                    .forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor()
+                    .newInstance());
+        } catch (ClassNotFoundException e) {
+            log.info("Vector kernel not built, filtering with scalar loops");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API unavailable, filtering with scalar loops", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a selection of all the rows of a column.
+     *
+     * @param rows the number of rows of the column.
+     * @return the selection with the bits of all the rows set.
+     */
+    public static long[] selectAll(int rows) {
+        var selection = new long[(rows + Long.SIZE - 1) / Long.SIZE];
+        Arrays.fill(selection, -1L);
+        if (rows % Long.SIZE != 0) {
+            selection[selection.length - 1] = (1L << rows % Long.SIZE) - 1;
+        }
+        return selection;
+    }
+
+    /**
+     * Counts the selected rows.
+     *
+     * @param selection the selection of the rows.
+     * @return the number of bits set.
+     */
+    public static int count(long[] selection) {
+        var count = 0;
+        for (var word : selection) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
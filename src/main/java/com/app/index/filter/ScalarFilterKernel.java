@@ -0,0 +1,68 @@
+package com.app.index.filter;
+
+/**
+ * {@code ScalarFilterKernel} evaluates the predicates one row at a time.
+ * <p>
+ * The bits of each word of the selection are computed without branches, and the words already cleared
+ * by a previous predicate are skipped.
+ * </p>
+ */
+public class ScalarFilterKernel implements FilterKernel {
+
+    @Override
+    public void between(long[] values, long min, long max, long[] selection) {
+        for (int word = 0; word < selection.length; word++) {
+            if (selection[word] != 0) {
+                selection[word] &= between(values, word * Long.SIZE, values.length, min, max);
+            }
+        }
+    }
+
+    @Override
+    public void between(int[] values, int min, int max, long[] selection) {
+        for (int word = 0; word < selection.length; word++) {
+            if (selection[word] != 0) {
+                selection[word] &= between(values, word * Long.SIZE, values.length, min, max);
+            }
+        }
+    }
+
+    @Override
+    public void equal(byte[] values, byte value, long[] selection) {
+        for (int word = 0; word < selection.length; word++) {
+            if (selection[word] != 0) {
+                selection[word] &= equal(values, word * Long.SIZE, values.length, value);
+            }
+        }
+    }
+
+    /**
+     * Returns the bits of the rows from {@code from} to the end of the word, or to {@code to}, matching the bounds.
+     */
+    static long between(long[] values, int from, int to, long min, long max) {
+        var bits = 0L;
+        var end = Math.min(from + Long.SIZE, to);
+        for (int row = from; row < end; row++) {
+            bits |= (long) ((values[row] >= min) & (values[row] <= max) ? 1 : 0) << (row - from);
+        }
+        return bits;
+    }
+
+    static long between(int[] values, int from, int to, int min, int max) {
+        var bits = 0L;
+        var end = Math.min(from + Long.SIZE, to);
+        for (int row = from; row < end; row++) {
+            bits |= (long) ((values[row] >= min) & (values[row] <= max) ? 1 : 0) << (row - from);
+        }
+        return bits;
+    }
+
+    static long equal(byte[] values, int from, int to, byte value) {
+        var bits = 0L;
+        var end = Math.min(from + Long.SIZE, to);
+        for (int row = from; row < end; row++) {
+            bits |= (long) (values[row] == value ? 1 : 0) << (row - from);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.persistence;
+
+import com.app.persistence.entity.CarEntity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@code CarFieldRegistry} describes the fields of {@link CarEntity} that requests may sort and group cars by.
+ * <p>
+ * The registry is built once from the JPA metamodel, so looking a field up is a single hash map access
+ * instead of a reflective scan of the entity class. Each field records whether cars can be sorted and grouped
+ * by it, which is the case of the basic single-valued attributes only. The field holds its metamodel attribute, so queries resolve its path
+ * without looking the attribute up by name again.
+ * </p>
+ */
+@Component
+public class CarFieldRegistry {
+
+    private final Map<String, CarField> fields;
+
+    /**
+     * Constructor for CarFieldRegistry.
+     *
+     * @param entityManagerFactory the factory holding the metamodel of {@link CarEntity}.
+     */
+    public CarFieldRegistry(EntityManagerFactory entityManagerFactory) {
+        var registered = new HashMap<String, CarField>();
+
+        for (var attribute : entityManagerFactory.getMetamodel().entity(CarEntity.class).getAttributes()) {
+            var basic = attribute instanceof SingularAttribute<?, ?>
+                    && attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC;
+
+            registered.put(attribute.getName(), new CarField(attribute.getName(), attribute, basic, basic));
+        }
+
+        this.fields = Map.copyOf(registered);
+    }
+
+    /**
+     * Finds the field with the given name.
+     *
+     * @param name the name of the field.
+     * @return the field, or an empty {@link Optional} if {@link CarEntity} has no such field.
+     */
+    public Optional<CarField> find(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(fields.get(name));
+    }
+
+    /**
+     * Returns the field with the given name, if cars can be sorted by it.
+     *
+     * @param name the name of the field.
+     * @return the field.
+     * @throws IllegalArgumentException if there is no such field or if cars cannot be sorted by it.
+     */
+    public CarField requireSortable(String name) {
+        return find(name)
+                .filter(CarField::sortable)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid parameter value: " + name));
+    }
+
+    /**
+     * Returns the field with the given name, if cars can be grouped by it.
+     *
+     * @param name the name of the field.
+     * @return the field.
+     * @throws IllegalArgumentException if there is no such field or if cars cannot be grouped by it.
+     */
+    public CarField requireGroupable(String name) {
+        return find(name)
+                .filter(CarField::groupable)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid parameter value: " + name));
+    }
+
+    /**
+     * A field of {@link CarEntity}.
+     *
+     * @param name      the name of the field.
+     * @param attribute the metamodel attribute of the field.
+     * @param sortable  whether cars can be sorted by the field.
+     * @param groupable whether cars can be grouped by the field.
+     */
+    public record CarField(
+            String name,
+            Attribute<? super CarEntity, ?> attribute,
+            boolean sortable,
+            boolean groupable) {
+
+        /**
+         * Returns the path of the field from the given root.
+         *
+         * @param root the root of a query selecting cars.
+         * @param <T>  the type of the field.
+         * @return the path of the field.
+         * @throws IllegalStateException if the field is not single-valued.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Path<T> path(Root<CarEntity> root) {
+            if (!(attribute instanceof SingularAttribute<?, ?> singular)) {
+                throw new IllegalStateException("The field " + name + " is not single-valued");
+            }
+            return root.get((SingularAttribute<? super CarEntity, T>) singular);
+        }
+    }
+}
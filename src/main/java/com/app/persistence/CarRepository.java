@@ -1,12 +1,19 @@
 package com.app.persistence;
 
 import com.app.persistence.entity.CarEntity;
+import com.app.persistence.view.CarPriceSpeedView;
+import com.app.persistence.view.CarPriceView;
+import com.app.persistence.view.CarRowView;
+import com.app.persistence.view.CarSpeedView;
 import com.app.persistence.view.PriceSpeedStatisticView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +23,58 @@ import java.util.Optional;
  * This interface provides methods for performing operations on the {@link CarEntity} data, including
  * filtering, aggregation, and complex queries related to car statistics.
  * </p>
+ * <p>
+ * Methods returning cars whose components are rendered use the {@link CarEntity#COMPONENTS_GRAPH}
+ * entity graph, so the components are fetched in the same query. Paginated methods rely on batch fetching
+ * of the components instead, because a collection fetch cannot be combined with a row limit.
+ * </p>
  */
 public interface CarRepository extends CrudRepository<CarEntity, Long>, CarRepositoryCustom {
 
+    /**
+     * Finds a car by its ID together with its components.
+     *
+     * @param id the ID of the car.
+     * @return an {@link Optional} containing the {@link CarEntity} if found.
+     */
+    @Override
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
+    Optional<CarEntity> findById(Long id);
+
+    /**
+     * Finds the cars with the given IDs together with their components.
+     *
+     * @param ids the IDs of the cars.
+     * @return a list of the found {@link CarEntity} objects.
+     */
+    @Override
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
+    List<CarEntity> findAllById(Iterable<Long> ids);
+
+    /**
+     * Finds all cars together with their components.
+     *
+     * @return a list of all {@link CarEntity} objects.
+     */
+    @Override
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
+    List<CarEntity> findAll();
+
+    /**
+     * Finds all cars sorted by the given sort, together with their components.
+     *
+     * @param sort the sort applied to the cars.
+     * @return a sorted list of all {@link CarEntity} objects.
+     */
+    @Override
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
+    List<CarEntity> findAll(Sort sort);
+
+    /**
+     * Flushes the pending changes of the persistence context to the database.
+     */
+    void flush();
+
     /**
      * Finds all cars with a speed between the given range.
      *
@@ -26,14 +82,39 @@ public interface CarRepository extends CrudRepository<CarEntity, Long>, CarRepos
      * @param speedTo   the upper bound of the speed.
      * @return a list of {@link CarEntity} objects that match the speed range.
      */
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
     List<CarEntity> findCarEntitiesBySpeedBetween(int speedFrom, int speedTo);
 
+    /**
+     * Counts the cars with a speed between the given range.
+     *
+     * @param speedFrom the lower bound of the speed.
+     * @param speedTo   the upper bound of the speed.
+     * @return the number of cars that match the speed range.
+     */
+    long countBySpeedBetween(int speedFrom, int speedTo);
+
+    /**
+     * Finds a window of cars sorted by the given sort and positioned after the given scroll position.
+     * <p>
+     * When a keyset position is used, the identifier is appended to the sort so that every page
+     * is read with a seek on the sort keys instead of an offset scan.
+     * </p>
+     *
+     * @param position the position after which the window starts.
+     * @param sort     the sort applied to the cars.
+     * @param limit    the maximum number of cars in the window.
+     * @return a {@link Window} of {@link CarEntity} objects.
+     */
+    Window<CarEntity> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Finds all cars based on the given specifications.
      *
      * @param spec the specification used for filtering the cars.
      * @return a list of {@link CarEntity} objects that match the specification.
      */
+    @EntityGraph(CarEntity.COMPONENTS_GRAPH)
     List<CarEntity> findAll(Specification<CarEntity> spec);
 
     /**
@@ -49,17 +130,38 @@ public interface CarRepository extends CrudRepository<CarEntity, Long>, CarRepos
     Optional<PriceSpeedStatisticView> findPriceSpeedStatistics();
 
     /**
-     * Finds the car that is closest in price to the provided price.
+     * Fetches the ID and the price of every car.
+     *
+     * @return a list of {@link CarPriceView} objects, one for each car.
+     */
+    @Query("select new com.app.persistence.view.CarPriceView(c.id, c.price) from CarEntity c")
+    List<CarPriceView> findAllPrices();
+
+    /**
+     * Fetches the ID and the speed of every car.
+     *
+     * @return a list of {@link CarSpeedView} objects, one for each car.
+     */
+    @Query("select new com.app.persistence.view.CarSpeedView(c.id, c.speed) from CarEntity c")
+    List<CarSpeedView> findAllSpeeds();
+
+    /**
+     * Fetches the ID, the price and the speed of every car.
+     *
+     * @return a list of {@link CarPriceSpeedView} objects, one for each car.
+     */
+    @Query("select new com.app.persistence.view.CarPriceSpeedView(c.id, c.price, c.speed) from CarEntity c")
+    List<CarPriceSpeedView> findAllPricesAndSpeeds();
+
+    /**
+     * Fetches the columns of every car, ordered by ID.
      *
-     * @param price the price to compare the cars to.
-     * @return a list of {@link CarEntity} objects with the price closest to the given price.
+     * @return a list of {@link CarRowView} objects, one for each car.
      */
     @Query("""
-            select c from CarEntity c 
-            where abs(c.price - :price) = (
-                select min(abs(car.price - :price)) 
-                from CarEntity car
-            )
+            select new com.app.persistence.view.CarRowView(c.id, c.brand, c.model, c.price, c.speed, c.color)
+            from CarEntity c
+            order by c.id
             """)
-    List<CarEntity> findCarsCloseToPrice(@Param("price") BigDecimal price);
+    List<CarRowView> findAllRows();
 }
@@ -1,9 +1,17 @@
 package com.app.persistence;
 
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.view.CarView;
 import com.app.persistence.view.GroupByView;
 import com.app.persistence.view.GroupByAndPriceStatisticView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -29,4 +37,78 @@ public interface CarRepositoryCustom {
      *         as well as the minimum and maximum price for each group.
      */
     List<GroupByAndPriceStatisticView<Object>> groupByAndPriceStatisticField(String field);
+
+    /**
+     * Finds a single page of car entities matching the given specification, ordered by ID.
+     *
+     * @param specification the specification used for filtering the cars.
+     * @param offset        the index of the first car of the page.
+     * @param limit         the maximum number of cars in the page.
+     * @return a list of {@link CarEntity} objects that belong to the page.
+     */
+    List<CarEntity> findPage(Specification<CarEntity> specification, int offset, int limit);
+
+    /**
+     * Finds the cars matching the given specification as views holding the names of their components,
+     * without loading the car entities.
+     *
+     * @param specification the specification used for filtering the cars.
+     * @param sort          the sort of the cars, the ID being always the last sort key.
+     * @return a list of {@link CarView} objects that match the specification.
+     */
+    List<CarView> findCarViews(Specification<CarEntity> specification, Sort sort);
+
+    /**
+     * Passes every car matching the given specification to the consumer as a view, ordered by ID.
+     * <p>
+     * The rows are read from the database through a forward-only cursor while the cars are passed on,
+     * so the memory used does not depend on the number of cars.
+     * </p>
+     *
+     * @param specification the specification used for filtering the cars.
+     * @param consumer      the consumer receiving each {@link CarView}.
+     */
+    void forEachCarView(Specification<CarEntity> specification, Consumer<CarView> consumer);
+
+    /**
+     * Streams all car entities matching the given specification, ordered by ID.
+     * <p>
+     * The rows are read from the database in fetches of a bounded size while the stream is consumed.
+     * The returned stream must be closed after use.
+     * </p>
+     *
+     * @param specification the specification used for filtering the cars.
+     * @return a {@link Stream} of {@link CarEntity} objects that match the specification.
+     */
+    Stream<CarEntity> streamAll(Specification<CarEntity> specification);
+
+    /**
+     * Inserts the given cars, or updates the stored cars with the same brand and model, and replaces
+     * their components. Each car is given the ID of its stored row.
+     *
+     * @param cars the cars to insert or update, with their components.
+     * @return the IDs of the cars without an ID that updated a row inserted concurrently with the same brand
+     * and model, instead of being inserted.
+     */
+    Set<Long> upsertAll(List<CarEntity> cars);
+
+    /**
+     * Finds the cars that are closest in price to the provided price.
+     * All cars at the smallest distance are returned.
+     *
+     * @param price the price to compare the cars to.
+     * @return a list of {@link CarEntity} objects with the price closest to the given price.
+     */
+    List<CarEntity> findCarsCloseToPrice(BigDecimal price);
+
+    /**
+     * Finds the {@code k} cars that are closest in price to the provided price.
+     * Cars at the same distance as the {@code k}-th closest car are returned as well,
+     * so the result may contain more than {@code k} cars.
+     *
+     * @param price the price to compare the cars to.
+     * @param k     the number of closest cars to find.
+     * @return a list of {@link CarEntity} objects ordered by price.
+     */
+    List<CarEntity> findCarsCloseToPrice(BigDecimal price, int k);
 }
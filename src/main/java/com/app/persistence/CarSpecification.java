@@ -5,6 +5,9 @@ import com.app.persistence.view.CarCriterionFilteringView;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Interface for dynamic filtering of car entities based on specified criteria.
  * <p>
@@ -27,4 +30,20 @@ public interface CarSpecification {
      * @return a {@link Specification} that can be used to filter car entities.
      */
     Specification<CarEntity> dynamicFilters(CarCriterionFilteringView criterionFilteringView);
+
+    /**
+     * Creates a {@link Specification} restricting car entities to the given IDs.
+     *
+     * @param ids the IDs of the cars to keep.
+     * @return a {@link Specification} matching only the cars with the given IDs.
+     */
+    Specification<CarEntity> idIn(Collection<Long> ids);
+
+    /**
+     * Creates a {@link Specification} restricting car entities to the given brands and models.
+     *
+     * @param modelsByBrand the models to keep, keyed by their brand.
+     * @return a {@link Specification} matching only the cars with one of the given brand and model pairs.
+     */
+    Specification<CarEntity> brandAndModelIn(Map<String, ? extends Collection<String>> modelsByBrand);
 }
@@ -1,7 +1,9 @@
 package com.app.persistence;
 
 import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.ComponentCarView;
 import com.app.persistence.view.ComponentsAndCarsView;
+import com.app.persistence.view.GroupByView;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -13,8 +15,11 @@ import java.util.List;
  * and their associated cars. It includes a custom query method for retrieving a list of components
  * along with information about the cars that have those components.
  * </p>
+ * <p>
+ * The lookups of {@link ComponentRepositoryCustom} read the components from the second-level cache.
+ * </p>
  */
-public interface ComponentRepository extends CrudRepository<ComponentEntity, Long> {
+public interface ComponentRepository extends CrudRepository<ComponentEntity, Long>, ComponentRepositoryCustom {
 
     /**
      * Retrieves a list of components and the cars that are associated with them.
@@ -34,4 +39,27 @@ public interface ComponentRepository extends CrudRepository<ComponentEntity, Lon
                     group by c.name, car.id, car.brand, car.model, car.color, car.price, car.speed
             """)
     List<ComponentsAndCarsView> groupByComponent();
+
+    /**
+     * Counts the cars associated with each component, including the components without cars.
+     *
+     * @return a list of {@link GroupByView} objects containing the component names and their numbers of cars,
+     *         ordered by the component name.
+     */
+    @Query("""
+            select new com.app.persistence.view.GroupByView(c.name, count(car.id))
+                    from ComponentEntity c
+                    left join c.cars car
+                    group by c.name
+                    order by c.name
+            """)
+    List<GroupByView<Object>> countCarsByComponent();
+
+    /**
+     * Retrieves every association between a component and a car.
+     *
+     * @return a list of {@link ComponentCarView} objects, one for each row of the join table.
+     */
+    @Query("select new com.app.persistence.view.ComponentCarView(c.id, car.id) from ComponentEntity c join c.cars car")
+    List<ComponentCarView> findAllComponentCars();
 }
@@ -0,0 +1,32 @@
+package com.app.persistence;
+
+import com.app.persistence.entity.ComponentEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * This interface provides methods for loading components through the second-level cache,
+ * which the queries of the Spring Data repository methods bypass.
+ * </p>
+ */
+public interface ComponentRepositoryCustom {
+
+    /**
+     * Finds the components with the given IDs, reading the cached components without querying the database.
+     *
+     * @param ids the IDs of the components.
+     * @return the found components in no particular order. The IDs without a component are skipped.
+     */
+    List<ComponentEntity> findAllByIdCached(Collection<Long> ids);
+
+    /**
+     * Finds the component with the given name, resolving the name through the natural ID cache.
+     *
+     * @param name the name of the component.
+     * @return an {@link Optional} containing the component, or an empty {@link Optional} if there is no such component.
+     */
+    Optional<ComponentEntity> findByNameCached(String name);
+}
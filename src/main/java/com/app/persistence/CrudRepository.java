@@ -1,7 +1,12 @@
 package com.app.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 /**
  * A custom repository interface that extends {@link JpaRepository} and provides
@@ -18,4 +23,26 @@ import org.springframework.data.repository.NoRepositoryBean;
  */
 @NoRepositoryBean
 public interface CrudRepository<T, U> extends JpaRepository<T, U> {
+
+    /**
+     * Counts the entities with the given identifiers, without loading them.
+     *
+     * @param ids the identifiers of the entities.
+     * @return the number of existing entities among the given identifiers.
+     */
+    long countByIdIn(Collection<U> ids);
+
+    /**
+     * Deletes the entities with the given identifiers in a single bulk statement, without loading them.
+     * <p>
+     * Hibernate first deletes the rows of the join tables owned by the entity, then the entities themselves.
+     * The persistence context is flushed before and cleared after the delete, so it holds no deleted entities.
+     * </p>
+     *
+     * @param ids the identifiers of the entities to delete.
+     * @return the number of deleted entities.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from #{#entityName} e where e.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<U> ids);
 }
@@ -1,6 +1,6 @@
 package com.app.persistence.entity;
 
-import jakarta.persistence.GeneratedValue;
+import com.app.persistence.id.PooledId;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.*;
@@ -32,10 +32,11 @@ public class BaseEntity {
 
     /**
      * The unique identifier for this entity.
-     * The ID will be automatically generated by the persistence provider.
+     * The ID will be automatically generated by the persistence provider,
+     * allocated in blocks so that bulk inserts do not hit the sequence once per row.
      */
     @Id
-    @GeneratedValue
+    @PooledId
     protected Long id;
 
     /**
@@ -21,8 +21,14 @@ import java.util.List;
  * and it supports cascading operations for persisting and merging associated components.
  * </p>
  * <p>
+ * The components are loaded lazily. Queries that render components use the
+ * {@value #COMPONENTS_GRAPH} entity graph, so the components are fetched together with the cars
+ * instead of with one extra select per car.
+ * </p>
+ * <p>
  * The class is mapped to the {@code cars} table, with a unique constraint on the combination of
- * the {@code brand} and {@code model} columns to ensure uniqueness of each car model.
+ * the {@code brand} and {@code model} columns to ensure uniqueness of each car model,
+ * and indexes on the {@code price} and {@code speed} columns used by the price and speed lookups.
  * </p>
  */
 @Getter
@@ -30,12 +36,23 @@ import java.util.List;
 @AllArgsConstructor
 @ToString
 @SuperBuilder
+@NamedEntityGraph(
+        name = CarEntity.COMPONENTS_GRAPH,
+        attributeNodes = @NamedAttributeNode("components"))
 @Table(
         name = "cars",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"brand", "model"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"brand", "model"}),
+        indexes = {
+                @Index(name = "idx_cars_price", columnList = "price"),
+                @Index(name = "idx_cars_speed", columnList = "speed")})
 @Entity
 public class CarEntity extends BaseEntity {
 
+    /**
+     * The name of the entity graph fetching the components together with the car.
+     */
+    public static final String COMPONENTS_GRAPH = "CarEntity.components";
+
     /**
      * The brand of the car.
      */
@@ -66,14 +83,16 @@ public class CarEntity extends BaseEntity {
     /**
      * The components associated with the car.
      * This represents a many-to-many relationship between cars and components.
+     * The components are loaded lazily, in batches when several cars are read at once.
      */
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinTable(
             name = "cars_components",
             joinColumns = @JoinColumn(name = "car_id"),
             inverseJoinColumns = @JoinColumn(name = "component_id")
     )
     @Builder.Default
+    @ToString.Exclude
     private List<ComponentEntity> components = new ArrayList<>();
 
     /**
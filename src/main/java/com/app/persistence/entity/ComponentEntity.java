@@ -7,6 +7,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +26,10 @@ import java.util.List;
  * The entity is mapped to the {@code components} table, and the name of each component must be unique
  * within the database.
  * </p>
+ * <p>
+ * Components are a small catalogue read far more often than written, so they are kept in the second-level cache,
+ * keyed both by ID and by the name, which is their natural ID.
+ * </p>
  */
 @Getter
 @AllArgsConstructor
@@ -28,12 +37,25 @@ import java.util.List;
 @SuperBuilder
 @Entity
 @Table(name = "components")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ComponentEntity.CACHE_REGION)
+@NaturalIdCache(region = ComponentEntity.NATURAL_ID_CACHE_REGION)
 public class ComponentEntity extends BaseEntity {
 
+    /**
+     * The name of the second-level cache region holding the components by ID.
+     */
+    public static final String CACHE_REGION = "components";
+
+    /**
+     * The name of the second-level cache region holding the component IDs by name.
+     */
+    public static final String NATURAL_ID_CACHE_REGION = "component-names";
+
     /**
      * The name of the component.
-     * This field must be unique and cannot be null.
+     * This field must be unique and cannot be null. It is the natural ID of the component.
      */
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String name;
 
@@ -0,0 +1,53 @@
+package com.app.persistence.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.util.Properties;
+
+/**
+ * {@code PooledSequenceGenerator} is a sequence based identifier generator that allocates identifiers in blocks.
+ * <p>
+ * The size of a block is read from the {@value #INCREMENT_SIZE_SETTING} setting, so one round trip
+ * to the sequence (or to the table emulating it on databases without sequences) serves a whole block of inserts.
+ * The allocated values are handed out by the optimizer chosen by the
+ * {@code hibernate.id.optimizer.pooled.preferred} setting, which defaults to the pooled optimizer.
+ * </p>
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * The name of the setting holding the number of identifiers allocated per round trip.
+     */
+    public static final String INCREMENT_SIZE_SETTING = "app.id.increment_size";
+
+    /**
+     * The number of identifiers allocated per round trip when the setting is absent.
+     */
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    /**
+     * Configures the generator, applying the configured block size before the sequence is resolved.
+     *
+     * @param creationContext the context the generator is created in, giving access to the settings
+     * @param parameters      the generator parameters
+     * @throws MappingException if the generator cannot be configured
+     */
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) throws MappingException {
+        var incrementSize = creationContext
+                .getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSetting(INCREMENT_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_INCREMENT_SIZE);
+
+        if (incrementSize < 1) {
+            throw new MappingException("Identifier increment size must be positive");
+        }
+
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(incrementSize));
+        super.configure(creationContext, parameters);
+    }
+}
@@ -1,15 +1,41 @@
 package com.app.persistence.impl;
 
+import com.app.persistence.CarFieldRegistry;
 import com.app.persistence.CarRepositoryCustom;
+import com.app.color.Color;
 import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.CarView;
 import com.app.persistence.view.GroupByView;
 import com.app.persistence.view.GroupByAndPriceStatisticView;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Custom implementation of the {@link CarRepositoryCustom} interface.
@@ -27,6 +53,36 @@ public class CarRepositoryCustomImpl implements CarRepositoryCustom {
     @PersistenceContext
     private EntityManager em;
 
+    /**
+     * The statement inserting a car, or updating the price, speed and color of the car with the same ID
+     * or with the same brand and model. The inserted row is referred to by its alias, as the {@code values()}
+     * function is deprecated since MySQL 8.0.20.
+     */
+    private static final String UPSERT_SQL = """
+            insert into cars (id, brand, model, price, speed, color) values (?, ?, ?, ?, ?, ?) as new
+            on duplicate key update price = new.price, speed = new.speed, color = new.color
+            """;
+
+    /**
+     * The registry resolving the fields the cars are grouped by.
+     */
+    private final CarFieldRegistry carFieldRegistry;
+
+    /**
+     * The number of rows fetched from the database at once while streaming cars.
+     */
+    @Value("${stream.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Constructor for CarRepositoryCustomImpl.
+     *
+     * @param carFieldRegistry the registry resolving the fields the cars are grouped by
+     */
+    public CarRepositoryCustomImpl(CarFieldRegistry carFieldRegistry) {
+        this.carFieldRegistry = carFieldRegistry;
+    }
+
     /**
      * Groups cars by a specified field and counts the number of cars in each group.
      * <p>
@@ -36,15 +92,18 @@ public class CarRepositoryCustomImpl implements CarRepositoryCustom {
      *
      * @param field the field to group by (e.g., "brand", "model", "color")
      * @return a list of {@link GroupByView} objects representing the grouped cars
+     * @throws IllegalArgumentException if cars cannot be grouped by the field
      */
     @Override
     public List<GroupByView<Object>> groupByField(String field) {
+        var groupable = carFieldRegistry.requireGroupable(field);
         var cb = em.getCriteriaBuilder();
         var query = cb.createQuery(Object[].class);
         var root = query.from(CarEntity.class);
+        var path = groupable.path(root);
 
-        query.groupBy(root.get(field));
-        query.multiselect(root.get(field), cb.count(root));
+        query.groupBy(path);
+        query.multiselect(path, cb.count(root));
 
         var result = em.createQuery(query).getResultList();
         return result
@@ -63,14 +122,17 @@ public class CarRepositoryCustomImpl implements CarRepositoryCustom {
      *
      * @param field the field to group by (e.g., "brand", "model", "color")
      * @return a list of {@link GroupByAndPriceStatisticView} objects representing the grouped cars with price statistics
+     * @throws IllegalArgumentException if cars cannot be grouped by the field
      */
     public List<GroupByAndPriceStatisticView<Object>> groupByAndPriceStatisticField(String field) {
+        var groupable = carFieldRegistry.requireGroupable(field);
         var cb = em.getCriteriaBuilder();
         var query = cb.createQuery(Object[].class);
         var root = query.from(CarEntity.class);
+        var path = groupable.path(root);
 
-        query.groupBy(root.get(field));
-        query.multiselect(root.get(field), cb.min(root.get("price")), cb.max(root.get("price")));
+        query.groupBy(path);
+        query.multiselect(path, cb.min(root.get("price")), cb.max(root.get("price")));
 
         var result = em.createQuery(query).getResultList();
 
@@ -80,4 +142,374 @@ public class CarRepositoryCustomImpl implements CarRepositoryCustom {
                         new GroupByAndPriceStatisticView<>(element[0], (BigDecimal) element[1], (BigDecimal) element[2]))
                 .toList();
     }
+
+    /**
+     * Finds a single page of cars matching the given specification, ordered by ID.
+     *
+     * @param specification the specification used for filtering the cars
+     * @param offset        the index of the first car of the page
+     * @param limit         the maximum number of cars in the page
+     * @return a list of {@link CarEntity} objects that belong to the page
+     */
+    @Override
+    public List<CarEntity> findPage(Specification<CarEntity> specification, int offset, int limit) {
+        return em.createQuery(createFilterQuery(specification))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Finds the cars matching the given specification as views holding the names of their components.
+     * <p>
+     * The car columns and the component names are selected by a single query left joining the components,
+     * so cars without components are kept. The rows of each car are collected into one view in a single pass
+     * over the result, and no car entity is loaded into the persistence context.
+     * </p>
+     *
+     * @param specification the specification used for filtering the cars
+     * @param sort          the sort of the cars, the ID being always the last sort key
+     * @return a list of {@link CarView} objects in the order of the sort
+     */
+    @Override
+    public List<CarView> findCarViews(Specification<CarEntity> specification, Sort sort) {
+        var cars = new LinkedHashMap<Long, CarView>();
+        for (var row : em.createQuery(createCarViewQuery(specification, sort)).getResultList()) {
+            var car = cars.computeIfAbsent(row.get(0, Long.class), id -> toCarView(row));
+            var name = row.get(6, String.class);
+            if (name != null) {
+                car.components().add(name);
+            }
+        }
+
+        return List.copyOf(cars.values());
+    }
+
+    /**
+     * Passes every car matching the given specification to the consumer as a view, ordered by ID.
+     * <p>
+     * The rows are read through a forward-only cursor with a JDBC fetch size, and the rows of each car are
+     * adjacent, so a car is passed on as soon as its last row has been read. The persistence context is cleared
+     * after every fetch, so the memory used does not depend on the number of cars.
+     * </p>
+     *
+     * @param specification the specification used for filtering the cars
+     * @param consumer      the consumer receiving each car view
+     */
+    @Override
+    public void forEachCarView(Specification<CarEntity> specification, Consumer<CarView> consumer) {
+        var query = em
+                .createQuery(createCarViewQuery(specification, Sort.unsorted()))
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults<Tuple> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            CarView car = null;
+            var passed = 0L;
+
+            while (rows.next()) {
+                var row = rows.get();
+                if (car == null || !car.id().equals(row.get(0, Long.class))) {
+                    if (car != null) {
+                        consumer.accept(car);
+                        if (++passed % fetchSize == 0) {
+                            em.clear();
+                        }
+                    }
+                    car = toCarView(row);
+                }
+
+                var name = row.get(6, String.class);
+                if (name != null) {
+                    car.components().add(name);
+                }
+            }
+
+            if (car != null) {
+                consumer.accept(car);
+            }
+        }
+    }
+
+    /**
+     * Creates the query selecting the car columns and the component names of the cars matching the given
+     * specification, left joining the components and ordered by the given sort and then by ID.
+     */
+    private CriteriaQuery<Tuple> createCarViewQuery(Specification<CarEntity> specification, Sort sort) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(CarEntity.class);
+        Join<CarEntity, ComponentEntity> component = root.join("components", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id"), root.get("brand"), root.get("model"),
+                root.get("speed"), root.get("price"), root.get("color"),
+                component.get("name"));
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        var orders = new ArrayList<>(QueryUtils.toOrders(sort, root, cb));
+        orders.add(cb.asc(root.get("id")));
+        return query.orderBy(orders);
+    }
+
+    /**
+     * Creates the view of the car of the given row, without components.
+     */
+    private static CarView toCarView(Tuple row) {
+        return new CarView(
+                row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class),
+                row.get(3, Integer.class), row.get(4, BigDecimal.class), row.get(5, Color.class),
+                new ArrayList<>());
+    }
+
+    /**
+     * Inserts the given cars, or updates the stored cars with the same brand and model, with the native upsert
+     * of the database, and replaces their components.
+     * <p>
+     * The cars without an ID get one from the identifier generator of {@link CarEntity}. The rows are written
+     * in JDBC batches of {@code hibernate.jdbc.batch_size} {@code insert ... on duplicate key update} statements,
+     * so a car inserted concurrently with the same brand and model
+     * is updated instead of failing the batch, in which case the car is given the ID of the stored row.
+     * The persistence context is flushed before the writes, and the instances of the written cars it holds
+     * are detached after them, as the native statements bypass it. The other entities it holds stay managed.
+     * </p>
+     *
+     * @param cars the cars to insert or update, with their components
+     * @return the IDs of the cars without an ID that updated a concurrently inserted row
+     */
+    @Override
+    public Set<Long> upsertAll(List<CarEntity> cars) {
+        if (cars.isEmpty()) {
+            return Set.of();
+        }
+
+        em.flush();
+        var session = em.unwrap(SessionImplementor.class);
+        var descriptor = session
+                .getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(CarEntity.class);
+        var generator = (IdentifierGenerator) descriptor.getGenerator();
+        var batchSize = Math.max(session.getFactory().getSessionFactoryOptions().getJdbcBatchSize(), 1);
+
+        var generated = new ArrayList<CarEntity>();
+        cars.forEach(car -> {
+            if (car.getId() == null) {
+                car.setId((Long) generator.generate(session, car));
+                generated.add(car);
+            }
+        });
+
+        session.doWork(connection -> {
+            try (var statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (int i = 0; i < cars.size(); i++) {
+                    var car = cars.get(i);
+                    statement.setLong(1, car.getId());
+                    statement.setString(2, car.getBrand());
+                    statement.setString(3, car.getModel());
+                    statement.setBigDecimal(4, car.getPrice());
+                    statement.setInt(5, car.getSpeed());
+                    statement.setString(6, car.getColor() == null ? null : car.getColor().name());
+                    statement.addBatch();
+
+                    if ((i + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+
+        var resolvedIds = resolveConcurrentlyInsertedIds(generated);
+
+        session.doWork(connection -> {
+            try (var delete = connection.prepareStatement("delete from cars_components where car_id = ?");
+                 var insert = connection.prepareStatement(
+                         "insert into cars_components (car_id, component_id) values (?, ?)")) {
+                for (int i = 0; i < cars.size(); i++) {
+                    delete.setLong(1, cars.get(i).getId());
+                    delete.addBatch();
+
+                    if ((i + 1) % batchSize == 0) {
+                        delete.executeBatch();
+                    }
+                }
+                delete.executeBatch();
+
+                var rows = 0;
+                for (var car : cars) {
+                    for (var component : car.getComponents()) {
+                        insert.setLong(1, car.getId());
+                        insert.setLong(2, component.getId());
+                        insert.addBatch();
+
+                        if (++rows % batchSize == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+
+        var persistenceContext = session.getPersistenceContextInternal();
+        cars.forEach(car -> {
+            var managed = persistenceContext.getEntity(session.generateEntityKey(car.getId(), descriptor));
+            if (managed != null) {
+                em.detach(managed);
+            }
+        });
+        return resolvedIds;
+    }
+
+    /**
+     * Replaces the generated IDs of the cars whose rows were not inserted, because a row with the same brand
+     * and model was stored concurrently, with the IDs of the stored rows.
+     *
+     * @return the IDs of the stored rows given to the cars.
+     */
+    private Set<Long> resolveConcurrentlyInsertedIds(List<CarEntity> generated) {
+        if (generated.isEmpty()) {
+            return Set.of();
+        }
+
+        var inserted = new HashSet<>(em
+                .createQuery("select c.id from CarEntity c where c.id in :ids", Long.class)
+                .setParameter("ids", generated.stream().map(CarEntity::getId).toList())
+                .getResultList());
+
+        var resolved = new HashSet<Long>();
+        generated
+                .stream()
+                .filter(car -> !inserted.contains(car.getId()))
+                .forEach(car -> {
+                    car.setId(em
+                            .createQuery("select c.id from CarEntity c where c.brand = :brand and c.model = :model", Long.class)
+                            .setParameter("brand", car.getBrand())
+                            .setParameter("model", car.getModel())
+                            .getSingleResult());
+                    resolved.add(car.getId());
+                });
+        return resolved;
+    }
+
+    /**
+     * Streams all cars matching the given specification, ordered by ID.
+     * <p>
+     * The query is executed with a JDBC fetch size, so only one fetch of rows is held by the driver at a time,
+     * and the entities are loaded as read-only, so no snapshots are kept for dirty checking.
+     * The components are fetched in the same query, because the streamed cars are detached one by one
+     * and could not be batch fetched.
+     * </p>
+     *
+     * @param specification the specification used for filtering the cars
+     * @return a {@link Stream} of {@link CarEntity} objects that must be closed after use
+     */
+    @Override
+    public Stream<CarEntity> streamAll(Specification<CarEntity> specification) {
+        return em.createQuery(createFilterQuery(specification))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(CarEntity.COMPONENTS_GRAPH))
+                .getResultStream();
+    }
+
+    /**
+     * Finds the cars that are closest in price to the provided price.
+     *
+     * @param price the price to compare the cars to
+     * @return a list of {@link CarEntity} objects with the price closest to the given price
+     */
+    @Override
+    public List<CarEntity> findCarsCloseToPrice(BigDecimal price) {
+        return findCarsCloseToPrice(price, 1);
+    }
+
+    /**
+     * Finds the {@code k} cars that are closest in price to the provided price.
+     * <p>
+     * The method seeks at most {@code k} prices below or equal to the given price and at most {@code k}
+     * prices above it. Both seeks read only the first rows of the price index. The {@code k}-th smallest
+     * distance among them is the distance of the {@code k}-th closest car. All cars in the price range
+     * within that distance are then read with a single range query, which also returns the ties.
+     * </p>
+     *
+     * @param price the price to compare the cars to
+     * @param k     the number of closest cars to find
+     * @return a list of {@link CarEntity} objects ordered by price
+     */
+    @Override
+    public List<CarEntity> findCarsCloseToPrice(BigDecimal price, int k) {
+        var distances = new ArrayList<BigDecimal>();
+        findNeighbourPrices(price, k, true).forEach(lower -> distances.add(price.subtract(lower)));
+        findNeighbourPrices(price, k, false).forEach(upper -> distances.add(upper.subtract(price)));
+
+        if (distances.isEmpty()) {
+            return List.of();
+        }
+
+        distances.sort(null);
+        var distance = distances.get(Math.min(k, distances.size()) - 1);
+
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(CarEntity.class);
+        var root = query.from(CarEntity.class);
+
+        query.where(cb.between(root.get("price"), price.subtract(distance), price.add(distance)));
+        query.orderBy(cb.asc(root.get("price")), cb.asc(root.get("id")));
+
+        return em.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(CarEntity.COMPONENTS_GRAPH))
+                .getResultList();
+    }
+
+    /**
+     * Seeks the prices of the cars nearest to the given price on one side of it.
+     *
+     * @param price the price to seek from
+     * @param limit the maximum number of prices to read
+     * @param below {@code true} to read the prices below or equal to the given price,
+     *              {@code false} to read the prices above it
+     * @return the prices ordered by their distance to the given price
+     */
+    private List<BigDecimal> findNeighbourPrices(BigDecimal price, int limit, boolean below) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(BigDecimal.class);
+        var root = query.from(CarEntity.class);
+        var path = root.<BigDecimal>get("price");
+
+        query.select(path);
+        query.where(below ? cb.lessThanOrEqualTo(path, price) : cb.greaterThan(path, price));
+        query.orderBy(below ? cb.desc(path) : cb.asc(path));
+
+        return em.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Creates a query selecting the cars matching the given specification, ordered by ID.
+     *
+     * @param specification the specification used for filtering the cars
+     * @return the criteria query selecting the matching cars
+     */
+    private CriteriaQuery<CarEntity> createFilterQuery(Specification<CarEntity> specification) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(CarEntity.class);
+        var root = query.from(CarEntity.class);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return query;
+    }
 }
@@ -4,10 +4,20 @@ import com.app.persistence.CarSpecification;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.entity.ComponentEntity;
 import com.app.persistence.view.CarCriterionFilteringView;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Implementation of the {@link CarSpecification} interface that provides dynamic filters for car entities.
  * <p>
@@ -25,6 +35,12 @@ public class CarSpecificationImpl implements CarSpecification {
      * {@link CarCriterionFilteringView}. The filters include brand, model, color, price range, speed range, and associated
      * components.
      * </p>
+     * <p>
+     * The components are joined only when they are filtered, inside an {@code EXISTS} subquery, so cars without
+     * components are kept by the other filters and a car having several of the components is matched once.
+     * When all the components are required, the cars are selected by a subquery grouping the matching components
+     * by car and keeping the cars having as many distinct components as requested.
+     * </p>
      *
      * @param criterionFilteringView the filtering criteria to apply to the query
      * @return a {@link Specification} for filtering {@link CarEntity} objects
@@ -35,9 +51,6 @@ public class CarSpecificationImpl implements CarSpecification {
             // Create conjunction to hold all conditions
             var p = cb.conjunction();
 
-            // Join components for filtering by component name
-            Join<CarEntity, ComponentEntity> comp = root.join("components");
-
             // Add brand filter if provided
             if (criterionFilteringView.brand() != null && !criterionFilteringView.brand().isEmpty()) {
                 p = cb.and(
@@ -94,15 +107,95 @@ public class CarSpecificationImpl implements CarSpecification {
                 );
             }
 
-            // Add components filter if provided
+            // Add components filter if provided, as a semi-join so each car is returned once
             if (criterionFilteringView.components() != null && !criterionFilteringView.components().isEmpty()) {
                 p = cb.and(
                         p,
-                        comp.get("name").in(criterionFilteringView.components())
+                        criterionFilteringView.matchAll()
+                                ? root.get("id").in(carsWithAllComponents(query, cb, criterionFilteringView.components()))
+                                : cb.exists(hasAnyComponent(root, query, criterionFilteringView.components()))
                 );
             }
 
             return p;
         });
     }
+
+    /**
+     * Creates a subquery selecting the components of the given car that have one of the given names.
+     *
+     * @param root  the car to correlate the subquery with
+     * @param query the query containing the subquery
+     * @param names the names of the components
+     * @return the subquery, which returns a row if the car has at least one of the components
+     */
+    private Subquery<Long> hasAnyComponent(Root<CarEntity> root, CriteriaQuery<?> query, Collection<String> names) {
+        var subquery = query.subquery(Long.class);
+        Join<CarEntity, ComponentEntity> comp = subquery.correlate(root).join("components");
+
+        return subquery
+                .select(comp.get("id"))
+                .where(comp.get("name").in(names));
+    }
+
+    /**
+     * Creates a subquery selecting the IDs of the cars having all the components with the given names.
+     * <p>
+     * The names are compared by the case-insensitive collation of the database, so the names differing only
+     * by case are counted once, as by the {@code countDistinct} of the subquery.
+     * </p>
+     *
+     * @param query the query containing the subquery
+     * @param cb    the criteria builder
+     * @param names the names of the components
+     * @return the subquery, which returns the IDs of the cars having every one of the components
+     */
+    private Subquery<Long> carsWithAllComponents(CriteriaQuery<?> query, CriteriaBuilder cb, Collection<String> names) {
+        var distinctNames = new HashMap<String, String>();
+        names.forEach(name -> distinctNames.putIfAbsent(name.toLowerCase(Locale.ROOT), name));
+        var subquery = query.subquery(Long.class);
+        var comp = subquery.from(ComponentEntity.class);
+        Join<ComponentEntity, CarEntity> car = comp.join("cars");
+
+        return subquery
+                .select(car.get("id"))
+                .where(comp.get("name").in(distinctNames.values()))
+                .groupBy(car.get("id"))
+                .having(cb.equal(cb.countDistinct(comp.get("name")), (long) distinctNames.size()));
+    }
+
+    /**
+     * Creates a specification restricting cars to the given IDs.
+     * <p>
+     * An empty collection of IDs matches no cars.
+     * </p>
+     *
+     * @param ids the IDs of the cars to keep
+     * @return a {@link Specification} matching only the cars with the given IDs
+     */
+    @Override
+    public Specification<CarEntity> idIn(Collection<Long> ids) {
+        return ((root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+    }
+
+    /**
+     * Creates a specification restricting cars to the given brand and model pairs.
+     * <p>
+     * The pairs are grouped by brand, so the query holds one {@code brand = ? and model in (...)} term per brand,
+     * each using the unique index on the brand and model columns. An empty map matches no cars.
+     * </p>
+     *
+     * @param modelsByBrand the models to keep, keyed by their brand
+     * @return a {@link Specification} matching only the cars with one of the given brand and model pairs
+     */
+    @Override
+    public Specification<CarEntity> brandAndModelIn(Map<String, ? extends Collection<String>> modelsByBrand) {
+        return ((root, query, cb) -> cb.or(modelsByBrand
+                .entrySet()
+                .stream()
+                .map(models -> cb.and(
+                        cb.equal(root.get("brand"), models.getKey()),
+                        root.get("model").in(models.getValue())))
+                .toArray(Predicate[]::new)));
+    }
 }
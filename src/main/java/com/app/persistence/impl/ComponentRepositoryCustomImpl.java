@@ -0,0 +1,57 @@
+package com.app.persistence.impl;
+
+import com.app.persistence.ComponentRepositoryCustom;
+import com.app.persistence.entity.ComponentEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Custom implementation of the {@link ComponentRepositoryCustom} interface.
+ * <p>
+ * This class loads the {@link ComponentEntity} instances by ID and by natural ID through the Hibernate session,
+ * so the persistence context and the second-level cache are checked before the database is queried.
+ * </p>
+ */
+@Repository
+public class ComponentRepositoryCustomImpl implements ComponentRepositoryCustom {
+
+    /**
+     * The {@link EntityManager} instance used to interact with the database.
+     */
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ComponentEntity> findAllByIdCached(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return em
+                .unwrap(Session.class)
+                .byMultipleIds(ComponentEntity.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .multiLoad(ids.stream().distinct().toList())
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<ComponentEntity> findByNameCached(String name) {
+        return em
+                .unwrap(Session.class)
+                .bySimpleNaturalId(ComponentEntity.class)
+                .loadOptional(name);
+    }
+}
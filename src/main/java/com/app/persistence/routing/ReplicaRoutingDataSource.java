@@ -0,0 +1,159 @@
+package com.app.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code ReplicaRoutingDataSource} spreads connections over the read replicas that are not lagging behind.
+ * <p>
+ * The replication lag of each replica is read periodically with the configured status query. A replica
+ * serves connections while its lag is within the maximum lag. Replicas that lag behind, do not replicate
+ * or cannot be reached are skipped until a later check finds them up to date again. The connections go
+ * to the up-to-date replicas in turn, and to the primary database when no replica is up to date.
+ * </p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    /**
+     * The lookup key of the primary data source.
+     */
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> available = List.of();
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary   the primary data source, used when no replica is up to date.
+     * @param replicas  the replica data sources, keyed by their names.
+     * @param maxLag    the maximum replication lag of a replica still serving connections.
+     * @param lagQuery  the query run on a replica to read its replication status.
+     * @param lagColumn the column of the status row holding the replication lag in seconds.
+     */
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Duration maxLag,
+            String lagQuery,
+            String lagColumn) {
+        this.replicas = Map.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Resolves the data sources and checks the lag of the replicas before the first connection.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    /**
+     * Returns the names of the replicas currently serving connections.
+     *
+     * @return the names of the up-to-date replicas.
+     */
+    public List<String> getAvailableReplicas() {
+        return available;
+    }
+
+    /**
+     * Reads the replication lag of every replica and keeps the replicas whose lag is within the maximum lag.
+     * <p>
+     * The check runs periodically, with the delay configured by {@code app.datasource.lag-check-interval}.
+     * </p>
+     */
+    @Scheduled(
+            fixedDelayString = "${app.datasource.lag-check-interval:PT5S}",
+            initialDelayString = "${app.datasource.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        var upToDate = new ArrayList<String>();
+
+        replicas.forEach((name, dataSource) -> {
+            var lag = readLag(name, dataSource);
+            if (lag.isPresent() && lag.get().compareTo(maxLag) <= 0) {
+                upToDate.add(name);
+            } else if (available.contains(name)) {
+                log.warn("Replica {} stops serving reads, its lag is {}", name, lag.map(Duration::toString).orElse("unknown"));
+            }
+        });
+
+        upToDate.sort(null);
+        available = List.copyOf(upToDate);
+    }
+
+    /**
+     * Closes the connection pools of the replicas.
+     *
+     * @throws Exception if a pool cannot be closed.
+     */
+    @Override
+    public void close() throws Exception {
+        for (var dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Selects the next up-to-date replica, or the primary data source if there is none.
+     *
+     * @return the lookup key of the selected data source.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var current = available;
+        if (current.isEmpty()) {
+            return PRIMARY;
+        }
+
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    /**
+     * Reads the replication lag of the given replica.
+     *
+     * @return the lag, or an empty {@link Optional} if the replica does not replicate or cannot be reached.
+     */
+    private Optional<Duration> readLag(String name, DataSource dataSource) {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(lagQuery)) {
+
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+
+            var seconds = resultSet.getObject(lagColumn);
+            return seconds instanceof Number number
+                    ? Optional.of(Duration.ofSeconds(number.longValue()))
+                    : Optional.empty();
+        } catch (SQLException e) {
+            log.warn("Replication lag of replica {} cannot be read: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
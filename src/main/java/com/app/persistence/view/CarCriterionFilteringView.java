@@ -20,7 +20,8 @@ public record CarCriterionFilteringView(
         BigDecimal minPrice,
         BigDecimal maxPrice,
         Color color,
-        List<String> components) {
+        List<String> components,
+        boolean matchAll) {
 
     /**
      * Constructs a new {@link CarCriterionFilteringView} with the provided filtering parameters.
@@ -33,5 +34,33 @@ public record CarCriterionFilteringView(
      * @param maxPrice      the maximum price of the car to filter (can be null to ignore this filter)
      * @param color         the color of the car to filter (can be null to ignore this filter)
      * @param components    a list of components that the car should have (can be null or empty to ignore this filter)
+     * @param matchAll      whether the car should have all the components instead of any of them
      */
+
+    /**
+     * Constructs a new {@link CarCriterionFilteringView} matching the cars having any of the components.
+     *
+     * @param brand         the brand of the car to filter (can be null to ignore this filter)
+     * @param model         the model of the car to filter (can be null to ignore this filter)
+     * @param minSpeed      the minimum speed of the car to filter (can be null to ignore this filter)
+     * @param maxSpeed      the maximum speed of the car to filter (can be null to ignore this filter)
+     * @param minPrice      the minimum price of the car to filter (can be null to ignore this filter)
+     * @param maxPrice      the maximum price of the car to filter (can be null to ignore this filter)
+     * @param color         the color of the car to filter (can be null to ignore this filter)
+     * @param components    a list of components that the car should have any of (can be null or empty to ignore this filter)
+     */
+    public CarCriterionFilteringView(String brand, String model, Integer minSpeed, Integer maxSpeed,
+                                     BigDecimal minPrice, BigDecimal maxPrice, Color color, List<String> components) {
+        this(brand, model, minSpeed, maxSpeed, minPrice, maxPrice, color, components, false);
+    }
+
+    /**
+     * Returns the same criteria without the components filter, used when the cars having the components
+     * are already known, so the database does not match the components again.
+     *
+     * @return a {@link CarCriterionFilteringView} with the same criteria except the components
+     */
+    public CarCriterionFilteringView withoutComponents() {
+        return new CarCriterionFilteringView(brand, model, minSpeed, maxSpeed, minPrice, maxPrice, color, null);
+    }
 }
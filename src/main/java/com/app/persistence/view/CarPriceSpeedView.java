@@ -0,0 +1,17 @@
+package com.app.persistence.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A record representing the price and the speed of a single car.
+ * <p>
+ * This view is used to load the values the price and speed statistics are computed from,
+ * without loading the whole car entities.
+ * </p>
+ */
+public record CarPriceSpeedView(
+        Long id,            // The ID of the car.
+        BigDecimal price,   // The price of the car.
+        int speed           // The speed of the car.
+) {
+}
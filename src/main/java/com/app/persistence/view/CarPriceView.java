@@ -0,0 +1,15 @@
+package com.app.persistence.view;
+
+import java.math.BigDecimal;
+
+/**
+ * A record representing the price of a single car.
+ * <p>
+ * This view is used to load the prices of all cars without loading the whole car entities.
+ * </p>
+ */
+public record CarPriceView(
+        Long id,            // The ID of the car.
+        BigDecimal price    // The price of the car.
+) {
+}
@@ -0,0 +1,22 @@
+package com.app.persistence.view;
+
+import com.app.color.Color;
+
+import java.math.BigDecimal;
+
+/**
+ * A record representing the columns of a single row of the {@code cars} table.
+ * <p>
+ * This view is used to load the columnar in-memory copy of the cars, without loading the car entities
+ * or their components.
+ * </p>
+ */
+public record CarRowView(
+        Long id,            // The ID of the car.
+        String brand,       // The brand of the car.
+        String model,       // The model of the car.
+        BigDecimal price,   // The price of the car.
+        int speed,          // The speed of the car.
+        Color color         // The color of the car.
+) {
+}
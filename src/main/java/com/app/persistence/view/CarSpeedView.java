@@ -0,0 +1,13 @@
+package com.app.persistence.view;
+
+/**
+ * A record representing the speed of a single car.
+ * <p>
+ * This view is used to load the speeds of all cars without loading the whole car entities.
+ * </p>
+ */
+public record CarSpeedView(
+        Long id,    // The ID of the car.
+        int speed   // The speed of the car.
+) {
+}
@@ -0,0 +1,34 @@
+package com.app.persistence.view;
+
+import com.app.color.Color;
+import com.app.controller.dto.car.CarDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A record representing a car together with the names of its components.
+ * <p>
+ * This view is built directly from the rows of a projection query, so reading cars for a response
+ * does not load managed car entities into the persistence context.
+ * </p>
+ */
+public record CarView(
+        Long id,                    // The ID of the car.
+        String brand,               // The brand of the car.
+        String model,               // The model of the car.
+        int speed,                  // The speed of the car.
+        BigDecimal price,           // The price of the car.
+        Color color,                // The color of the car.
+        List<String> components     // The names of the components of the car.
+) {
+
+    /**
+     * Converts the current view to a {@link CarDto} object.
+     *
+     * @return a DTO object containing the car data.
+     */
+    public CarDto toCarDto() {
+        return new CarDto(id, brand, model, speed, price, color, List.copyOf(components));
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.persistence.view;
+
+/**
+ * A record representing a single association between a component and a car.
+ * <p>
+ * This view is used to load the rows of the join table without loading the associated entities.
+ * </p>
+ */
+public record ComponentCarView(
+        Long componentId,   // The ID of the component.
+        Long carId          // The ID of the car having the component.
+) {
+}
@@ -0,0 +1,26 @@
+package com.app.service;
+
+import com.app.controller.dto.car.CarImportReportDto;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+/**
+ * Interface CarImportService defines the import of large numbers of cars.
+ * <p>
+ * The cars are read from the input as a stream and saved in chunks, each in its own transaction,
+ * so the memory used by an import is bounded by the chunk size and a rejected row or a failed chunk
+ * does not undo the cars already imported.
+ * </p>
+ */
+public interface CarImportService {
+
+    /**
+     * Imports the cars read from the given input.
+     *
+     * @param input     the input holding one car per line.
+     * @param mediaType the format of the input, either newline-delimited JSON or CSV.
+     * @return the report of the imported cars and of the rejected rows.
+     */
+    CarImportReportDto importCars(InputStream input, MediaType mediaType);
+}
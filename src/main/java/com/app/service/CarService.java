@@ -1,11 +1,14 @@
 package com.app.service;
 
+import com.app.controller.dto.CursorPageDto;
+import com.app.controller.dto.SliceDto;
 import com.app.controller.dto.car.*;
 import com.app.controller.dto.components.ComponentsWithCarsDto;
 import com.app.persistence.entity.CarEntity;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface CarService defines the operations for managing car entities.
@@ -36,6 +39,30 @@ public interface CarService extends CrudService<CarEntity, Long> {
      */
     List<Long> saveAll(List<CreateCarDto> cars);
 
+    /**
+     * Saves a list of cars, updating the stored cars with the same brand and model instead of failing on them.
+     *
+     * @param cars the list of data transfer objects representing cars.
+     * @return the outcome of each car, in the order of the list.
+     */
+    List<CarUpsertResultDto> upsertAll(List<CreateCarDto> cars);
+
+    /**
+     * Retrieves the car with the given ID.
+     *
+     * @param id the ID of the car.
+     * @return the car DTO.
+     */
+    CarDto findCarById(Long id);
+
+    /**
+     * Retrieves the cars with the given IDs, in the order of the IDs.
+     *
+     * @param ids the IDs of the cars.
+     * @return a list of car DTOs.
+     */
+    List<CarDto> findCarsById(List<Long> ids);
+
     /**
      * Retrieves a list of cars sorted by the specified parameters and direction.
      *
@@ -45,6 +72,18 @@ public interface CarService extends CrudService<CarEntity, Long> {
      */
     List<CarDto> sortedCarsBy(List<String> parameters, String direction);
 
+    /**
+     * Retrieves one page of cars sorted by the specified parameters and direction.
+     * The page starts after the position encoded in the given cursor.
+     *
+     * @param parameters the list of parameters by which to sort the cars.
+     * @param direction the direction of sorting ('asc' for ascending, 'desc' for descending).
+     * @param cursor the opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of cars in the page.
+     * @return a page of sorted car DTOs with the cursor of the next page.
+     */
+    CursorPageDto<CarDto> sortedCarsPageBy(List<String> parameters, String direction, String cursor, int limit);
+
     /**
      * Retrieves a list of cars within the specified speed interval.
      *
@@ -54,6 +93,15 @@ public interface CarService extends CrudService<CarEntity, Long> {
      */
     List<CarDto> getCarsWithSpeedInterval(int minSpeed, int maxSpeed);
 
+    /**
+     * Counts the cars within the specified speed interval.
+     *
+     * @param minSpeed the minimum speed of the cars to count.
+     * @param maxSpeed the maximum speed of the cars to count.
+     * @return the number of cars within the specified speed range.
+     */
+    long countCarsWithSpeedInterval(int minSpeed, int maxSpeed);
+
     /**
      * Groups cars by a specific field and returns the number of cars in each group.
      *
@@ -101,6 +149,16 @@ public interface CarService extends CrudService<CarEntity, Long> {
      */
     List<CarDto> getCarsCloseToPrice(BigDecimal price);
 
+    /**
+     * Retrieves a list of the {@code k} cars whose prices are closest to the specified price.
+     * Cars at the same distance as the {@code k}-th closest car are included as well.
+     *
+     * @param price the price to compare with.
+     * @param k     the number of closest cars to retrieve.
+     * @return a list of car DTOs whose prices are closest to the specified price, ordered by price.
+     */
+    List<CarDto> getCarsCloseToPrice(BigDecimal price, int k);
+
     /**
      * Retrieves a list of cars filtered by the provided criteria.
      *
@@ -108,4 +166,30 @@ public interface CarService extends CrudService<CarEntity, Long> {
      * @return a list of filtered car DTOs.
      */
     List<CarDto> getCarsFilterBy(CarCriterionDto carCriterionDto);
+
+    /**
+     * Retrieves one page of cars filtered by the provided criteria, ordered by ID.
+     *
+     * @param carCriterionDto the criteria used for filtering the cars.
+     * @param page the zero-based index of the page.
+     * @param limit the maximum number of cars in the page.
+     * @return a page of filtered car DTOs.
+     */
+    SliceDto<CarDto> getCarsFilterBy(CarCriterionDto carCriterionDto, int page, int limit);
+
+    /**
+     * Passes every car matching the provided criteria to the given consumer, ordered by ID,
+     * as the rows are read from the database.
+     *
+     * @param carCriterionDto the criteria used for filtering the cars.
+     * @param consumer the consumer receiving each filtered car DTO.
+     */
+    void streamCarsFilterBy(CarCriterionDto carCriterionDto, Consumer<CarDto> consumer);
+
+    /**
+     * Passes every car to the given consumer, ordered by ID, as the rows are read from the database.
+     *
+     * @param consumer the consumer receiving each car DTO.
+     */
+    void exportCars(Consumer<CarDto> consumer);
 }
@@ -1,5 +1,6 @@
 package com.app.service;
 
+import com.app.controller.dto.car.GroupByDto;
 import com.app.controller.dto.components.CreateComponentDto;
 import com.app.persistence.entity.ComponentEntity;
 
@@ -31,4 +32,11 @@ public interface ComponentService extends CrudService<ComponentEntity, Long> {
      * @return a list of IDs of the newly saved components.
      */
     List<Long> saveAll(List<CreateComponentDto> createComponentDtos);
+
+    /**
+     * Counts the cars having each component.
+     *
+     * @return a list of DTOs containing the component names and their numbers of cars, ordered by the name.
+     */
+    List<GroupByDto<Object>> countCarsByComponent();
 }
@@ -0,0 +1,10 @@
+package com.app.service.event;
+
+/**
+ * An event published when the {@code CarColumnStore} has applied committed changes of the cars or the components.
+ * <p>
+ * It is published by the thread applying the changes, once the lookups of the store answer with them.
+ * </p>
+ */
+public record CarColumnsUpdatedEvent() {
+}
@@ -0,0 +1,14 @@
+package com.app.service.event;
+
+import java.util.List;
+
+/**
+ * An event published when cars have been deleted.
+ * <p>
+ * Listeners interested in committed data should handle it after the commit of the deleting transaction.
+ * </p>
+ */
+public record CarsDeletedEvent(
+        List<Long> ids // The IDs of the deleted cars.
+) {
+}
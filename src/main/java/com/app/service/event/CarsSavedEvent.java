@@ -0,0 +1,16 @@
+package com.app.service.event;
+
+import com.app.persistence.entity.CarEntity;
+
+import java.util.List;
+
+/**
+ * An event published when cars have been saved.
+ * <p>
+ * Listeners interested in committed data should handle it after the commit of the saving transaction.
+ * </p>
+ */
+public record CarsSavedEvent(
+        List<CarEntity> cars // The saved cars, with their generated IDs.
+) {
+}
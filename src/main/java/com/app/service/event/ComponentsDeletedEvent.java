@@ -0,0 +1,14 @@
+package com.app.service.event;
+
+import java.util.List;
+
+/**
+ * An event published when components have been deleted.
+ * <p>
+ * Listeners interested in committed data should handle it after the commit of the deleting transaction.
+ * </p>
+ */
+public record ComponentsDeletedEvent(
+        List<Long> ids // The IDs of the deleted components.
+) {
+}
@@ -0,0 +1,16 @@
+package com.app.service.event;
+
+import com.app.persistence.entity.ComponentEntity;
+
+import java.util.List;
+
+/**
+ * An event published when components have been saved.
+ * <p>
+ * Listeners interested in committed data should handle it after the commit of the saving transaction.
+ * </p>
+ */
+public record ComponentsSavedEvent(
+        List<ComponentEntity> components // The saved components, with their generated IDs.
+) {
+}
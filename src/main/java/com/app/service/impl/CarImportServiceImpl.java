@@ -0,0 +1,305 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.car.CarImportChunkDto;
+import com.app.controller.dto.car.CarImportErrorDto;
+import com.app.controller.dto.car.CarImportReportDto;
+import com.app.controller.dto.car.CreateCarDto;
+import com.app.persistence.CarRepository;
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.impl.CarSpecificationImpl;
+import com.app.service.CarImportService;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.impl.reader.CarRecord;
+import com.app.service.impl.reader.CarRecordReader;
+import com.app.service.impl.reader.CsvCarRecordReader;
+import com.app.service.impl.reader.NdjsonCarRecordReader;
+import com.app.validate.ValidationEngine;
+import com.app.validate.Validator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The CarImportServiceImpl class implements the CarImportService interface.
+ * <p>
+ * The input is read one row at a time and the rows are grouped into chunks of {@code import.chunk-size} rows.
+ * The rows of a chunk are validated in one pass by the {@link ValidationEngine}, the components
+ * of the whole chunk are read with a single query, and the valid cars are saved in a new transaction
+ * committed before the next chunk is read. Rejected rows are reported with their line numbers
+ * instead of failing the import. A row repeating the brand and model of an earlier row or of a stored car
+ * is rejected before the chunk is saved, and if the chunk still cannot be saved, its rows are saved one by one,
+ * so only the failing rows are rejected.
+ * </p>
+ * <p>
+ * The persistence context is flushed and cleared at the end of each chunk, so the memory used does not depend
+ * on the size of the input, even when the chunk transactions share the entity manager of the request
+ * (open session in view).
+ * </p>
+ */
+@Slf4j
+@Service
+public class CarImportServiceImpl implements CarImportService {
+
+    /**
+     * The media type of CSV input.
+     */
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final CarRepository carRepository;
+    private final ComponentRepository componentRepository;
+    private final CarSpecificationImpl carSpecificationImpl;
+    private final Validator<CreateCarDto> validator;
+    private final ValidationEngine validationEngine;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * Constructor for CarImportServiceImpl.
+     *
+     * @param carRepository        the repository for car entities.
+     * @param componentRepository  the repository for component entities.
+     * @param carSpecificationImpl the specification used to find the stored cars with the imported brands and models.
+     * @param validator            the validator for CreateCarDto objects.
+     * @param validationEngine     the engine validating the rows of each chunk in one pass.
+     * @param objectMapper         the mapper used to parse newline-delimited JSON.
+     * @param eventPublisher       the publisher of the car change events.
+     * @param entityManager        the entity manager cleared after each chunk.
+     * @param transactionManager   the transaction manager used to commit each chunk.
+     * @param chunkSize            the number of rows saved in each transaction.
+     */
+    public CarImportServiceImpl(
+            CarRepository carRepository,
+            ComponentRepository componentRepository,
+            CarSpecificationImpl carSpecificationImpl,
+            Validator<CreateCarDto> validator,
+            ValidationEngine validationEngine,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${import.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be positive.");
+        }
+
+        this.carRepository = carRepository;
+        this.componentRepository = componentRepository;
+        this.carSpecificationImpl = carSpecificationImpl;
+        this.validator = validator;
+        this.validationEngine = validationEngine;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the cars read from the given input, committing them chunk by chunk.
+     *
+     * @param input     the input holding one car per line.
+     * @param mediaType the format of the input, either newline-delimited JSON or CSV.
+     * @return the report of the imported cars and of the rejected rows.
+     * @throws IllegalArgumentException if the format is not supported or the CSV header is invalid.
+     * @throws UncheckedIOException     if the input cannot be read.
+     */
+    @Override
+    public CarImportReportDto importCars(InputStream input, MediaType mediaType) {
+        var chunks = new ArrayList<CarImportChunkDto>();
+        var errors = new ArrayList<CarImportErrorDto>();
+        var records = new ArrayList<CarRecord>(chunkSize);
+
+        try (var reader = createReader(input, mediaType)) {
+            Optional<CarRecord> record;
+            while ((record = reader.read()).isPresent()) {
+                records.add(record.get());
+
+                if (records.size() == chunkSize) {
+                    chunks.add(importChunk(chunks.size() + 1, records, errors));
+                    records.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!records.isEmpty()) {
+            chunks.add(importChunk(chunks.size() + 1, records, errors));
+        }
+
+        var imported = chunks.stream().mapToLong(CarImportChunkDto::imported).sum();
+        var failed = chunks.stream().mapToLong(CarImportChunkDto::failed).sum();
+        return new CarImportReportDto(imported, failed, chunks, errors);
+    }
+
+    private CarRecordReader createReader(InputStream input, MediaType mediaType) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            return new NdjsonCarRecordReader(objectMapper, input);
+        }
+
+        if (TEXT_CSV.isCompatibleWith(mediaType)) {
+            return new CsvCarRecordReader(input);
+        }
+
+        throw new IllegalArgumentException("Unsupported import format: " + mediaType + ".");
+    }
+
+    /**
+     * Validates the rows of one chunk and saves the valid cars in a new transaction.
+     * If the transaction fails, the rows that reached it are saved one by one, each in a new transaction.
+     */
+    private CarImportChunkDto importChunk(int number, List<CarRecord> records, List<CarImportErrorDto> errors) {
+        var chunkErrors = new ArrayList<CarImportErrorDto>();
+        var parsed = new ArrayList<CarRecord>(records.size());
+        records.forEach(record -> {
+            if (record.isParsed()) {
+                parsed.add(record);
+            } else {
+                chunkErrors.add(new CarImportErrorDto(record.line(), record.error()));
+            }
+        });
+
+        var invalidRows = new HashSet<Integer>();
+        validationEngine
+                .check(parsed.stream().map(CarRecord::car).toList(), validator)
+                .forEach(violation -> {
+                    invalidRows.add(violation.row());
+                    chunkErrors.add(new CarImportErrorDto(parsed.get(violation.row()).line(), violation.message()));
+                });
+
+        var valid = new ArrayList<CarRecord>(parsed.size());
+        for (int row = 0; row < parsed.size(); row++) {
+            if (!invalidRows.contains(row)) {
+                valid.add(parsed.get(row));
+            }
+        }
+
+        var imported = 0;
+        if (!valid.isEmpty()) {
+            var saveErrors = new ArrayList<CarImportErrorDto>();
+            try {
+                imported = Objects.requireNonNull(transactionTemplate.execute(status -> saveChunk(valid, saveErrors)));
+                chunkErrors.addAll(saveErrors);
+            } catch (RuntimeException e) {
+                log.warn("Import chunk {} failed, saving its rows one by one", number, e);
+                imported = saveRows(valid, chunkErrors);
+            }
+        }
+
+        chunkErrors.sort(Comparator.comparingLong(CarImportErrorDto::line));
+        errors.addAll(chunkErrors);
+
+        var chunk = new CarImportChunkDto(
+                number,
+                records.getFirst().line(),
+                records.getLast().line(),
+                imported,
+                records.size() - imported);
+        log.info("Imported chunk {} (lines {}-{}): {} cars imported, {} rows rejected",
+                chunk.chunk(), chunk.firstLine(), chunk.lastLine(), chunk.imported(), chunk.failed());
+
+        return chunk;
+    }
+
+    /**
+     * Saves the car of each given row in its own transaction, reporting the rows that cannot be saved.
+     * The cause of a failure is logged only, so no SQL reaches the report.
+     */
+    private int saveRows(List<CarRecord> records, List<CarImportErrorDto> errors) {
+        var imported = 0;
+        for (var record : records) {
+            var rowErrors = new ArrayList<CarImportErrorDto>();
+            try {
+                imported += Objects.requireNonNull(transactionTemplate.execute(status -> saveChunk(List.of(record), rowErrors)));
+                errors.addAll(rowErrors);
+            } catch (RuntimeException e) {
+                log.warn("Import of line {} failed", record.line(), e);
+                errors.add(new CarImportErrorDto(record.line(), "The car could not be saved."));
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Saves the cars of the given rows whose components all exist and whose brand and model are neither
+     * stored nor repeated by an earlier row, reporting the other rows as rejected.
+     * The saved cars are flushed and detached, together with the components read for them.
+     */
+    private int saveChunk(List<CarRecord> records, List<CarImportErrorDto> errors) {
+        var componentsIds = records
+                .stream()
+                .map(CarRecord::car)
+                .map(CreateCarDto::components)
+                .flatMap(Collection::stream)
+                .distinct()
+                .toList();
+
+        var components = componentRepository
+                .findAllByIdCached(componentsIds)
+                .stream()
+                .collect(Collectors.toMap(ComponentEntity::getId, Function.identity()));
+
+        var modelsByBrand = new HashMap<String, Set<String>>();
+        records.forEach(record -> modelsByBrand
+                .computeIfAbsent(record.car().brand(), brand -> new HashSet<>())
+                .add(record.car().model()));
+
+        var cars = carRepository
+                .findCarViews(carSpecificationImpl.brandAndModelIn(modelsByBrand), Sort.unsorted())
+                .stream()
+                .map(view -> List.of(view.brand(), view.model()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        var carsToSave = new ArrayList<CarEntity>(records.size());
+        for (var record : records) {
+            if (!components.keySet().containsAll(record.car().components())) {
+                errors.add(new CarImportErrorDto(record.line(), "Not all components were found"));
+                continue;
+            }
+
+            if (!cars.add(List.of(record.car().brand(), record.car().model()))) {
+                errors.add(new CarImportErrorDto(
+                        record.line(), "Duplicate car: " + record.car().brand() + " " + record.car().model() + "."));
+                continue;
+            }
+
+            carsToSave.add(record
+                    .car()
+                    .toCarEntity()
+                    .withComponents(record.car().components().stream().map(components::get).toList()));
+        }
+
+        if (carsToSave.isEmpty()) {
+            entityManager.clear();
+            return 0;
+        }
+
+        var savedCars = carRepository.saveAll(carsToSave);
+        eventPublisher.publishEvent(new CarsSavedEvent(savedCars));
+        entityManager.flush();
+        entityManager.clear();
+
+        return savedCars.size();
+    }
+}
@@ -1,24 +1,47 @@
 package com.app.service.impl;
 
+import com.app.controller.dto.CursorPageDto;
+import com.app.controller.dto.SliceDto;
 import com.app.controller.dto.car.*;
+import com.app.config.CacheConfig;
 import com.app.controller.dto.components.ComponentsWithCarsDto;
+import com.app.index.CarColumnStore;
+import com.app.index.ComponentIndex;
+import com.app.index.PriceIndex;
+import com.app.index.PriceSpeedStatisticIndex;
+import com.app.index.SpeedIndex;
 import com.app.persistence.*;
 import com.app.persistence.entity.ComponentEntity;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.impl.CarSpecificationImpl;
 import com.app.persistence.view.*;
 import com.app.service.CarService;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.impl.cursor.KeysetCursorCodec;
 import com.app.service.impl.generic.CrudServiceGeneric;
+import com.app.validate.ValidationEngine;
+import com.app.validate.ValidationException;
 import com.app.validate.Validator;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The CarServiceImpl class implements the CarService interface and provides
@@ -30,38 +53,95 @@ import java.util.stream.Collectors;
  * various advanced operations like grouping cars, getting statistics, and filtering
  * by different criteria such as speed, price, and components.
  * </p>
+ * <p>
+ * Price, speed and component lookups are answered by the in-memory {@link PriceIndex}, {@link SpeedIndex}
+ * and {@link ComponentIndex}, and the price and speed statistics by the {@link PriceSpeedStatisticIndex},
+ * when they are ready. The groupings by a field or by component are computed over the columnar
+ * {@link CarColumnStore} when it is ready. Saved and deleted cars are
+ * published as events, so the indexes can follow the changes once they are committed.
+ * </p>
+ * <p>
+ * Cars read for a response are projected straight into {@link CarView} objects, so no managed entities
+ * are created for data that is only serialized.
+ * </p>
+ * <p>
+ * Methods run in read-only transactions unless they save data, so reads skip the flush and the dirty checking.
+ * The components of saved cars are referenced without loading them when the {@link ComponentIndex} knows
+ * they exist, and are read from the second-level cache otherwise.
+ * </p>
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implements CarService {
 
+    /**
+     * The maximum number of cars returned in a single page.
+     */
+    private static final int MAX_PAGE_LIMIT = 1000;
+
     private final CarRepository carRepository;
     private final ComponentRepository componentRepository;
     private final CarSpecificationImpl carSpecificationImpl;
     private final Validator<CreateCarDto> validator;
     private final Validator<String> parametersValidator;
+    private final ValidationEngine validationEngine;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final EntityManager entityManager;
+    private final PriceIndex priceIndex;
+    private final SpeedIndex speedIndex;
+    private final PriceSpeedStatisticIndex priceSpeedStatisticIndex;
+    private final ComponentIndex componentIndex;
+    private final CarColumnStore carColumnStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for CarServiceImpl.
      *
-     * @param carRepository        the repository for car entities.
-     * @param componentRepository  the repository for component entities.
-     * @param carSpecificationImpl the specification implementation for car filtering.
-     * @param validator            the validator for CreateCarDto objects.
-     * @param parametersValidator  the validator for sorting parameters.
+     * @param carRepository            the repository for car entities.
+     * @param componentRepository      the repository for component entities.
+     * @param carSpecificationImpl     the specification implementation for car filtering.
+     * @param validator                the validator for CreateCarDto objects.
+     * @param parametersValidator      the validator for sorting parameters.
+     * @param validationEngine         the engine validating batches of CreateCarDto objects in one pass.
+     * @param keysetCursorCodec        the codec for keyset pagination cursors.
+     * @param entityManager            the entity manager used to detach streamed cars and to reference components.
+     * @param priceIndex               the in-memory index of car prices.
+     * @param speedIndex               the in-memory index of car speeds.
+     * @param priceSpeedStatisticIndex the in-memory price and speed statistics.
+     * @param componentIndex           the in-memory index of the cars of each component.
+     * @param carColumnStore           the columnar in-memory copy of the cars.
+     * @param eventPublisher           the publisher of the car change events.
      */
     public CarServiceImpl(
             CarRepository carRepository,
             ComponentRepository componentRepository,
             CarSpecificationImpl carSpecificationImpl,
             Validator<CreateCarDto> validator,
-            Validator<String> parametersValidator) {
+            Validator<String> parametersValidator,
+            ValidationEngine validationEngine,
+            KeysetCursorCodec keysetCursorCodec,
+            EntityManager entityManager,
+            PriceIndex priceIndex,
+            SpeedIndex speedIndex,
+            PriceSpeedStatisticIndex priceSpeedStatisticIndex,
+            ComponentIndex componentIndex,
+            CarColumnStore carColumnStore,
+            ApplicationEventPublisher eventPublisher) {
         super(carRepository);
         this.carRepository = carRepository;
         this.componentRepository = componentRepository;
         this.carSpecificationImpl = carSpecificationImpl;
         this.validator = validator;
         this.parametersValidator = parametersValidator;
+        this.validationEngine = validationEngine;
+        this.keysetCursorCodec = keysetCursorCodec;
+        this.entityManager = entityManager;
+        this.priceIndex = priceIndex;
+        this.speedIndex = speedIndex;
+        this.priceSpeedStatisticIndex = priceSpeedStatisticIndex;
+        this.componentIndex = componentIndex;
+        this.carColumnStore = carColumnStore;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -69,22 +149,26 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
      *
      * @param createCarDto the data transfer object containing car information.
      * @return the ID of the newly saved car.
-     * @throws EntityNotFoundException if any of the components in the DTO are not found.
+     * @throws EntityNotFoundException if any of the components in the DTO are not found, or were deleted
+     *                                 concurrently.
      */
     @Override
+    @Transactional
     public Long save(CreateCarDto createCarDto) {
         validator.validate(createCarDto);
-        var components = componentRepository.findAllById(createCarDto.components());
+        var components = findComponents(createCarDto.components());
 
         if (components.size() != createCarDto.components().size()) {
             throw new EntityNotFoundException("Not all components were found");
         }
 
-        return carRepository
-                .save(createCarDto
-                        .toCarEntity()
-                        .withComponents(components))
-                .getId();
+        var car = carRepository.save(createCarDto
+                .toCarEntity()
+                .withComponents(components));
+        flushSavedCars();
+        eventPublisher.publishEvent(new CarsSavedEvent(List.of(car)));
+
+        return car.getId();
     }
 
     /**
@@ -92,20 +176,23 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
      *
      * @param cars the list of data transfer objects representing cars.
      * @return a list of IDs of the newly saved cars.
-     * @throws EntityNotFoundException if any of the components in the DTOs are not found.
+     * @throws ValidationException     if any of the DTOs are invalid, holding the violations of all the DTOs.
+     * @throws EntityNotFoundException if any of the components in the DTOs are not found, or were deleted
+     *                                 concurrently.
      */
     @Override
+    @Transactional
     public List<Long> saveAll(List<CreateCarDto> cars) {
+        validationEngine.validate(cars, validator);
+
         var componentsIds = cars
                 .stream()
-                .peek(validator::validate)
                 .map(CreateCarDto::components)
                 .flatMap(Collection::stream)
                 .distinct()
                 .toList();
 
-        var components = componentRepository
-                .findAllById(componentsIds)
+        var components = findComponents(componentsIds)
                 .stream()
                 .collect(Collectors
                         .toMap(
@@ -128,54 +215,211 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
                 })
                 .toList();
 
-        return carRepository.saveAll(carsToSave)
+        var savedCars = carRepository.saveAll(carsToSave);
+        flushSavedCars();
+        eventPublisher.publishEvent(new CarsSavedEvent(savedCars));
+
+        return savedCars
                 .stream()
                 .map(CarEntity::getId)
                 .toList();
     }
 
     /**
-     * Returns a list of cars sorted by specified parameters and order direction.
+     * Saves a list of cars, merging them on their brand and model with the native upsert of the database.
+     * <p>
+     * The stored cars with the same brands and models are read with one projection query and compared
+     * with the given cars, so only the new and the changed cars are written, in batches. A car whose price,
+     * speed, color and component names all match the stored car is reported unchanged, and a new car
+     * stored concurrently by another transaction meanwhile is reported updated.
+     * </p>
      *
-     * @param parameters a list of parameters to sort the cars by.
-     * @param direction  the direction of sorting, either "asc" for ascending or "desc" for descending.
-     * @return a list of sorted car DTOs.
-     * @throws IllegalArgumentException if parameters or direction are invalid.
+     * @param cars the list of data transfer objects representing cars.
+     * @return the outcome of each car, in the order of the list.
+     * @throws ValidationException      if any of the DTOs are invalid, holding the violations of all the DTOs.
+     * @throws IllegalArgumentException if two cars have the same brand and model.
+     * @throws EntityNotFoundException  if any of the components in the DTOs are not found.
      */
     @Override
-    public List<CarDto> sortedCarsBy(List<String> parameters, String direction) {
-        // Validate input and prepare sorting logic
-        if (parameters == null) {
-            throw new IllegalArgumentException("Parameters cannot be null");
+    @Transactional
+    public List<CarUpsertResultDto> upsertAll(List<CreateCarDto> cars) {
+        validationEngine.validate(cars, validator);
+
+        var modelsByBrand = new HashMap<String, Set<String>>();
+        cars.forEach(createCarDto -> {
+            if (!modelsByBrand.computeIfAbsent(createCarDto.brand(), brand -> new HashSet<>()).add(createCarDto.model())) {
+                throw new IllegalArgumentException(
+                        "Duplicate car: " + createCarDto.brand() + " " + createCarDto.model() + ".");
+            }
+        });
+
+        var componentsIds = cars
+                .stream()
+                .map(CreateCarDto::components)
+                .flatMap(Collection::stream)
+                .distinct()
+                .toList();
+
+        var components = componentRepository
+                .findAllByIdCached(componentsIds)
+                .stream()
+                .collect(Collectors
+                        .toMap(
+                                ComponentEntity::getId,
+                                Function.identity()));
+
+        if (componentsIds.size() != components.size()) {
+            throw new EntityNotFoundException("Not all components were found");
         }
 
-        if (parameters.isEmpty()) {
-            throw new IllegalArgumentException("Parameters cannot be empty");
+        var stored = carRepository
+                .findCarViews(carSpecificationImpl.brandAndModelIn(modelsByBrand), Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(view -> List.of(view.brand(), view.model()), Function.identity()));
+
+        var carEntities = new ArrayList<CarEntity>(cars.size());
+        var statuses = new ArrayList<CarUpsertStatus>(cars.size());
+        var carsToUpsert = new ArrayList<CarEntity>();
+
+        for (var createCarDto : cars) {
+            var car = createCarDto
+                    .toCarEntity()
+                    .withComponents(createCarDto.components().stream().map(components::get).toList());
+            var view = stored.get(List.of(createCarDto.brand(), createCarDto.model()));
+            var status = view == null
+                    ? CarUpsertStatus.CREATED
+                    : isUnchanged(view, car) ? CarUpsertStatus.UNCHANGED : CarUpsertStatus.UPDATED;
+
+            if (view != null) {
+                car.setId(view.id());
+            }
+            if (status != CarUpsertStatus.UNCHANGED) {
+                carsToUpsert.add(car);
+            }
+            carEntities.add(car);
+            statuses.add(status);
         }
 
-        if (direction == null) {
-            throw new IllegalArgumentException("Direction cannot be null");
+        var concurrentlyInsertedIds = carRepository.upsertAll(carsToUpsert);
+        if (!carsToUpsert.isEmpty()) {
+            eventPublisher.publishEvent(new CarsSavedEvent(carsToUpsert));
         }
 
-        if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
-            throw new IllegalArgumentException("Direction must be 'asc' or 'desc'.");
+        var results = new ArrayList<CarUpsertResultDto>(cars.size());
+        for (int i = 0; i < cars.size(); i++) {
+            var car = carEntities.get(i);
+            var status = statuses.get(i) == CarUpsertStatus.CREATED && concurrentlyInsertedIds.contains(car.getId())
+                    ? CarUpsertStatus.UPDATED
+                    : statuses.get(i);
+            results.add(new CarUpsertResultDto(car.getId(), car.getBrand(), car.getModel(), status));
         }
+        return results;
+    }
 
-        var direct = Sort.Direction.fromString(direction);
-        var sortBy = Sort.unsorted();
+    /**
+     * Checks whether the stored car has the same price, speed, color and components as the given car.
+     */
+    private static boolean isUnchanged(CarView stored, CarEntity car) {
+        return stored.price().compareTo(car.getPrice()) == 0
+                && stored.speed() == car.getSpeed()
+                && stored.color() == car.getColor()
+                && Set.copyOf(stored.components()).equals(car
+                        .getComponents()
+                        .stream()
+                        .map(ComponentEntity::getName)
+                        .collect(Collectors.toSet()));
+    }
 
-        for (var param : parameters) {
-            parametersValidator.validate(param);
-            sortBy = sortBy.and(Sort.by(direct, param));
+    /**
+     * Returns the car with the given ID, read by a projection query without loading the car entity.
+     *
+     * @param id the ID of the car.
+     * @return the car DTO.
+     * @throws EntityNotFoundException if no car is found with the given ID.
+     */
+    @Override
+    public CarDto findCarById(Long id) {
+        return carRepository
+                .findCarViews(carSpecificationImpl.idIn(List.of(id)), Sort.unsorted())
+                .stream()
+                .findFirst()
+                .map(CarView::toCarDto)
+                .orElseThrow(() -> new EntityNotFoundException("Element not found."));
+    }
+
+    /**
+     * Returns the cars with the given IDs in the order of the IDs,
+     * read by a projection query without loading the car entities.
+     *
+     * @param ids the IDs of the cars.
+     * @return a list of car DTOs.
+     * @throws EntityNotFoundException if not all cars are found for the given IDs.
+     */
+    @Override
+    public List<CarDto> findCarsById(List<Long> ids) {
+        var cars = findAllInOrder(ids);
+
+        if (cars.size() != ids.size()) {
+            throw new EntityNotFoundException("Not all elements were found.");
         }
 
+        return cars;
+    }
+
+    /**
+     * Returns a list of cars sorted by specified parameters and order direction.
+     *
+     * @param parameters a list of parameters to sort the cars by.
+     * @param direction  the direction of sorting, either "asc" for ascending or "desc" for descending.
+     * @return a list of sorted car DTOs.
+     * @throws IllegalArgumentException if parameters or direction are invalid.
+     */
+    @Override
+    public List<CarDto> sortedCarsBy(List<String> parameters, String direction) {
         return carRepository
-                .findAll(sortBy)
+                .findCarViews(Specification.where(null), createSort(parameters, direction))
                 .stream()
-                .map(CarEntity::toCarDto)
+                .map(CarView::toCarDto)
                 .toList();
     }
 
+    /**
+     * Returns one page of cars sorted by specified parameters and order direction.
+     * <p>
+     * The page is read with a keyset (seek) query: the cursor holds the sort keys and the ID
+     * of the last car of the previous page, so the next page starts right after it.
+     * </p>
+     *
+     * @param parameters a list of parameters to sort the cars by.
+     * @param direction  the direction of sorting, either "asc" for ascending or "desc" for descending.
+     * @param cursor     the cursor of the previous page, or {@code null} for the first page.
+     * @param limit      the maximum number of cars in the page.
+     * @return a page of sorted car DTOs with the cursor of the next page.
+     * @throws IllegalArgumentException if parameters, direction, cursor or limit are invalid.
+     */
+    @Override
+    public CursorPageDto<CarDto> sortedCarsPageBy(List<String> parameters, String direction, String cursor, int limit) {
+        validateLimit(limit);
+
+        var sortBy = createSort(parameters, direction);
+
+        var keys = new LinkedHashSet<String>();
+        sortBy.forEach(order -> keys.add(order.getProperty()));
+        keys.add("id");
+
+        var window = carRepository.findAllBy(
+                keysetCursorCodec.decode(cursor, CarEntity.class, keys), sortBy, Limit.of(limit));
+
+        var nextCursor = window.hasNext()
+                ? keysetCursorCodec.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+
+        return new CursorPageDto<>(window
+                .stream()
+                .map(CarEntity::toCarDto)
+                .toList(), nextCursor);
+    }
+
     /**
      * Returns a list of cars filtered by a given speed interval.
      *
@@ -186,19 +430,39 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
      */
     @Override
     public List<CarDto> getCarsWithSpeedInterval(int minSpeed, int maxSpeed) {
-        if (minSpeed < 0) {
-            throw new IllegalArgumentException("Min speed cannot be negative");
-        }
-        if (minSpeed > maxSpeed) {
-            throw new IllegalArgumentException("Min speed cannot be greater than max speed");
+        validateSpeedInterval(minSpeed, maxSpeed);
+
+        var ids = speedIndex.findBetween(minSpeed, maxSpeed);
+        if (ids.isPresent()) {
+            return findAllInOrder(ids.get());
         }
 
-        return carRepository.findCarEntitiesBySpeedBetween(minSpeed, maxSpeed)
+        var specification = carSpecificationImpl.dynamicFilters(new CarCriterionFilteringView(
+                null, null, minSpeed, maxSpeed, null, null, null, null));
+
+        return carRepository.findCarViews(specification, Sort.by("speed"))
                 .stream()
-                .map(CarEntity::toCarDto)
+                .map(CarView::toCarDto)
                 .toList();
     }
 
+    /**
+     * Returns the number of cars within a specified speed interval.
+     *
+     * @param minSpeed the minimum speed.
+     * @param maxSpeed the maximum speed.
+     * @return the number of cars matching the speed interval.
+     * @throws IllegalArgumentException if speed values are invalid.
+     */
+    @Override
+    public long countCarsWithSpeedInterval(int minSpeed, int maxSpeed) {
+        validateSpeedInterval(minSpeed, maxSpeed);
+
+        return speedIndex
+                .countBetween(minSpeed, maxSpeed)
+                .orElseGet(() -> carRepository.countBySpeedBetween(minSpeed, maxSpeed));
+    }
+
     /**
      * Returns a list of cars filtered by the provided criteria.
      *
@@ -211,23 +475,107 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
             throw new IllegalArgumentException("Criterion cannot be null");
         }
 
-        return carRepository.findAll(carSpecificationImpl.dynamicFilters(carCriterionDto.toFilteringView()))
+        return carRepository.findCarViews(createFilterSpecification(carCriterionDto), Sort.unsorted())
                 .stream()
-                .map(CarEntity::toCarDto)
+                .map(CarView::toCarDto)
                 .toList();
     }
 
+    /**
+     * Returns one page of cars filtered by the provided criteria, ordered by ID.
+     * <p>
+     * One car more than the limit is read to find out whether a following page exists,
+     * so no count query is needed.
+     * </p>
+     *
+     * @param carCriterionDto the filtering criteria.
+     * @param page            the zero-based index of the page.
+     * @param limit           the maximum number of cars in the page.
+     * @return a page of car DTOs matching the criteria.
+     * @throws IllegalArgumentException if the criteria, page or limit is invalid.
+     */
+    @Override
+    public SliceDto<CarDto> getCarsFilterBy(CarCriterionDto carCriterionDto, int page, int limit) {
+        if (carCriterionDto == null) {
+            throw new IllegalArgumentException("Criterion cannot be null");
+        }
+
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+
+        validateLimit(limit);
+
+        if (page > Integer.MAX_VALUE / limit) {
+            throw new IllegalArgumentException("Page cannot be greater than " + Integer.MAX_VALUE / limit);
+        }
+
+        var cars = carRepository.findPage(
+                createFilterSpecification(carCriterionDto),
+                page * limit,
+                limit + 1);
+
+        return new SliceDto<>(cars
+                .stream()
+                .limit(limit)
+                .map(CarEntity::toCarDto)
+                .toList(), page, limit, cars.size() > limit);
+    }
+
+    /**
+     * Passes every car matching the provided criteria to the given consumer as the rows are read.
+     * <p>
+     * Each car is detached from the persistence context once it has been passed on,
+     * so the memory used does not depend on the number of matching cars.
+     * </p>
+     *
+     * @param carCriterionDto the filtering criteria.
+     * @param consumer        the consumer receiving each car DTO.
+     * @throws IllegalArgumentException if the criteria is invalid.
+     */
+    @Override
+    public void streamCarsFilterBy(CarCriterionDto carCriterionDto, Consumer<CarDto> consumer) {
+        if (carCriterionDto == null) {
+            throw new IllegalArgumentException("Criterion cannot be null");
+        }
+
+        try (var cars = carRepository.streamAll(createFilterSpecification(carCriterionDto))) {
+            cars.forEach(carEntity -> {
+                consumer.accept(carEntity.toCarDto());
+                entityManager.detach(carEntity);
+            });
+        }
+    }
+
+    /**
+     * Passes every car to the given consumer as the rows are read.
+     * <p>
+     * The cars are read as projections through a forward-only cursor, so the memory used
+     * does not depend on the number of cars.
+     * </p>
+     *
+     * @param consumer the consumer receiving each car DTO.
+     */
+    @Override
+    public void exportCars(Consumer<CarDto> consumer) {
+        carRepository.forEachCarView(Specification.where(null), carView -> consumer.accept(carView.toCarDto()));
+    }
+
     /**
      * Groups cars by a specific field and returns the result as DTOs.
+     * The result is cached per field until cars are saved or deleted.
      *
      * @param map the field to group by.
      * @return a list of grouped car DTOs.
      */
     @Override
+    @Cacheable(CacheConfig.GROUP_BY_AMOUNT_CACHE)
     public List<GroupByDto<Object>> groupByAndAmountOfCars(String map) {
         parametersValidator.validate(map);
 
-        return carRepository.groupByField(map)
+        return carColumnStore
+                .groupByField(map)
+                .orElseGet(() -> carRepository.groupByField(map))
                 .stream()
                 .map(GroupByView::toGroupByDto)
                 .toList();
@@ -235,15 +583,19 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
 
     /**
      * Groups cars by a specific field and returns statistics such as min and max price.
+     * The result is cached per field until cars are saved or deleted.
      *
      * @param map the field to group by.
      * @return a list of grouped car statistics DTOs.
      */
     @Override
+    @Cacheable(CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE)
     public List<GroupByAndPriceStatisticDto<Object>> groupByAndMinMaxPriceStatistic(String map) {
         parametersValidator.validate(map);
 
-        return carRepository.groupByAndPriceStatisticField(map)
+        return carColumnStore
+                .groupByAndPriceStatisticField(map)
+                .orElseGet(() -> carRepository.groupByAndPriceStatisticField(map))
                 .stream()
                 .map(GroupByAndPriceStatisticView::toGroupByAndPriceStatisticDto)
                 .toList();
@@ -257,8 +609,10 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
      */
     @Override
     public PriceSpeedStatisticDto priceSpeedStatistic() {
-        return carRepository
+        return priceSpeedStatisticIndex
                 .findPriceSpeedStatistics()
+                .or(carColumnStore::findPriceSpeedStatistics)
+                .or(carRepository::findPriceSpeedStatistics)
                 .orElseThrow(() -> new EntityNotFoundException("Not found price and speed statistic"))
                 .toPriceSpeedStatisticDto();
     }
@@ -316,8 +670,9 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
                 Comparator.comparingInt((ComponentsWithCarsDto v) -> v.carDto().size()),
                 (v1, v2) -> Integer.compare(v2.carDto().size(), v1.carDto().size()));
 
-        return componentRepository
+        return carColumnStore
                 .groupByComponent()
+                .orElseGet(componentRepository::groupByComponent)
                 .stream()
                 .collect(Collectors.toMap(
                         ComponentsAndCarsView::name,
@@ -346,12 +701,11 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
      */
     @Override
     public List<CarDto> getCarsCloseToPrice(BigDecimal price) {
-        if (price == null) {
-            throw new IllegalArgumentException("Price cannot be null");
-        }
+        validatePrice(price);
 
-        if (price.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Price cannot be negative");
+        var ids = priceIndex.findClosest(price, 1);
+        if (ids.isPresent()) {
+            return findAllInOrder(ids.get());
         }
 
         return carRepository
@@ -361,6 +715,239 @@ public class CarServiceImpl extends CrudServiceGeneric<CarEntity, Long> implemen
                 .toList();
     }
 
+    /**
+     * Returns a list of the k cars that are closest to a given price.
+     *
+     * @param price the target price.
+     * @param k     the number of closest cars to return.
+     * @return a list of car DTOs close to the target price, ordered by price.
+     * @throws IllegalArgumentException if the price or k is invalid.
+     */
+    @Override
+    public List<CarDto> getCarsCloseToPrice(BigDecimal price, int k) {
+        validatePrice(price);
+        validateLimit(k);
+
+        var ids = priceIndex.findClosest(price, k);
+        if (ids.isPresent()) {
+            return findAllInOrder(ids.get());
+        }
+
+        return carRepository
+                .findCarsCloseToPrice(price, k)
+                .stream()
+                .map(CarEntity::toCarDto)
+                .toList();
+    }
+
+    /**
+     * Publishes the IDs of the deleted cars, so the in-memory indexes can drop them after the commit.
+     *
+     * @param ids the IDs of the deleted cars.
+     */
+    @Override
+    protected void afterDelete(List<Long> ids) {
+        eventPublisher.publishEvent(new CarsDeletedEvent(List.copyOf(ids)));
+    }
+
+    /**
+     * Helper method to create the specification of the cars matching the given criteria.
+     * <p>
+     * When the criteria bound the price or list components and the {@link PriceIndex} or the {@link ComponentIndex}
+     * knows the few cars matching them, or when the {@link CarColumnStore} finds the few cars matching the other
+     * criteria, the specification is additionally restricted to the IDs of the cars matching all of them,
+     * so the database reads the cars by primary key. When the {@link ComponentIndex} answers, the components
+     * filter is left out of the specification, so the database does not match the components again.
+     * </p>
+     *
+     * @param carCriterionDto the filtering criteria.
+     * @return the specification of the matching cars.
+     */
+    private Specification<CarEntity> createFilterSpecification(CarCriterionDto carCriterionDto) {
+        var filteringView = carCriterionDto.toFilteringView();
+
+        var priceIds = carCriterionDto.minPrice() == null && carCriterionDto.maxPrice() == null
+                ? Optional.<List<Long>>empty()
+                : priceIndex.findInRange(carCriterionDto.minPrice(), carCriterionDto.maxPrice());
+
+        var componentIds = carCriterionDto.components() == null || carCriterionDto.components().isEmpty()
+                ? Optional.<List<Long>>empty()
+                : carCriterionDto.matchAll()
+                ? componentIndex.findCarsWithAllComponents(carCriterionDto.components())
+                : componentIndex.findCarsWithAnyComponent(carCriterionDto.components());
+
+        var specification = carSpecificationImpl.dynamicFilters(componentIds.isPresent()
+                ? filteringView.withoutComponents()
+                : filteringView);
+
+        var columnIds = carColumnStore.filter(filteringView);
+
+        return Stream
+                .of(priceIds, componentIds, columnIds)
+                .flatMap(Optional::stream)
+                .<Collection<Long>>map(HashSet::new)
+                .reduce((ids1, ids2) -> {
+                    ids1.retainAll(ids2);
+                    return ids1;
+                })
+                .map(ids -> specification.and(carSpecificationImpl.idIn(ids)))
+                .orElse(specification);
+    }
+
+    /**
+     * Helper method to find the components to attach to saved cars.
+     * <p>
+     * When the {@link ComponentIndex} confirms that all the components exist, references to them are returned
+     * without loading them, so saving a car costs only its own insert and the insert of its join table rows.
+     * Otherwise, the components are loaded through the second-level cache, and the missing ones are left out.
+     * </p>
+     *
+     * @param ids the IDs of the components.
+     * @return the distinct components with the given IDs.
+     */
+    private List<ComponentEntity> findComponents(List<Long> ids) {
+        var distinctIds = ids.stream().distinct().toList();
+
+        return componentIndex
+                .containsAllComponents(distinctIds)
+                .filter(Boolean::booleanValue)
+                .map(exist -> distinctIds
+                        .stream()
+                        .map(id -> entityManager.getReference(ComponentEntity.class, id))
+                        .toList())
+                .orElseGet(() -> componentRepository.findAllByIdCached(distinctIds));
+    }
+
+    /**
+     * Helper method to write the saved cars before the commit, reporting a missing component as not found.
+     * <p>
+     * A component deleted after {@link #findComponents(List)} confirmed it, e.g. before the {@link ComponentIndex}
+     * learns of its deletion, fails the insert of the join table rows on the foreign key instead.
+     * </p>
+     *
+     * @throws EntityNotFoundException if a saved car references a component that does not exist.
+     */
+    private void flushSavedCars() {
+        try {
+            carRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.FOREIGN_KEY) {
+                throw new EntityNotFoundException("Not all components were found");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to read the cars with the given IDs in the order of the IDs.
+     *
+     * @param ids the IDs of the cars.
+     * @return a list of car DTOs in the order of the given IDs.
+     */
+    private List<CarDto> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var cars = carRepository
+                .findCarViews(carSpecificationImpl.idIn(ids), Sort.unsorted())
+                .stream()
+                .collect(Collectors.toMap(CarView::id, Function.identity()));
+
+        return ids
+                .stream()
+                .map(cars::get)
+                .filter(Objects::nonNull)
+                .map(CarView::toCarDto)
+                .toList();
+    }
+
+    /**
+     * Helper method to check that the given speed interval is valid.
+     *
+     * @param minSpeed the minimum speed.
+     * @param maxSpeed the maximum speed.
+     * @throws IllegalArgumentException if the minimum speed is negative or greater than the maximum speed.
+     */
+    private void validateSpeedInterval(int minSpeed, int maxSpeed) {
+        if (minSpeed < 0) {
+            throw new IllegalArgumentException("Min speed cannot be negative");
+        }
+        if (minSpeed > maxSpeed) {
+            throw new IllegalArgumentException("Min speed cannot be greater than max speed");
+        }
+    }
+
+    /**
+     * Helper method to check that the given price is present and positive.
+     *
+     * @param price the price to check.
+     * @throws IllegalArgumentException if the price is null or not positive.
+     */
+    private void validatePrice(BigDecimal price) {
+        if (price == null) {
+            throw new IllegalArgumentException("Price cannot be null");
+        }
+
+        if (price.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+    }
+
+    /**
+     * Helper method to check that the given page limit is within the allowed range.
+     *
+     * @param limit the maximum number of elements in a page.
+     * @throws IllegalArgumentException if the limit is not positive or is too large.
+     */
+    private void validateLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        if (limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit cannot be greater than " + MAX_PAGE_LIMIT);
+        }
+    }
+
+    /**
+     * Helper method to create a sort from the given parameters and direction.
+     *
+     * @param parameters a list of parameters to sort by.
+     * @param direction  the direction of sorting, either "asc" or "desc".
+     * @return the sort built from all parameters in the given direction.
+     * @throws IllegalArgumentException if parameters or direction are invalid.
+     */
+    private Sort createSort(List<String> parameters, String direction) {
+        // Validate input and prepare sorting logic
+        if (parameters == null) {
+            throw new IllegalArgumentException("Parameters cannot be null");
+        }
+
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("Parameters cannot be empty");
+        }
+
+        if (direction == null) {
+            throw new IllegalArgumentException("Direction cannot be null");
+        }
+
+        if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("Direction must be 'asc' or 'desc'.");
+        }
+
+        var direct = Sort.Direction.fromString(direction);
+        var sortBy = Sort.unsorted();
+
+        for (var param : parameters) {
+            parametersValidator.validate(param);
+            sortBy = sortBy.and(Sort.by(direct, param));
+        }
+
+        return sortBy;
+    }
+
     /**
      * Helper method to get a comparator based on the order.
      *
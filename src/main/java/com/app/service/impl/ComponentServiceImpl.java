@@ -1,14 +1,22 @@
 package com.app.service.impl;
 
+import com.app.controller.dto.car.GroupByDto;
 import com.app.controller.dto.components.CreateComponentDto;
+import com.app.index.ComponentIndex;
 import com.app.persistence.ComponentRepository;
 import com.app.persistence.CrudRepository;
 import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.GroupByView;
 import com.app.service.ComponentService;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
 import com.app.service.impl.generic.CrudServiceGeneric;
 import com.app.validate.CreateComponentDtoValidator;
-import jakarta.transaction.Transactional;
+import com.app.validate.ValidationEngine;
+import com.app.validate.ValidationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,13 +29,23 @@ import java.util.List;
  * component entities. It also uses a validator to ensure that the data for each
  * component is valid before it is persisted in the database.
  * </p>
+ * <p>
+ * Saved and deleted components are published as events, so the {@link ComponentIndex} can follow
+ * the changes once they are committed and the second-level cache can evict the changed components. The index also answers the per-component car counts when it is ready.
+ * </p>
+ * <p>
+ * Methods run in read-only transactions unless they save data, so reads skip the flush and the dirty checking.
+ * </p>
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class ComponentServiceImpl extends CrudServiceGeneric<ComponentEntity, Long> implements ComponentService {
 
     private final ComponentRepository componentRepository;
     private final CreateComponentDtoValidator createComponentDtoValidator;
+    private final ValidationEngine validationEngine;
+    private final ComponentIndex componentIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for ComponentServiceImpl.
@@ -35,15 +53,24 @@ public class ComponentServiceImpl extends CrudServiceGeneric<ComponentEntity, Lo
      * @param crudRepository            the repository for generic CRUD operations.
      * @param componentRepository       the repository for component entities.
      * @param createComponentDtoValidator the validator for CreateComponentDto objects.
+     * @param validationEngine          the engine validating batches of CreateComponentDto objects in one pass.
+     * @param componentIndex            the in-memory index of the cars of each component.
+     * @param eventPublisher            the publisher of the component change events.
      */
     public ComponentServiceImpl(
             CrudRepository<ComponentEntity, Long> crudRepository,
             ComponentRepository componentRepository,
-            CreateComponentDtoValidator createComponentDtoValidator
+            CreateComponentDtoValidator createComponentDtoValidator,
+            ValidationEngine validationEngine,
+            ComponentIndex componentIndex,
+            ApplicationEventPublisher eventPublisher
     ) {
         super(crudRepository);
         this.componentRepository = componentRepository;
         this.createComponentDtoValidator = createComponentDtoValidator;
+        this.validationEngine = validationEngine;
+        this.componentIndex = componentIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -54,11 +81,13 @@ public class ComponentServiceImpl extends CrudServiceGeneric<ComponentEntity, Lo
      * @throws IllegalArgumentException if the DTO is invalid.
      */
     @Override
+    @Transactional
     public Long save(CreateComponentDto createComponentDto) {
         createComponentDtoValidator.validate(createComponentDto);
-        return componentRepository
-                .save(createComponentDto.toCarComponentEntity())
-                .getId();
+        var component = componentRepository.save(createComponentDto.toCarComponentEntity());
+        eventPublisher.publishEvent(new ComponentsSavedEvent(List.of(component)));
+
+        return component.getId();
     }
 
     /**
@@ -66,17 +95,53 @@ public class ComponentServiceImpl extends CrudServiceGeneric<ComponentEntity, Lo
      *
      * @param createComponentDtos the list of data transfer objects representing components.
      * @return a list of IDs of the newly saved components.
-     * @throws IllegalArgumentException if any of the DTOs are invalid.
+     * @throws ValidationException if any of the DTOs are invalid, holding the violations of all the DTOs.
      */
     @Override
+    @Transactional
     public List<Long> saveAll(List<CreateComponentDto> createComponentDtos) {
-        return componentRepository
+        validationEngine.validate(createComponentDtos, createComponentDtoValidator);
+
+        var components = componentRepository
                 .saveAll(createComponentDtos.stream()
-                        .peek(createComponentDtoValidator::validate)
                         .map(CreateComponentDto::toCarComponentEntity)
-                        .toList())
+                        .toList());
+        eventPublisher.publishEvent(new ComponentsSavedEvent(components));
+
+        return components
                 .stream()
                 .map(ComponentEntity::getId)
                 .toList();
     }
+
+    /**
+     * Counts the cars having each component.
+     *
+     * @return a list of DTOs containing the component names and their numbers of cars, ordered by the name.
+     */
+    @Override
+    public List<GroupByDto<Object>> countCarsByComponent() {
+        return componentIndex
+                .countCarsByComponent()
+                .map(counts -> counts
+                        .entrySet()
+                        .stream()
+                        .map(entry -> new GroupByDto<Object>(entry.getKey(), entry.getValue()))
+                        .toList())
+                .orElseGet(() -> componentRepository
+                        .countCarsByComponent()
+                        .stream()
+                        .map(GroupByView::toGroupByDto)
+                        .toList());
+    }
+
+    /**
+     * Publishes the IDs of the deleted components, so the in-memory indexes can drop them after the commit.
+     *
+     * @param ids the IDs of the deleted components.
+     */
+    @Override
+    protected void afterDelete(List<Long> ids) {
+        eventPublisher.publishEvent(new ComponentsDeletedEvent(List.copyOf(ids)));
+    }
 }
@@ -0,0 +1,58 @@
+package com.app.service.impl.cache;
+
+import com.app.persistence.entity.ComponentEntity;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+
+/**
+ * {@code ComponentCacheEvictor} is a component responsible for invalidating the cached components.
+ * <p>
+ * Hibernate keeps the second-level cache in step with the components written through its sessions,
+ * but not with the rows changed by bulk or native statements. The saved and deleted components are therefore
+ * evicted by ID after the commit of each transaction that writes components, together with all the cached
+ * natural IDs of the components, and are cached again by the next lookup.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ComponentCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts the saved components after the saving transaction is committed.
+     *
+     * @param event the event holding the saved components
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentsSaved(ComponentsSavedEvent event) {
+        evict(event
+                .components()
+                .stream()
+                .map(ComponentEntity::getId)
+                .toList());
+    }
+
+    /**
+     * Evicts the deleted components after the deleting transaction is committed.
+     *
+     * @param event the event holding the IDs of the deleted components
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComponentsDeleted(ComponentsDeletedEvent event) {
+        evict(event.ids());
+    }
+
+    private void evict(Collection<Long> ids) {
+        var cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        ids.forEach(id -> cache.evictEntityData(ComponentEntity.class, id));
+        cache.evictNaturalIdData(ComponentEntity.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.service.impl.cache;
+
+import com.app.config.CacheConfig;
+import com.app.index.CarColumnStore;
+import com.app.service.event.CarColumnsUpdatedEvent;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code GroupByCacheEvictor} is a component responsible for invalidating the cached group-by results.
+ * <p>
+ * Any saved or deleted car may change any group, so all cached group-by results are cleared after each change.
+ * When the {@link CarColumnStore} answers the group-by lookups, it applies the changes in the background,
+ * so the caches are cleared once it has applied them; otherwise, they are cleared after the commit
+ * of each transaction that writes cars.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupByCacheEvictor {
+
+    private static final List<String> CACHE_NAMES = List.of(
+            CacheConfig.GROUP_BY_AMOUNT_CACHE,
+            CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE);
+
+    private final CacheManager cacheManager;
+    private final CarColumnStore carColumnStore;
+
+    /**
+     * Clears the group-by caches after the transaction saving cars is committed,
+     * unless the column store applies the change later.
+     *
+     * @param event the event holding the saved cars
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsSaved(CarsSavedEvent event) {
+        if (!carColumnStore.isReady()) {
+            evictAll();
+        }
+    }
+
+    /**
+     * Clears the group-by caches after the transaction deleting cars is committed,
+     * unless the column store applies the change later.
+     *
+     * @param event the event holding the IDs of the deleted cars
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsDeleted(CarsDeletedEvent event) {
+        if (!carColumnStore.isReady()) {
+            evictAll();
+        }
+    }
+
+    /**
+     * Clears the group-by caches after the column store has applied committed changes.
+     *
+     * @param event the event signaling the applied changes
+     */
+    @EventListener
+    public void onCarColumnsUpdated(CarColumnsUpdatedEvent event) {
+        evictAll();
+    }
+
+    private void evictAll() {
+        CACHE_NAMES.forEach(name -> Optional
+                .ofNullable(cacheManager.getCache(name))
+                .ifPresent(Cache::clear));
+    }
+}
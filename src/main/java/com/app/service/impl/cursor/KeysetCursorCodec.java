@@ -0,0 +1,106 @@
+package com.app.service.impl.cursor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code KeysetCursorCodec} is a component responsible for converting keyset scroll positions
+ * into opaque cursors and back.
+ * <p>
+ * A cursor is the Base64 (URL safe) encoded JSON object holding the values of the sort keys
+ * of the last element of a page. Each value is stored as a string and converted back to the type
+ * of the corresponding entity field when the cursor is decoded.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetCursorCodec {
+
+    private static final TypeReference<LinkedHashMap<String, String>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Encodes the given keyset scroll position as an opaque cursor.
+     *
+     * @param position the keyset scroll position of the last element of a page
+     * @return the opaque cursor representing the given position
+     */
+    public String encode(KeysetScrollPosition position) {
+        var keys = new LinkedHashMap<String, String>();
+        position.getKeys().forEach((key, value) -> keys.put(key, value == null ? null : value.toString()));
+
+        try {
+            return Base64
+                    .getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cursor cannot be created", e);
+        }
+    }
+
+    /**
+     * Decodes the given cursor into a keyset scroll position for the given entity class.
+     * <p>
+     * If the cursor is {@code null}, the initial keyset position is returned.
+     * </p>
+     *
+     * @param cursor       the opaque cursor to decode
+     * @param entityClass  the entity class whose fields define the types of the keys
+     * @param expectedKeys the names of the keys the cursor must contain
+     * @return the keyset scroll position represented by the cursor
+     * @throws IllegalArgumentException if the cursor is malformed or does not match the expected keys
+     */
+    public KeysetScrollPosition decode(String cursor, Class<?> entityClass, Collection<String> expectedKeys) {
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> keys;
+        try {
+            keys = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), KEYS_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (keys == null || !keys.keySet().containsAll(expectedKeys) || keys.size() != expectedKeys.size()) {
+            throw new IllegalArgumentException("Cursor does not match the sort parameters");
+        }
+
+        var values = new LinkedHashMap<String, Object>();
+        keys.forEach((key, value) -> values.put(key, convert(entityClass, key, value)));
+
+        return ScrollPosition.forward(values);
+    }
+
+    private Object convert(Class<?> entityClass, String key, String value) {
+        var field = ReflectionUtils.findField(entityClass, key);
+
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            return DefaultConversionService.getSharedInstance().convert(value, field.getType());
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
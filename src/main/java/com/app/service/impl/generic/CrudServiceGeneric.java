@@ -4,8 +4,11 @@ import com.app.persistence.CrudRepository;
 import com.app.service.CrudService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * A generic service implementation for CRUD operations, providing common
@@ -16,13 +19,24 @@ import java.util.List;
  * finding, deleting, and listing entities by ID. The class is generic, which
  * means it can be used with any entity type and identifier type.
  * </p>
+ * <p>
+ * The finders run in read-only transactions: Hibernate does not flush the session nor keep snapshots
+ * of the loaded entities for dirty checking, and the JDBC connection is marked read-only.
+ * The delete methods run in read-write transactions and delete in bulk statements, without loading the entities.
+ * </p>
  *
  * @param <T> the type of the entity.
  * @param <U> the type of the identifier (primary key) of the entity.
  */
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public abstract class CrudServiceGeneric<T, U> implements CrudService<T, U> {
 
+    /**
+     * The maximum number of identifiers bound to a single count or delete statement.
+     */
+    protected static final int DELETE_CHUNK_SIZE = 1000;
+
     /**
      * The repository used to perform CRUD operations on the entity.
      */
@@ -74,29 +88,64 @@ public abstract class CrudServiceGeneric<T, U> implements CrudService<T, U> {
      * @return the identifier of the deleted entity.
      * @throws EntityNotFoundException if no entity is found with the given identifier.
      */
+    @Transactional
     public U deleteById(U id) {
-        var element = crudRepository
-                .findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Element not found."));
-        crudRepository.delete(element);
+        var ids = List.of(id);
+        if (crudRepository.countByIdIn(ids) != 1) {
+            throw new EntityNotFoundException("Element not found.");
+        }
+
+        crudRepository.deleteAllByIdIn(ids);
+        afterDelete(ids);
         return id;
     }
 
     /**
      * Deletes all entities by their identifiers.
+     * <p>
+     * The identifiers are processed in chunks of {@value #DELETE_CHUNK_SIZE}: the existing entities of every chunk
+     * are counted first, then each chunk is deleted in one bulk statement, so no entity is loaded.
+     * Repeated identifiers are rejected before any chunk is counted, since an entity can only be found once.
+     * </p>
      *
      * @param ids a list of identifiers of the entities to be deleted.
      * @return a list of identifiers of the deleted entities.
      * @throws EntityNotFoundException if not all entities are found for the given identifiers.
      */
+    @Transactional
     public List<U> deleteAllById(List<U> ids) {
-        var elements = crudRepository.findAllById(ids);
-        if (elements.size() != ids.size()) {
+        if (new HashSet<>(ids).size() != ids.size()) {
             throw new EntityNotFoundException("Not all elements were found.");
         }
 
-        crudRepository.deleteAll(elements);
+        var chunks = IntStream
+                .range(0, (ids.size() + DELETE_CHUNK_SIZE - 1) / DELETE_CHUNK_SIZE)
+                .mapToObj(i -> ids.subList(i * DELETE_CHUNK_SIZE, Math.min((i + 1) * DELETE_CHUNK_SIZE, ids.size())))
+                .toList();
+
+        var found = chunks
+                .stream()
+                .mapToLong(crudRepository::countByIdIn)
+                .sum();
+
+        if (found != ids.size()) {
+            throw new EntityNotFoundException("Not all elements were found.");
+        }
+
+        chunks.forEach(crudRepository::deleteAllByIdIn);
+        afterDelete(ids);
 
         return ids;
     }
+
+    /**
+     * Called after entities have been deleted, within the deleting transaction.
+     * <p>
+     * The default implementation does nothing. Subclasses may override it, e.g. to publish an event.
+     * </p>
+     *
+     * @param ids the identifiers of the deleted entities.
+     */
+    protected void afterDelete(List<U> ids) {
+    }
 }
@@ -0,0 +1,44 @@
+package com.app.service.impl.reader;
+
+import com.app.controller.dto.car.CreateCarDto;
+
+/**
+ * One record of an import, either a parsed car or the reason why its line could not be parsed.
+ *
+ * @param line  the one-based number of the line holding the record.
+ * @param car   the parsed car, or {@code null} if the line could not be parsed.
+ * @param error the reason why the line could not be parsed, or {@code null} if it was parsed.
+ */
+public record CarRecord(long line, CreateCarDto car, String error) {
+
+    /**
+     * Creates a record of a parsed car.
+     *
+     * @param line the one-based number of the line holding the car.
+     * @param car  the parsed car.
+     * @return the record.
+     */
+    public static CarRecord parsed(long line, CreateCarDto car) {
+        return new CarRecord(line, car, null);
+    }
+
+    /**
+     * Creates a record of a line that could not be parsed.
+     *
+     * @param line  the one-based number of the line.
+     * @param error the reason why the line could not be parsed.
+     * @return the record.
+     */
+    public static CarRecord failed(long line, String error) {
+        return new CarRecord(line, null, error);
+    }
+
+    /**
+     * Returns whether the line of the record was parsed.
+     *
+     * @return {@code true} if the record holds a car, {@code false} otherwise.
+     */
+    public boolean isParsed() {
+        return error == null;
+    }
+}
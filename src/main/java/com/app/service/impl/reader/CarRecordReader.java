@@ -0,0 +1,23 @@
+package com.app.service.impl.reader;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * {@code CarRecordReader} reads the cars of an import one line at a time, so only the current line is held in memory.
+ * <p>
+ * A line that cannot be parsed does not stop the reading: it is returned as a failed {@link CarRecord}
+ * and the reading continues with the next line.
+ * </p>
+ */
+public interface CarRecordReader extends Closeable {
+
+    /**
+     * Reads the next record, skipping blank lines.
+     *
+     * @return the next record, or an empty {@link Optional} at the end of the input.
+     * @throws UncheckedIOException if the input cannot be read.
+     */
+    Optional<CarRecord> read();
+}
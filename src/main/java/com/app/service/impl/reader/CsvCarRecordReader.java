@@ -0,0 +1,167 @@
+package com.app.service.impl.reader;
+
+import com.app.color.Color;
+import com.app.controller.dto.car.CreateCarDto;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * {@code CsvCarRecordReader} reads cars from comma-separated values.
+ * <p>
+ * The first line is a header naming the columns {@code brand}, {@code model}, {@code speed}, {@code price},
+ * {@code color} and {@code components}, in any order. The component IDs of a car are separated by semicolons.
+ * Values may be enclosed in double quotes, with a doubled quote standing for a quote in the value.
+ * </p>
+ */
+public class CsvCarRecordReader implements CarRecordReader {
+
+    private static final List<String> COLUMNS = List.of("brand", "model", "speed", "price", "color", "components");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> header;
+    private long line;
+
+    /**
+     * Constructor for CsvCarRecordReader.
+     *
+     * @param input the UTF-8 encoded input.
+     */
+    public CsvCarRecordReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the next record, reading the header first if it has not been read yet.
+     *
+     * @return the next record, or an empty {@link Optional} at the end of the input.
+     * @throws IllegalArgumentException if the header is missing a column.
+     * @throws UncheckedIOException     if the input cannot be read.
+     */
+    @Override
+    public Optional<CarRecord> read() {
+        try {
+            if (header == null) {
+                var text = nextLine();
+                if (text == null) {
+                    return Optional.empty();
+                }
+                header = parseHeader(text);
+            }
+
+            var text = nextLine();
+            return text == null ? Optional.empty() : Optional.of(parse(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Integer> parseHeader(String text) {
+        var names = split(text);
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        var missing = COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("The CSV header is missing the columns: " + missing + ".");
+        }
+        return columns;
+    }
+
+    private CarRecord parse(String text) {
+        List<String> values;
+        try {
+            values = split(text);
+        } catch (IllegalArgumentException e) {
+            return CarRecord.failed(line, e.getMessage());
+        }
+
+        if (values.size() != header.size()) {
+            return CarRecord.failed(line, "Expected " + header.size() + " values but found " + values.size() + ".");
+        }
+
+        try {
+            return CarRecord.parsed(line, new CreateCarDto(
+                    value(values, "brand"),
+                    value(values, "model"),
+                    Integer.parseInt(value(values, "speed").trim()),
+                    new BigDecimal(value(values, "price").trim()),
+                    Color.valueOf(value(values, "color").trim()),
+                    components(value(values, "components"))));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            return CarRecord.failed(line, "Invalid value: " + e.getMessage() + ".");
+        }
+    }
+
+    private String value(List<String> values, String column) {
+        return values.get(header.get(column));
+    }
+
+    private static List<Long> components(String value) {
+        return Arrays
+                .stream(value.split(";"))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    /**
+     * Splits the given line into its values, removing the enclosing quotes.
+     *
+     * @throws IllegalArgumentException if a quoted value is not closed.
+     */
+    private static List<String> split(String text) {
+        var values = new ArrayList<String>();
+        var value = new StringBuilder();
+        var quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unclosed quoted value.");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.service.impl.reader;
+
+import com.app.controller.dto.car.CreateCarDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * {@code NdjsonCarRecordReader} reads cars from newline-delimited JSON, one {@link CreateCarDto} object per line.
+ */
+public class NdjsonCarRecordReader implements CarRecordReader {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedReader reader;
+    private long line;
+
+    /**
+     * Constructor for NdjsonCarRecordReader.
+     *
+     * @param objectMapper the mapper used to parse each line.
+     * @param input        the UTF-8 encoded input.
+     */
+    public NdjsonCarRecordReader(ObjectMapper objectMapper, InputStream input) {
+        this.objectMapper = objectMapper;
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<CarRecord> read() {
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return Optional.of(parse(text));
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private CarRecord parse(String text) {
+        try {
+            return CarRecord.parsed(line, objectMapper.readValue(text, CreateCarDto.class));
+        } catch (JsonProcessingException e) {
+            return CarRecord.failed(line, "Invalid JSON: " + e.getOriginalMessage() + ".");
+        }
+    }
+}
@@ -5,18 +5,24 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * {@code CreateCarDtoValidator} is a component responsible for validating the data of a {@link CreateCarDto}.
  * It ensures that the provided {@link CreateCarDto} object meets various constraints, including
  * non-null and non-empty values, matching patterns for the car's model and brand, as well as
  * enforcing minimum speed and price limits.
+ * <p>
+ * The patterns are compiled once, when the validator is created, instead of on every checked field.
+ * </p>
  */
 @Component
 public class CreateCarDtoValidator implements Validator<CreateCarDto> {
 
-    private final String modelRegex;
-    private final String brandRegex;
+    private final Pattern modelPattern;
+    private final Pattern brandPattern;
     private final int minimumSpeed;
     private final BigDecimal minimumPrice;
 
@@ -35,12 +41,12 @@ public class CreateCarDtoValidator implements Validator<CreateCarDto> {
             @Value("${validate.car.regex.model}") String modelRegex) {
         this.minimumPrice = minimumPrice;
         this.minimumSpeed = minimumSpeed;
-        this.brandRegex = brandRegex;
-        this.modelRegex = modelRegex;
+        this.brandPattern = Pattern.compile(brandRegex);
+        this.modelPattern = Pattern.compile(modelRegex);
     }
 
     /**
-     * Validates the provided {@link CreateCarDto}.
+     * Checks the provided {@link CreateCarDto}.
      * The following validations are performed:
      * <ul>
      *     <li>The model cannot be null, empty, or invalid according to the {@code modelRegex}.</li>
@@ -50,54 +56,45 @@ public class CreateCarDtoValidator implements Validator<CreateCarDto> {
      *     <li>The components cannot be null or empty.</li>
      * </ul>
      *
-     * @param createCarDto the {@link CreateCarDto} to be validated
-     * @throws IllegalArgumentException if any validation check fails
+     * @param createCarDto the {@link CreateCarDto} to be checked
+     * @return the messages of the violated rules, at most one per field
      */
     @Override
-    public void validate(CreateCarDto createCarDto) {
+    public List<String> check(CreateCarDto createCarDto) {
+        var violations = new ArrayList<String>(0);
 
         if (createCarDto.model() == null) {
-            throw new IllegalArgumentException("Model cannot be null.");
-        }
-
-        if (createCarDto.model().isEmpty()) {
-            throw new IllegalArgumentException("Model cannot be empty.");
-        }
-
-        if (!createCarDto.model().matches(modelRegex)) {
-            throw new IllegalArgumentException("The model does not match the pattern: " + modelRegex + ".");
+            violations.add("Model cannot be null.");
+        } else if (createCarDto.model().isEmpty()) {
+            violations.add("Model cannot be empty.");
+        } else if (!modelPattern.matcher(createCarDto.model()).matches()) {
+            violations.add("The model does not match the pattern: " + modelPattern.pattern() + ".");
         }
 
         if (createCarDto.brand() == null) {
-            throw new IllegalArgumentException("Brand cannot be null.");
-        }
-
-        if (createCarDto.brand().isEmpty()) {
-            throw new IllegalArgumentException("Brand cannot be empty.");
-        }
-
-        if (!createCarDto.brand().matches(brandRegex)) {
-            throw new IllegalArgumentException("The brand does not match the pattern: " + brandRegex + ".");
+            violations.add("Brand cannot be null.");
+        } else if (createCarDto.brand().isEmpty()) {
+            violations.add("Brand cannot be empty.");
+        } else if (!brandPattern.matcher(createCarDto.brand()).matches()) {
+            violations.add("The brand does not match the pattern: " + brandPattern.pattern() + ".");
         }
 
         if (createCarDto.speed() < minimumSpeed) {
-            throw new IllegalArgumentException("The speed does not match the minimum speed: " + minimumSpeed + ".");
+            violations.add("The speed does not match the minimum speed: " + minimumSpeed + ".");
         }
 
         if (createCarDto.price() == null) {
-            throw new IllegalArgumentException("Price cannot be null.");
-        }
-
-        if (createCarDto.price().compareTo(minimumPrice) < 0) {
-            throw new IllegalArgumentException("The price does not match the minimum price: " + minimumPrice + ".");
+            violations.add("Price cannot be null.");
+        } else if (createCarDto.price().compareTo(minimumPrice) < 0) {
+            violations.add("The price does not match the minimum price: " + minimumPrice + ".");
         }
 
         if (createCarDto.components() == null) {
-            throw new IllegalArgumentException("Components cannot be null.");
+            violations.add("Components cannot be null.");
+        } else if (createCarDto.components().isEmpty()) {
+            violations.add("Components cannot be empty.");
         }
 
-        if (createCarDto.components().isEmpty()) {
-            throw new IllegalArgumentException("Components cannot be empty.");
-        }
+        return violations;
     }
 }
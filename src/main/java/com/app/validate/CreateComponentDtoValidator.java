@@ -4,14 +4,18 @@ import com.app.controller.dto.components.CreateComponentDto;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * {@code CreateComponentDtoValidator} is a component responsible for validating the data of a {@link CreateComponentDto}.
- * It ensures that the component's name is non-null, non-empty, and matches a specific regex pattern.
+ * It ensures that the component's name is non-null, non-empty, and matches a specific regex pattern,
+ * compiled once when the validator is created.
  */
 @Component
 public class CreateComponentDtoValidator implements Validator<CreateComponentDto> {
 
-    private final String nameRegex;
+    private final Pattern namePattern;
 
     /**
      * Constructs a new {@code CreateComponentDtoValidator} with the specified name validation regex.
@@ -19,32 +23,34 @@ public class CreateComponentDtoValidator implements Validator<CreateComponentDto
      * @param nameRegex the regex pattern for validating the component's name
      */
     public CreateComponentDtoValidator(@Value("${validate.components.regex.name}") String nameRegex) {
-        this.nameRegex = nameRegex;
+        this.namePattern = Pattern.compile(nameRegex);
     }
 
     /**
-     * Validates the provided {@link CreateComponentDto}.
+     * Checks the provided {@link CreateComponentDto}.
      * The following validations are performed:
      * <ul>
      *     <li>The name cannot be null or empty.</li>
      *     <li>The name must match the specified regex pattern.</li>
      * </ul>
      *
-     * @param createComponentDto the {@link CreateComponentDto} to be validated
-     * @throws IllegalArgumentException if any validation check fails
+     * @param createComponentDto the {@link CreateComponentDto} to be checked
+     * @return the message of the violated rule, or an empty list if the DTO is valid
      */
     @Override
-    public void validate(CreateComponentDto createComponentDto) {
+    public List<String> check(CreateComponentDto createComponentDto) {
         if (createComponentDto.name() == null) {
-            throw new IllegalArgumentException("Component name cannot be null.");
+            return List.of("Component name cannot be null.");
         }
 
-        if(createComponentDto.name().isEmpty()){
-            throw new IllegalArgumentException("Component name cannot be empty.");
+        if (createComponentDto.name().isEmpty()) {
+            return List.of("Component name cannot be empty.");
         }
 
-        if(!createComponentDto.name().matches(nameRegex)){
-            throw new IllegalArgumentException("The name does not match the pattern: " + nameRegex + ".");
+        if (!namePattern.matcher(createComponentDto.name()).matches()) {
+            return List.of("The name does not match the pattern: " + namePattern.pattern() + ".");
         }
+
+        return List.of();
     }
 }
@@ -1,51 +1,58 @@
 package com.app.validate;
 
+import com.app.persistence.CarFieldRegistry;
 import com.app.persistence.entity.CarEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.List;
 
 /**
  * {@code ParameterCarValidator} is a component responsible for validating the given parameter name.
- * It ensures that the provided parameter is not null, not empty, and matches a valid field name of the {@link CarEntity} class or its superclass.
+ * It ensures that the provided parameter is not null, not empty, and names a field of the {@link CarEntity} class
+ * that cars can be sorted and grouped by, as described by the {@link CarFieldRegistry}.
  */
 @Component
 public class ParameterCarValidator implements Validator<String> {
 
+    private final CarFieldRegistry carFieldRegistry;
+
+    /**
+     * Constructs a new {@code ParameterCarValidator}.
+     *
+     * @param carFieldRegistry the registry of the fields of {@link CarEntity}
+     */
+    public ParameterCarValidator(CarFieldRegistry carFieldRegistry) {
+        this.carFieldRegistry = carFieldRegistry;
+    }
+
     /**
-     * Validates the provided parameter name.
+     * Checks the provided parameter name.
      * The following validations are performed:
      * <ul>
      *     <li>The parameter cannot be null.</li>
      *     <li>The parameter cannot be empty.</li>
-     *     <li>The parameter must match one of the field names of {@link CarEntity} or its superclass.</li>
+     *     <li>The parameter must name a field of {@link CarEntity} that cars can be sorted and grouped by,
+     *     so a collection such as the components is rejected.</li>
      * </ul>
      *
-     * @param s the parameter name to be validated
-     * @throws IllegalArgumentException if any validation check fails
+     * @param s the parameter name to be checked
+     * @return the message of the violated rule, or an empty list if the parameter is valid
      */
     @Override
-    public void validate(String s) {
+    public List<String> check(String s) {
         if (s == null) {
-            throw new IllegalArgumentException("Parameter cannot be null");
+            return List.of("Parameter cannot be null");
         }
 
         if (s.isEmpty()) {
-            throw new IllegalArgumentException("Parameter cannot be empty");
+            return List.of("Parameter cannot be empty");
         }
 
-        var arguments = Arrays
-                .stream(CarEntity.class.getDeclaredFields())
-                .map(arg -> arg.getName())
-                .toList();
+        var valid = carFieldRegistry
+                .find(s)
+                .filter(field -> field.sortable() && field.groupable())
+                .isPresent();
 
-        var superClassArguments = Arrays
-                .stream(CarEntity.class.getSuperclass().getDeclaredFields())
-                .map(arg -> arg.getName())
-                .toList();
-
-        if (!arguments.contains(s) && !superClassArguments.contains(s)) {
-            throw new IllegalArgumentException("Invalid parameter value: " + s);
-        }
+        return valid ? List.of() : List.of("Invalid parameter value: " + s);
     }
 }
@@ -0,0 +1,69 @@
+package com.app.validate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * {@code ValidationEngine} validates whole batches of objects in one pass and reports every violation by row index.
+ * <p>
+ * The objects are checked with {@link Validator#check}, so no exception is created per invalid object.
+ * Batches of at least {@code validate.parallel-threshold} objects are split across the cores of the common
+ * fork-join pool, smaller batches are checked on the calling thread. The violations are ordered by row index
+ * in both cases.
+ * </p>
+ */
+@Component
+public class ValidationEngine {
+
+    private final int parallelThreshold;
+
+    /**
+     * Constructs a new {@code ValidationEngine}.
+     *
+     * @param parallelThreshold the minimum size of a batch checked in parallel
+     */
+    public ValidationEngine(@Value("${validate.parallel-threshold:1000}") int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Checks every object of the given batch.
+     *
+     * @param items     the objects to be checked
+     * @param validator the validator checking each object
+     * @param <T>       the type of the objects
+     * @return the violations, ordered by row index, or an empty list if all the objects are valid
+     */
+    public <T> List<Violation> check(List<? extends T> items, Validator<T> validator) {
+        var rows = IntStream.range(0, items.size());
+        if (items.size() >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+
+        return rows
+                .boxed()
+                .flatMap(row -> validator
+                        .check(items.get(row))
+                        .stream()
+                        .map(message -> new Violation(row, message)))
+                .toList();
+    }
+
+    /**
+     * Validates every object of the given batch.
+     *
+     * @param items     the objects to be validated
+     * @param validator the validator checking each object
+     * @param <T>       the type of the objects
+     * @throws ValidationException if any object is not valid, holding all the violations of the batch
+     */
+    public <T> void validate(List<? extends T> items, Validator<T> validator) {
+        var violations = check(items, validator);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations);
+        }
+    }
+}
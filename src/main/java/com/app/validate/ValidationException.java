@@ -0,0 +1,61 @@
+package com.app.validate;
+
+import java.util.List;
+
+/**
+ * {@code ValidationException} is thrown when one or more objects are not valid.
+ * <p>
+ * The exception holds the violations by row index and has no stack trace: it reports invalid input,
+ * not a programming error, so the cost of filling in the stack trace would be wasted.
+ * </p>
+ */
+public class ValidationException extends IllegalArgumentException {
+
+    private final transient List<Violation> violations;
+
+    /**
+     * Constructs a new {@code ValidationException} for a single invalid object.
+     *
+     * @param message the message of the violated rule
+     */
+    public ValidationException(String message) {
+        super(message);
+        this.violations = List.of(new Violation(0, message));
+    }
+
+    /**
+     * Constructs a new {@code ValidationException} for the given violations of a batch.
+     * The message names the first violation and the number of the others.
+     *
+     * @param violations the violations, ordered by row index
+     */
+    public ValidationException(List<Violation> violations) {
+        super(toMessage(violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Returns the violations, ordered by row index.
+     *
+     * @return the violations
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Does not fill in the stack trace.
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    private static String toMessage(List<Violation> violations) {
+        var first = violations.getFirst();
+        var message = "Row " + first.row() + ": " + first.message();
+        return violations.size() == 1 ? message : message + " (and " + (violations.size() - 1) + " more violations)";
+    }
+}
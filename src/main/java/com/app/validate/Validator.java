@@ -1,21 +1,40 @@
 package com.app.validate;
 
+import java.util.List;
+
 /**
  * The {@code Validator} interface defines a contract for classes that perform validation on a given object.
- * It provides a method to validate the object of type {@code T}.
+ * It provides a method to check the object of type {@code T} and a method to validate it.
  * Implementations of this interface should define the specific validation logic for the given type.
+ * <p>
+ * Checking returns the violations as plain messages instead of throwing, so a batch of objects
+ * can be checked without creating an exception per invalid object (see {@link ValidationEngine}).
+ * </p>
  *
  * @param <T> the type of object to be validated
  */
 public interface Validator<T> {
 
+    /**
+     * Checks the given object and returns every violated rule.
+     * Each field is reported at most once, with the first rule it violates.
+     *
+     * @param t the object to be checked
+     * @return the messages of the violated rules, in the order of the checks, or an empty list if the object is valid
+     */
+    List<String> check(T t);
+
     /**
      * Validates the given object.
-     * The implementation should perform the necessary checks to ensure the object is valid.
-     * If the object is invalid, an appropriate exception should be thrown.
+     * If the object is invalid, a {@link ValidationException} holding the first violated rule is thrown.
      *
      * @param t the object to be validated
      * @throws IllegalArgumentException if the object is not valid
      */
-    void validate(T t);
+    default void validate(T t) {
+        var violations = check(t);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.getFirst());
+        }
+    }
 }
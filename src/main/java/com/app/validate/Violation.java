@@ -0,0 +1,10 @@
+package com.app.validate;
+
+/**
+ * A rule violated by one object of a validated batch.
+ *
+ * @param row     the zero-based index of the object in the batch.
+ * @param message the message of the violated rule.
+ */
+public record Violation(int row, String message) {
+}
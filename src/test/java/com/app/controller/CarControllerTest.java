@@ -2,6 +2,7 @@ package com.app.controller;
 
 import com.app.color.Color;
 import com.app.controller.dto.ResponseDto;
+import com.app.controller.dto.SliceDto;
 import com.app.controller.dto.car.*;
 import com.app.controller.dto.components.ComponentsWithCarsDto;
 import com.app.persistence.CarRepository;
@@ -9,9 +10,11 @@ import com.app.persistence.ComponentRepository;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.entity.ComponentEntity;
 import com.app.persistence.view.GroupByAndPriceStatisticView;
+import com.jayway.jsonpath.JsonPath;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.SneakyThrows;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +25,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -51,6 +57,9 @@ public class CarControllerTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private ComponentEntity component_entity_save_1;
     private ComponentEntity component_entity_save_2;
     private ComponentEntity component_entity_save_3;
@@ -462,4 +471,215 @@ public class CarControllerTest {
                 .andExpect(header().string("Content-Type", "application/json"))
                 .andExpect(content().json(objectMapper.writeValueAsString(new ResponseDto<>(List.of(CAR_DTO_2)))));
     }
+
+    @Test
+    @DisplayName("When getting sorted cars page by page, return each page with the cursor of the next page.")
+    @SneakyThrows
+    public void test20() {
+
+        var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2, component_entity_save_3));
+        carRepository.saveAll(List.of(
+                car_entity_save_1.withComponents(components.subList(0, 2)),
+                car_entity_save_2.withComponents(components.subList(1, 3))
+        ));
+
+        var firstPage = mockMvc.perform(get("/cars/sort/page")
+                        .queryParam("parameters", "price")
+                        .queryParam("direction", "desc")
+                        .queryParam("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        mockMvc.perform(get("/cars/sort/page")
+                        .queryParam("parameters", "price")
+                        .queryParam("direction", "desc")
+                        .queryParam("limit", "1")
+                        .queryParam("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(2))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("When getting a page of cars with a filter, return the cars of the page matching the specified filter.")
+    @SneakyThrows
+    public void test21() {
+
+        var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2, component_entity_save_3));
+        carRepository.saveAll(List.of(
+                car_entity_save_1.withComponents(components.subList(0, 2)),
+                car_entity_save_2.withComponents(components.subList(1, 3))
+        ));
+
+        var carCriterionDto = new CarCriterionDto(
+                "BMW", null,
+                null, null,
+                null, null, null, List.of("AIR CONDITION", "SUNROOF"));
+
+        mockMvc.perform(post("/cars/filter/page")
+                        .queryParam("page", "0")
+                        .queryParam("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(carCriterionDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(content().json(objectMapper.writeValueAsString(new ResponseDto<>(
+                        new SliceDto<>(List.of(CAR_DTO_1), 0, 1, true)))));
+    }
+
+    @Test
+    @DisplayName("When counting cars with speed interval, return the number of cars within the speed interval.")
+    @SneakyThrows
+    public void test22() {
+
+        var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2, component_entity_save_3));
+        carRepository.saveAll(List.of(
+                car_entity_save_1.withComponents(components.subList(0, 2)),
+                car_entity_save_2.withComponents(components.subList(1, 3))
+        ));
+
+        mockMvc.perform(get("/cars/200/300/count"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(content().json(objectMapper.writeValueAsString(new ResponseDto<>(2L))));
+    }
+
+    @Test
+    @DisplayName("When getting cars with a filter requiring all components, return only the cars having every component.")
+    @SneakyThrows
+    public void test23() {
+
+        var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2, component_entity_save_3));
+        carRepository.saveAll(List.of(
+                car_entity_save_1.withComponents(components.subList(0, 2)),
+                car_entity_save_2.withComponents(components.subList(1, 3))
+        ));
+
+        var carCriterionDto = new CarCriterionDto(
+                null, null,
+                null, null,
+                null, null, null, List.of("AIR CONDITION", "RADIO"), true);
+
+        mockMvc.perform(post("/cars/filter")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(carCriterionDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(content().json(objectMapper.writeValueAsString(new ResponseDto<>(List.of(CAR_DTO_1)))));
+    }
+
+    @Test
+    @DisplayName("When exporting cars, stream the committed catalogue asynchronously.")
+    @SneakyThrows
+    public void test24() {
+
+        var result = mockMvc.perform(get("/cars/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("When importing cars, return the report of the chunks and of the rejected rows.")
+    @SneakyThrows
+    public void test25() {
+
+        var body = """
+                {"brand":"BMW","model":"x3","speed":250,"price":250000,"color":"BLACK","components":[1]}
+                not json
+                """;
+
+        mockMvc.perform(post("/cars/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(0))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.chunks.length()").value(1))
+                .andExpect(jsonPath("$.data.errors[0].line").value(1))
+                .andExpect(jsonPath("$.data.errors[1].line").value(2));
+    }
+
+    @Test
+    @DisplayName("When upserting cars, return the created, updated or unchanged status of each car.")
+    @SneakyThrows
+    public void test26() {
+
+        var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2));
+        carRepository.saveAll(List.of(
+                car_entity_save_1.withComponents(List.of(components.get(0))),
+                car_entity_save_2.withComponents(List.of(components.get(1)))));
+
+        var cars = List.of(
+                new CreateCarDto("BMW", "X3", 260, BigDecimal.valueOf(250000), Color.BLACK, List.of(components.get(0).getId())),
+                new CreateCarDto("BMW", "X1", 220, BigDecimal.valueOf(200000), Color.RED, List.of(components.get(1).getId())),
+                new CreateCarDto("AUDI", "A4", 240, BigDecimal.valueOf(210000), Color.GRAY, List.of(components.get(1).getId())));
+
+        mockMvc.perform(post("/cars/all/upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cars)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.data[1].status").value("UNCHANGED"))
+                .andExpect(jsonPath("$.data[2].status").value("CREATED"))
+                .andExpect(jsonPath("$.data[2].id").isNumber());
+    }
+
+    @Test
+    @DisplayName("When streaming cars with a filter, write one JSON object per line for each matching car.")
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    @SneakyThrows
+    public void test27() {
+
+        var committed = new TransactionTemplate(transactionManager);
+        committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        committed.executeWithoutResult(status -> {
+            var components = componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2, component_entity_save_3));
+            carRepository.saveAll(List.of(
+                    car_entity_save_1.withComponents(components.subList(0, 2)),
+                    car_entity_save_2.withComponents(components.subList(1, 3))
+            ));
+        });
+
+        var carCriterionDto = new CarCriterionDto(
+                "BMW", null,
+                null, null,
+                null, null, null, List.of("RADIO"));
+
+        var result = mockMvc.perform(post("/cars/filter/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(carCriterionDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Assertions.assertThat(body).endsWith("\n");
+        Assertions.assertThat(body.lines().map(this::readCarDto).toList())
+                .extracting(CarDto::id, CarDto::model)
+                .containsExactlyInAnyOrder(
+                        Assertions.tuple(CAR_DTO_1.id(), CAR_DTO_1.model()),
+                        Assertions.tuple(CAR_DTO_2.id(), CAR_DTO_2.model()));
+    }
+
+    @SneakyThrows
+    private CarDto readCarDto(String line) {
+        return objectMapper.readValue(line, CarDto.class);
+    }
 }
@@ -159,4 +159,19 @@ public class ComponentControllerTest {
                 .andExpect(header().string("Content-Type", "application/json"))
                 .andExpect(jsonPath("$.data").value(Matchers.containsInAnyOrder(1, 2)));
     }
+
+    @Test
+    @DisplayName("When counting cars by component, return the ok status and the number of cars of each component.")
+    @SneakyThrows
+    public void test9() {
+
+        componentRepository.saveAll(List.of(component_entity_save_1, component_entity_save_2));
+
+        mockMvc.perform(get("/components/count"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(jsonPath("$.data[0].paramet").value("AIR CONDITION"))
+                .andExpect(jsonPath("$.data[0].amount").value(0))
+                .andExpect(jsonPath("$.data[1].paramet").value("SUNROOF"));
+    }
 }
@@ -0,0 +1,120 @@
+package com.app.controller;
+
+import com.app.controller.dto.car.CarCriterionDto;
+import com.app.data.BenchmarkData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures the heap allocated and the latency of the {@code /cars/sort} and {@code /cars/filter} endpoints
+ * in the read-only transactions of the services, against the same requests joining a read-write transaction.
+ * <p>
+ * The benchmark is excluded from the regular build and runs with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReadOnlyTransactionBenchmarkTest {
+
+    private static final int CARS = 20_000;
+    private static final int COMPONENTS = 10;
+    private static final int COMPONENTS_PER_CAR = 2;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void setUp() {
+        BenchmarkData.insertCars(jdbcTemplate, 1L, CARS, COMPONENTS, COMPONENTS_PER_CAR);
+    }
+
+    @Test
+    @DisplayName("When sorting all cars, the read-only transaction is measured against a read-write transaction.")
+    public void test1() {
+
+        compare("/cars/sort", get("/cars/sort")
+                .queryParam("parameters", "price")
+                .queryParam("direction", "desc"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("When filtering cars, the read-only transaction is measured against a read-write transaction.")
+    public void test2() {
+
+        var criterion = new CarCriterionDto("BMW", null, null, null, null, null, null, List.of("COMPONENT 1"));
+
+        compare("/cars/filter", post("/cars/filter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(criterion)));
+    }
+
+    private void compare(String endpoint, RequestBuilder request) {
+        var readWrite = new TransactionTemplate(transactionManager);
+
+        // The services join the surrounding read-write transaction instead of starting a read-only one
+        measure(endpoint + " read-write", () -> readWrite.executeWithoutResult(status -> perform(request)));
+        measure(endpoint + " read-only", () -> perform(request));
+    }
+
+    @SneakyThrows
+    private void perform(RequestBuilder request) {
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private void measure(String name, Runnable request) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            request.run();
+        }
+
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        var start = System.nanoTime();
+
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            request.run();
+        }
+
+        var elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS / 1_000_000.0;
+        var allocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ROUNDS / (1024 * 1024);
+
+        log.info("{}: {} ms and {} MB allocated per request on average", name, String.format("%.2f", elapsed), allocated);
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.data;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+
+/**
+ * Generates the cars and components the benchmarks run on, inserted in JDBC batches.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Inserts the components named {@code COMPONENT 0} to {@code COMPONENT n - 1}, and the cars with alternating
+     * brands, distinct models and prices, each car having consecutive components.
+     *
+     * @param jdbcTemplate     the template running the inserts.
+     * @param firstId          the ID of the first car and of the first component.
+     * @param cars             the number of cars.
+     * @param components       the number of components.
+     * @param componentsPerCar the number of components of each car.
+     */
+    public static void insertCars(JdbcTemplate jdbcTemplate, long firstId, int cars, int components, int componentsPerCar) {
+        var componentRows = new ArrayList<Object[]>();
+        for (int i = 0; i < components; i++) {
+            componentRows.add(new Object[]{firstId + i, "COMPONENT " + i});
+        }
+        jdbcTemplate.batchUpdate("insert into components (id, name) values (?, ?)", componentRows);
+
+        var carRows = new ArrayList<Object[]>();
+        var carComponentRows = new ArrayList<Object[]>();
+        for (int i = 0; i < cars; i++) {
+            var id = firstId + i;
+            carRows.add(new Object[]{id, i % 2 == 0 ? "BMW" : "AUDI", "MODEL " + i, 10000 + i, 100 + i % 200, "BLACK"});
+            for (int j = 0; j < componentsPerCar; j++) {
+                carComponentRows.add(new Object[]{id, firstId + (i + j) % components});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into cars (id, brand, model, price, speed, color) values (?, ?, ?, ?, ?, ?)", carRows);
+        jdbcTemplate.batchUpdate("insert into cars_components (car_id, component_id) values (?, ?)", carComponentRows);
+    }
+}
@@ -7,6 +7,7 @@ import com.app.controller.dto.components.ComponentDto;
 import com.app.controller.dto.components.CreateComponentDto;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.CarView;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -80,6 +81,15 @@ public interface CarComponentData {
     CarDto CAR_DTO_3 = new CarDto(
             3L, "AUDI", "A1", 180, BigDecimal.valueOf(150000), Color.BLACK, List.of("BACKUP CAMERA"));
 
+    CarView CAR_VIEW_1 = new CarView(
+            1L, "BMW", "X3", 250, BigDecimal.valueOf(250000), Color.BLACK, List.of("AIR CONDITION", "RADIO"));
+
+    CarView CAR_VIEW_2 = new CarView(
+            2L, "BMW", "X1", 220, BigDecimal.valueOf(200000), Color.RED, List.of("SUNROOF", "RADIO"));
+
+    CarView CAR_VIEW_3 = new CarView(
+            3L, "AUDI", "A1", 180, BigDecimal.valueOf(150000), Color.BLACK, List.of("BACKUP CAMERA"));
+
     CreateCarDto CREATE_CAR_DTO_1 = new CreateCarDto(
             "BMW", "X3", 250, BigDecimal.valueOf(250000), Color.BLACK, List.of(1L, 2L));
 
@@ -0,0 +1,369 @@
+package com.app.index;
+
+import com.app.color.Color;
+import com.app.persistence.CarRepository;
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.*;
+import com.app.service.event.CarColumnsUpdatedEvent;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class CarColumnStoreTest {
+
+    private static final ComponentEntity ABS = ComponentEntity.builder().id(1L).name("ABS").build();
+    private static final ComponentEntity GPS = ComponentEntity.builder().id(2L).name("GPS").build();
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private ComponentRepository componentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CarColumnStore carColumnStore;
+
+    @BeforeEach
+    public void setUp() {
+        when(carRepository.findAllRows())
+                .thenReturn(List.of(
+                        new CarRowView(1L, "BMW", "X3", new BigDecimal("250000.00"), 250, Color.BLACK),
+                        new CarRowView(2L, "AUDI", "A4", new BigDecimal("200000.00"), 220, Color.WHITE),
+                        new CarRowView(3L, "BMW", "X5", new BigDecimal("150000.00"), 180, Color.BLACK)));
+
+        when(componentRepository.findAll())
+                .thenReturn(List.of(ABS, GPS));
+
+        when(componentRepository.findAllComponentCars())
+                .thenReturn(List.of(
+                        new ComponentCarView(1L, 1L),
+                        new ComponentCarView(2L, 1L),
+                        new ComponentCarView(2L, 3L)));
+
+        carColumnStore = new CarColumnStore(carRepository, componentRepository, true, 1000, eventPublisher, Runnable::run);
+        carColumnStore.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("When grouping the cars by brand, return the number of cars of each brand ordered by brand.")
+    public void test1() {
+
+        Assertions.assertThat(carColumnStore.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("AUDI", 1L), new GroupByView<>("BMW", 2L)));
+    }
+
+    @Test
+    @DisplayName("When grouping the cars by color with the price statistic, return the minimum and maximum price of each color.")
+    public void test2() {
+
+        Assertions.assertThat(carColumnStore.groupByAndPriceStatisticField("color"))
+                .contains(List.of(
+                        new GroupByAndPriceStatisticView<>(
+                                Color.WHITE, new BigDecimal("200000.00"), new BigDecimal("200000.00")),
+                        new GroupByAndPriceStatisticView<>(
+                                Color.BLACK, new BigDecimal("150000.00"), new BigDecimal("250000.00"))));
+    }
+
+    @Test
+    @DisplayName("When computing the price and speed statistics, return them with the averages rounded as by the database.")
+    public void test3() {
+
+        Assertions.assertThat(carColumnStore.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("150000.00"), new BigDecimal("250000.00"),
+                        200000.0, 180, 250, 216.6667));
+    }
+
+    @Test
+    @DisplayName("When grouping the cars by component, return each component with each of its cars, skipping deleted components.")
+    public void test4() {
+
+        Assertions.assertThat(carColumnStore.groupByComponent())
+                .contains(List.of(
+                        new ComponentsAndCarsView("ABS", 1L, "BMW", "X3", Color.BLACK, new BigDecimal("250000.00"), 250),
+                        new ComponentsAndCarsView("GPS", 1L, "BMW", "X3", Color.BLACK, new BigDecimal("250000.00"), 250),
+                        new ComponentsAndCarsView("GPS", 3L, "BMW", "X5", Color.BLACK, new BigDecimal("150000.00"), 180)));
+
+        carColumnStore.onComponentsDeleted(new ComponentsDeletedEvent(List.of(2L)));
+
+        Assertions.assertThat(carColumnStore.groupByComponent())
+                .contains(List.of(
+                        new ComponentsAndCarsView("ABS", 1L, "BMW", "X3", Color.BLACK, new BigDecimal("250000.00"), 250)));
+    }
+
+    @Test
+    @DisplayName("When cars are saved and deleted, group the cars as stored after the changes.")
+    public void test5() {
+
+        var car = CarEntity
+                .builder()
+                .id(2L)
+                .brand("FIAT")
+                .model("PANDA")
+                .price(BigDecimal.valueOf(50000))
+                .speed(160)
+                .color(Color.RED)
+                .components(List.of(ABS))
+                .build();
+
+        carColumnStore.onCarsSaved(new CarsSavedEvent(List.of(car)));
+        carColumnStore.onCarsDeleted(new CarsDeletedEvent(List.of(3L)));
+
+        Assertions.assertThat(carColumnStore.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("BMW", 1L), new GroupByView<>("FIAT", 1L)));
+
+        Assertions.assertThat(carColumnStore.groupByField("price"))
+                .contains(List.of(
+                        new GroupByView<>(new BigDecimal("50000.00"), 1L),
+                        new GroupByView<>(new BigDecimal("250000.00"), 1L)));
+
+        Assertions.assertThat(carColumnStore.groupByComponent())
+                .contains(List.of(
+                        new ComponentsAndCarsView("ABS", 1L, "BMW", "X3", Color.BLACK, new BigDecimal("250000.00"), 250),
+                        new ComponentsAndCarsView("GPS", 1L, "BMW", "X3", Color.BLACK, new BigDecimal("250000.00"), 250),
+                        new ComponentsAndCarsView("ABS", 2L, "FIAT", "PANDA", Color.RED, new BigDecimal("50000.00"), 160)));
+    }
+
+    @Test
+    @DisplayName("When the store is disabled or the field is not held by the store, return an empty Optional.")
+    public void test6() {
+
+        Assertions.assertThat(carColumnStore.groupByField("components")).isEmpty();
+
+        var disabled = new CarColumnStore(carRepository, componentRepository, false, 1000, eventPublisher, Runnable::run);
+        disabled.afterSingletonsInstantiated();
+
+        Assertions.assertThat(disabled.groupByField("brand")).isEmpty();
+        Assertions.assertThat(disabled.findPriceSpeedStatistics()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("When filtering the cars by speed, price and color, return the IDs of the matching cars.")
+    public void test7() {
+
+        Assertions.assertThat(carColumnStore.filter(new CarCriterionFilteringView(
+                        null, null, null, null, null, new BigDecimal("200000"), null, null)))
+                .contains(List.of(2L, 3L));
+
+        Assertions.assertThat(carColumnStore.filter(new CarCriterionFilteringView(
+                        null, null, 200, 300, null, null, Color.BLACK, null)))
+                .contains(List.of(1L));
+
+        Assertions.assertThat(carColumnStore.filter(new CarCriterionFilteringView(
+                        null, null, null, null, null, null, Color.RED, null)))
+                .contains(List.of());
+    }
+
+    @Test
+    @DisplayName("When filtering the cars only by brand, model or components, or matching more cars than the maximum filter size, return an empty Optional.")
+    public void test8() {
+
+        Assertions.assertThat(carColumnStore.filter(new CarCriterionFilteringView(
+                        "B%", "X3", null, null, null, null, null, List.of("ABS"))))
+                .isEmpty();
+
+        var limited = new CarColumnStore(carRepository, componentRepository, true, 1, eventPublisher, Runnable::run);
+        limited.afterSingletonsInstantiated();
+
+        Assertions.assertThat(limited.filter(new CarCriterionFilteringView(
+                        null, null, null, null, null, null, Color.BLACK, null)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When changes are queued, keep the previous snapshot until the executor applies all of them together, then signal it once.")
+    public void test9() {
+
+        var tasks = new ArrayList<Runnable>();
+        var deferred = new CarColumnStore(carRepository, componentRepository, true, 1000, eventPublisher, tasks::add);
+        deferred.afterSingletonsInstantiated();
+
+        var car = CarEntity
+                .builder()
+                .id(1L)
+                .brand("FIAT")
+                .model("PANDA")
+                .price(BigDecimal.valueOf(50000))
+                .speed(160)
+                .color(Color.RED)
+                .components(List.of(ABS))
+                .build();
+
+        deferred.onCarsSaved(new CarsSavedEvent(List.of(car)));
+        deferred.onCarsDeleted(new CarsDeletedEvent(List.of(2L, 3L)));
+        deferred.onComponentsSaved(new ComponentsSavedEvent(List.of(ComponentEntity.builder().id(1L).name("ESP").build())));
+
+        Assertions.assertThat(deferred.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("AUDI", 1L), new GroupByView<>("BMW", 2L)));
+        verify(eventPublisher, never())
+                .publishEvent(any(CarColumnsUpdatedEvent.class));
+
+        tasks.getFirst().run();
+
+        Assertions.assertThat(deferred.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("FIAT", 1L)));
+        Assertions.assertThat(deferred.groupByField("model"))
+                .contains(List.of(new GroupByView<>("PANDA", 1L)));
+        Assertions.assertThat(deferred.groupByComponent())
+                .contains(List.of(
+                        new ComponentsAndCarsView("ESP", 1L, "FIAT", "PANDA", Color.RED, new BigDecimal("50000.00"), 160)));
+
+        tasks.subList(1, tasks.size()).forEach(Runnable::run);
+
+        Assertions.assertThat(deferred.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("FIAT", 1L)));
+        verify(eventPublisher, times(1))
+                .publishEvent(any(CarColumnsUpdatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("When committed changes are not applied yet, do not answer the filter lookups, so that no committed car is filtered out.")
+    public void test10() {
+
+        var tasks = new ArrayList<Runnable>();
+        var deferred = new CarColumnStore(carRepository, componentRepository, true, 1000, eventPublisher, tasks::add);
+        deferred.afterSingletonsInstantiated();
+
+        var car = CarEntity
+                .builder()
+                .id(4L)
+                .brand("FIAT")
+                .model("PANDA")
+                .price(BigDecimal.valueOf(50000))
+                .speed(160)
+                .color(Color.BLACK)
+                .components(List.of())
+                .build();
+        var blackCars = new CarCriterionFilteringView(null, null, null, null, null, null, Color.BLACK, null);
+
+        deferred.onCarsSaved(new CarsSavedEvent(List.of(car)));
+
+        Assertions.assertThat(deferred.filter(blackCars))
+                .isEmpty();
+
+        tasks.forEach(Runnable::run);
+
+        Assertions.assertThat(deferred.filter(blackCars))
+                .contains(List.of(1L, 3L, 4L));
+    }
+
+    @Test
+    @DisplayName("When changes span several blocks, apply them to each block holding a changed car, splitting the blocks grown too large.")
+    public void test11() {
+
+        when(carRepository.findAllRows())
+                .thenReturn(LongStream
+                        .rangeClosed(1, 3 * CarColumnStore.BLOCK_SIZE)
+                        .mapToObj(id -> new CarRowView(
+                                id, "AUDI", "A" + id % 10, BigDecimal.valueOf(id * 10), 200, Color.BLACK))
+                        .toList());
+        carColumnStore.reload();
+
+        carColumnStore.onCarsSaved(new CarsSavedEvent(LongStream
+                .rangeClosed(1, 5 * CarColumnStore.BLOCK_SIZE)
+                .filter(id -> id % 2 == 0 || id > 3 * CarColumnStore.BLOCK_SIZE)
+                .mapToObj(id -> CarEntity
+                        .builder()
+                        .id(id)
+                        .brand("TESLA")
+                        .model("S" + id % 10)
+                        .price(BigDecimal.valueOf(id * 10 + 5))
+                        .speed(250)
+                        .color(Color.WHITE)
+                        .components(List.of())
+                        .build())
+                .toList()));
+        carColumnStore.onCarsDeleted(new CarsDeletedEvent(LongStream
+                .rangeClosed(1, 5 * CarColumnStore.BLOCK_SIZE)
+                .filter(id -> id % 3 == 0)
+                .boxed()
+                .toList()));
+
+        var audis = LongStream
+                .rangeClosed(1, 3 * CarColumnStore.BLOCK_SIZE)
+                .filter(id -> id % 2 != 0 && id % 3 != 0)
+                .count();
+        var teslas = LongStream
+                .rangeClosed(1, 5 * CarColumnStore.BLOCK_SIZE)
+                .filter(id -> (id % 2 == 0 || id > 3 * CarColumnStore.BLOCK_SIZE) && id % 3 != 0)
+                .count();
+
+        Assertions.assertThat(carColumnStore.groupByField("brand"))
+                .contains(List.of(new GroupByView<>("AUDI", audis), new GroupByView<>("TESLA", teslas)));
+        Assertions.assertThat(carColumnStore.filter(new CarCriterionFilteringView(
+                        null, null, null, null, BigDecimal.valueOf(20000), BigDecimal.valueOf(20100), null, null)))
+                .contains(List.of(2000L, 2002L, 2003L, 2005L, 2006L, 2008L, 2009L));
+    }
+
+    @Test
+    @DisplayName("When a car is saved with a price not fitting into the store, answer no lookup but keep applying the changes until the car is saved with a smaller price.")
+    public void test12() {
+
+        var car = CarEntity
+                .builder()
+                .id(4L)
+                .brand("FIAT")
+                .model("PANDA")
+                .price(new BigDecimal("100000000000000000"))
+                .speed(160)
+                .color(Color.RED)
+                .components(List.of())
+                .build();
+
+        carColumnStore.onCarsSaved(new CarsSavedEvent(List.of(car)));
+
+        Assertions.assertThat(carColumnStore.isReady())
+                .isFalse();
+        Assertions.assertThat(carColumnStore.groupByField("brand"))
+                .isEmpty();
+
+        carColumnStore.onCarsSaved(new CarsSavedEvent(List.of(CarEntity
+                .builder()
+                .id(5L)
+                .brand("FIAT")
+                .model("500")
+                .price(BigDecimal.valueOf(60000))
+                .speed(150)
+                .color(Color.RED)
+                .components(List.of())
+                .build())));
+        carColumnStore.onCarsSaved(new CarsSavedEvent(List.of(CarEntity
+                .builder()
+                .id(4L)
+                .brand("FIAT")
+                .model("PANDA")
+                .price(BigDecimal.valueOf(50000))
+                .speed(160)
+                .color(Color.RED)
+                .components(List.of())
+                .build())));
+
+        Assertions.assertThat(carColumnStore.isReady())
+                .isTrue();
+        Assertions.assertThat(carColumnStore.groupByField("brand"))
+                .contains(List.of(
+                        new GroupByView<>("AUDI", 1L), new GroupByView<>("BMW", 2L), new GroupByView<>("FIAT", 2L)));
+    }
+}
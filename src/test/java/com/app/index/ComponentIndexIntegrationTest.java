@@ -0,0 +1,108 @@
+package com.app.index;
+
+import com.app.color.Color;
+import com.app.controller.dto.car.CarCriterionDto;
+import com.app.controller.dto.car.CarDto;
+import com.app.controller.dto.car.CreateCarDto;
+import com.app.controller.dto.components.CreateComponentDto;
+import com.app.service.CarService;
+import com.app.service.ComponentService;
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@SpringBootTest(properties = {
+        "index.component.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.app.index.ComponentIndexIntegrationTest$StatementRecorder"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+public class ComponentIndexIntegrationTest {
+
+    @Autowired
+    private ComponentIndex componentIndex;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private ComponentService componentService;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    public void setUp() {
+        var sunroof = componentService.save(new CreateComponentDto("SUNROOF"));
+        var radio = componentService.save(new CreateComponentDto("RADIO"));
+        ids = carService.saveAll(List.of(
+                new CreateCarDto("BMW", "X3", 250, BigDecimal.valueOf(250000), Color.BLACK, List.of(sunroof, radio)),
+                new CreateCarDto("BMW", "X1", 220, BigDecimal.valueOf(200000), Color.RED, List.of(sunroof)),
+                new CreateCarDto("AUDI", "A1", 180, BigDecimal.valueOf(150000), Color.BLACK, List.of(radio))));
+
+        StatementRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("When filtering cars requiring all components known to the index, read the cars by ID without matching the components in the database.")
+    public void test1() {
+
+        Assertions.assertThat(componentIndex.isReady())
+                .isTrue();
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        "BMW", null, null, null, null, null, null, List.of("SUNROOF", "RADIO"), true)))
+                .extracting(CarDto::id)
+                .containsExactly(ids.get(0));
+
+        assertComponentsNotMatched();
+    }
+
+    @Test
+    @DisplayName("When filtering cars having any component known to the index, read the cars by ID without matching the components in the database.")
+    public void test2() {
+
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        null, null, null, null, null, null, Color.BLACK, List.of("RADIO"))))
+                .extracting(CarDto::id)
+                .containsExactly(ids.get(0), ids.get(2));
+
+        assertComponentsNotMatched();
+    }
+
+    /**
+     * Asserts that the filtering query only joins the component names of the returned cars, once,
+     * with no subquery over the components.
+     */
+    private static void assertComponentsNotMatched() {
+        Assertions.assertThat(StatementRecorder.STATEMENTS)
+                .filteredOn(sql -> sql.startsWith("select"))
+                .singleElement()
+                .satisfies(sql -> Assertions.assertThat(sql)
+                        .containsOnlyOnce("cars_components")
+                        .contains(" in (")
+                        .doesNotContain("exists", "having", "group by"));
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate.
+     */
+    public static class StatementRecorder implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+}
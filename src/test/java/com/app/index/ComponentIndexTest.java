@@ -0,0 +1,171 @@
+package com.app.index;
+
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.ComponentCarView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.event.ComponentsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class ComponentIndexTest {
+
+    private static final ComponentEntity ABS = ComponentEntity.builder().id(1L).name("ABS").build();
+    private static final ComponentEntity AIR_CONDITIONING = ComponentEntity.builder().id(2L).name("AIR CONDITIONING").build();
+    private static final ComponentEntity BLUETOOTH = ComponentEntity.builder().id(3L).name("BLUETOOTH").build();
+
+    @Mock
+    private ComponentRepository componentRepository;
+
+    private ComponentIndex componentIndex;
+
+    @BeforeEach
+    public void setUp() {
+        when(componentRepository.findAll())
+                .thenReturn(List.of(ABS, AIR_CONDITIONING, BLUETOOTH));
+
+        when(componentRepository.findAllComponentCars())
+                .thenReturn(List.of(
+                        new ComponentCarView(1L, 1L),
+                        new ComponentCarView(1L, 2L),
+                        new ComponentCarView(2L, 2L),
+                        new ComponentCarView(2L, 3L)));
+
+        componentIndex = new ComponentIndex(componentRepository, true, 1000);
+        componentIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("When looking for cars with any of the components, return their IDs in ascending order.")
+    public void test1() {
+
+        Assertions.assertThat(componentIndex.findCarsWithAnyComponent(List.of("AIR CONDITIONING", "ABS")))
+                .contains(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("When counting cars by component, return the number of cars of each component ordered by name.")
+    public void test2() {
+
+        Assertions.assertThat(componentIndex.countCarsByComponent())
+                .contains(new TreeMap<>(Map.of("ABS", 2L, "AIR CONDITIONING", 2L, "BLUETOOTH", 0L)));
+    }
+
+    @Test
+    @DisplayName("When cars and components are saved and deleted, the index reflects the changes.")
+    public void test3() {
+
+        var car = CarEntity
+                .builder()
+                .id(3L)
+                .components(List.of(BLUETOOTH))
+                .build();
+
+        componentIndex.onCarsSaved(new CarsSavedEvent(List.of(car)));
+        componentIndex.onCarsDeleted(new CarsDeletedEvent(List.of(1L)));
+        componentIndex.onComponentsDeleted(new ComponentsDeletedEvent(List.of(2L)));
+
+        Assertions.assertThat(componentIndex.countCarsByComponent())
+                .contains(new TreeMap<>(Map.of("ABS", 1L, "BLUETOOTH", 1L)));
+    }
+
+    @Test
+    @DisplayName("When more cars than the maximum filter size match, no lookup can be answered by the index.")
+    public void test4() {
+
+        var limited = new ComponentIndex(componentRepository, true, 2);
+        limited.afterSingletonsInstantiated();
+
+        Assertions.assertThat(limited.findCarsWithAnyComponent(List.of("ABS", "AIR CONDITIONING")))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When looking for cars with all the components, return the IDs of the cars having every component.")
+    public void test5() {
+
+        Assertions.assertThat(componentIndex.findCarsWithAllComponents(List.of("AIR CONDITIONING", "ABS")))
+                .contains(List.of(2L));
+        Assertions.assertThat(componentIndex.findCarsWithAllComponents(List.of("ABS", "BLUETOOTH")))
+                .contains(List.of());
+    }
+
+    @Test
+    @DisplayName("When checking whether components exist, answer from the component IDs held by the index.")
+    public void test6() {
+
+        Assertions.assertThat(componentIndex.containsAllComponents(List.of(1L, 3L)))
+                .contains(true);
+        Assertions.assertThat(componentIndex.containsAllComponents(List.of(1L, 4L)))
+                .contains(false);
+
+        componentIndex.onComponentsDeleted(new ComponentsDeletedEvent(List.of(3L)));
+
+        Assertions.assertThat(componentIndex.containsAllComponents(List.of(1L, 3L)))
+                .contains(false);
+    }
+
+    @Test
+    @DisplayName("When a component is renamed, look it up by its new name only.")
+    public void test7() {
+
+        var renamed = ComponentEntity.builder().id(1L).name("ESP").build();
+
+        componentIndex.onComponentsSaved(new ComponentsSavedEvent(List.of(renamed)));
+
+        Assertions.assertThat(componentIndex.findCarsWithAnyComponent(List.of("ESP")))
+                .contains(List.of(1L, 2L));
+        Assertions.assertThat(componentIndex.findCarsWithAnyComponent(List.of("ABS")))
+                .isEmpty();
+        Assertions.assertThat(componentIndex.countCarsByComponent())
+                .contains(new TreeMap<>(Map.of("AIR CONDITIONING", 2L, "BLUETOOTH", 0L, "ESP", 2L)));
+    }
+
+    @Test
+    @DisplayName("When a car is saved with other components, remove it from the bitmaps of its previous components.")
+    public void test8() {
+
+        var car = CarEntity
+                .builder()
+                .id(2L)
+                .components(List.of(BLUETOOTH))
+                .build();
+
+        componentIndex.onCarsSaved(new CarsSavedEvent(List.of(car)));
+
+        Assertions.assertThat(componentIndex.countCarsByComponent())
+                .contains(new TreeMap<>(Map.of("ABS", 1L, "AIR CONDITIONING", 1L, "BLUETOOTH", 1L)));
+
+        componentIndex.onCarsDeleted(new CarsDeletedEvent(List.of(2L)));
+
+        Assertions.assertThat(componentIndex.countCarsByComponent())
+                .contains(new TreeMap<>(Map.of("ABS", 1L, "AIR CONDITIONING", 1L, "BLUETOOTH", 0L)));
+    }
+
+    @Test
+    @DisplayName("When a component name is not known exactly, leave the lookup to the database and its collation.")
+    public void test9() {
+
+        Assertions.assertThat(componentIndex.findCarsWithAnyComponent(List.of("abs")))
+                .isEmpty();
+        Assertions.assertThat(componentIndex.findCarsWithAnyComponent(List.of("ABS", "GPS")))
+                .isEmpty();
+        Assertions.assertThat(componentIndex.findCarsWithAllComponents(List.of("ABS ", "AIR CONDITIONING")))
+                .isEmpty();
+    }
+}
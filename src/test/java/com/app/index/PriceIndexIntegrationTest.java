@@ -0,0 +1,70 @@
+package com.app.index;
+
+import com.app.color.Color;
+import com.app.controller.dto.car.CarDto;
+import com.app.controller.dto.car.CreateCarDto;
+import com.app.controller.dto.components.CreateComponentDto;
+import com.app.persistence.CarRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.service.CarService;
+import com.app.service.ComponentService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@SpringBootTest(properties = "index.price.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+public class PriceIndexIntegrationTest {
+
+    @Autowired
+    private PriceIndex priceIndex;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private ComponentService componentService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("When cars are saved, updated and deleted, the index answers the same cars as the database.")
+    public void test1() {
+
+        var component = componentService.save(new CreateComponentDto("SUNROOF"));
+        var ids = carService.saveAll(List.of(
+                new CreateCarDto("BMW", "X3", 250, BigDecimal.valueOf(250000), Color.BLACK, List.of(component)),
+                new CreateCarDto("BMW", "X1", 220, BigDecimal.valueOf(200000), Color.RED, List.of(component)),
+                new CreateCarDto("AUDI", "A1", 180, BigDecimal.valueOf(150000), Color.BLACK, List.of(component))));
+
+        carService.upsertAll(List.of(
+                new CreateCarDto("BMW", "X3", 250, BigDecimal.valueOf(205000), Color.BLACK, List.of(component))));
+        carService.deleteById(ids.get(1));
+
+        Assertions.assertThat(priceIndex.isReady())
+                .isTrue();
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(200000), 1))
+                .contains(List.of(ids.get(0)));
+        Assertions.assertThat(carService.getCarsCloseToPrice(BigDecimal.valueOf(200000), 2))
+                .extracting(CarDto::id)
+                .containsExactlyElementsOf(new TransactionTemplate(transactionManager).execute(status -> carRepository
+                        .findCarsCloseToPrice(BigDecimal.valueOf(200000), 2)
+                        .stream()
+                        .map(CarEntity::getId)
+                        .toList()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.view.CarPriceView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class PriceIndexTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    private PriceIndex priceIndex;
+
+    @BeforeEach
+    public void setUp() {
+        when(carRepository.findAllPrices())
+                .thenReturn(List.of(
+                        new CarPriceView(1L, new BigDecimal("250000.00")),
+                        new CarPriceView(2L, new BigDecimal("200000.00")),
+                        new CarPriceView(3L, new BigDecimal("150000.00"))));
+
+        priceIndex = new PriceIndex(carRepository, true, 2);
+        priceIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("When looking for the car closest to a given price, return the ID of the closest car.")
+    public void test1() {
+
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(210000), 1))
+                .contains(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("When cars are as close to the given price as the k-th closest car, return their IDs ordered by price.")
+    public void test2() {
+
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(200000), 2))
+                .contains(List.of(3L, 2L, 1L));
+    }
+
+    @Test
+    @DisplayName("When the given price has fractions of a cent, the closest cars cannot be found by the index.")
+    public void test3() {
+
+        Assertions.assertThat(priceIndex.findClosest(new BigDecimal("210000.001"), 1))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When looking for cars within a price range, return the IDs of the cars within the range.")
+    public void test4() {
+
+        Assertions.assertThat(priceIndex.findInRange(new BigDecimal("150000.001"), null))
+                .contains(List.of(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("When more cars than the maximum range size are within a price range, the range cannot be found by the index.")
+    public void test5() {
+
+        Assertions.assertThat(priceIndex.findInRange(null, null))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When cars are saved and deleted, the index reflects the changes.")
+    public void test6() {
+
+        var car = CarEntity
+                .builder()
+                .id(4L)
+                .price(BigDecimal.valueOf(205000))
+                .build();
+
+        priceIndex.onCarsSaved(new CarsSavedEvent(List.of(car)));
+        priceIndex.onCarsDeleted(new CarsDeletedEvent(List.of(2L)));
+
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(200000), 1))
+                .contains(List.of(4L));
+    }
+
+    @Test
+    @DisplayName("When the index is disabled, no lookup can be answered by the index.")
+    public void test7() {
+
+        var disabled = new PriceIndex(carRepository, false, 2);
+        disabled.afterSingletonsInstantiated();
+
+        Assertions.assertThat(disabled.findClosest(BigDecimal.valueOf(200000), 1))
+                .isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("When the changes span several blocks, the index keeps every price in order.")
+    public void test8() {
+
+        var index = new PriceIndex(carRepository, true, Integer.MAX_VALUE);
+        when(carRepository.findAllPrices())
+                .thenReturn(LongStream
+                        .rangeClosed(1, 3 * PriceIndex.BLOCK_SIZE)
+                        .mapToObj(id -> new CarPriceView(id, BigDecimal.valueOf(id * 10)))
+                        .toList());
+        index.afterSingletonsInstantiated();
+
+        index.onCarsSaved(new CarsSavedEvent(LongStream
+                .rangeClosed(1, 5 * PriceIndex.BLOCK_SIZE)
+                .filter(id -> id % 2 == 0 || id > 3 * PriceIndex.BLOCK_SIZE)
+                .mapToObj(id -> CarEntity.builder().id(id).price(BigDecimal.valueOf(id * 10 + 5)).build())
+                .toList()));
+        index.onCarsDeleted(new CarsDeletedEvent(LongStream
+                .rangeClosed(1, 5 * PriceIndex.BLOCK_SIZE)
+                .filter(id -> id % 3 == 0)
+                .boxed()
+                .toList()));
+
+        var expected = LongStream
+                .rangeClosed(1, 5 * PriceIndex.BLOCK_SIZE)
+                .filter(id -> id % 3 != 0)
+                .boxed()
+                .toList();
+
+        Assertions.assertThat(index.findInRange(null, null))
+                .contains(expected);
+        Assertions.assertThat(index.findClosest(BigDecimal.valueOf(20000), 1))
+                .contains(List.of(2000L));
+    }
+
+    @Test
+    @DisplayName("When a car is saved with a price not fitting into the index, answer no lookup but keep applying the changes until the car is saved with a smaller price.")
+    public void test9() {
+
+        priceIndex.onCarsSaved(new CarsSavedEvent(List.of(
+                CarEntity.builder().id(4L).price(new BigDecimal("100000000000000000")).build())));
+
+        Assertions.assertThat(priceIndex.isReady())
+                .isFalse();
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(210000), 1))
+                .isEmpty();
+
+        priceIndex.onCarsSaved(new CarsSavedEvent(List.of(
+                CarEntity.builder().id(5L).price(BigDecimal.valueOf(205000)).build())));
+        priceIndex.onCarsSaved(new CarsSavedEvent(List.of(
+                CarEntity.builder().id(4L).price(BigDecimal.valueOf(100000)).build())));
+
+        Assertions.assertThat(priceIndex.isReady())
+                .isTrue();
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(210000), 1))
+                .contains(List.of(5L));
+        Assertions.assertThat(priceIndex.findClosest(BigDecimal.valueOf(90000), 1))
+                .contains(List.of(4L));
+    }
+}
@@ -0,0 +1,167 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.view.CarPriceSpeedView;
+import com.app.persistence.view.PriceSpeedStatisticView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class PriceSpeedStatisticIndexTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    private PriceSpeedStatisticIndex statisticIndex;
+
+    @BeforeEach
+    public void setUp() {
+        when(carRepository.findAllPricesAndSpeeds())
+                .thenReturn(List.of(
+                        new CarPriceSpeedView(1L, new BigDecimal("250000.00"), 250),
+                        new CarPriceSpeedView(2L, new BigDecimal("200000.00"), 220),
+                        new CarPriceSpeedView(3L, new BigDecimal("150000.00"), 180)));
+
+        statisticIndex = new PriceSpeedStatisticIndex(carRepository, true);
+        statisticIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("When the index is loaded, return the statistics with the averages rounded as by the database.")
+    public void test1() {
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("150000.00"), new BigDecimal("250000.00"),
+                        200000.0, 180, 250, 216.6667));
+    }
+
+    @Test
+    @DisplayName("When the cheapest and the fastest cars are deleted, return the statistics of the remaining cars.")
+    public void test2() {
+
+        statisticIndex.onCarsDeleted(new CarsDeletedEvent(List.of(1L, 3L)));
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("200000.00"), new BigDecimal("200000.00"),
+                        200000.0, 220, 220, 220.0));
+    }
+
+    @Test
+    @DisplayName("When a car is saved, return the statistics including the saved car.")
+    public void test3() {
+
+        var car = CarEntity
+                .builder()
+                .id(4L)
+                .price(BigDecimal.valueOf(100000))
+                .speed(300)
+                .build();
+
+        statisticIndex.onCarsSaved(new CarsSavedEvent(List.of(car)));
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("100000.00"), new BigDecimal("250000.00"),
+                        175000.0, 180, 300, 237.5));
+    }
+
+    @Test
+    @DisplayName("When the statistics drifted from the stored data, the reconcile reloads them and reports the drift.")
+    public void test4() {
+
+        when(carRepository.findAllPricesAndSpeeds())
+                .thenReturn(List.of(new CarPriceSpeedView(1L, new BigDecimal("250000.00"), 250)));
+
+        Assertions.assertThat(statisticIndex.reconcile())
+                .isTrue();
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("250000.00"), new BigDecimal("250000.00"),
+                        250000.0, 250, 250, 250.0));
+    }
+
+    @Test
+    @DisplayName("When all cars are deleted, there are no statistics.")
+    public void test5() {
+
+        statisticIndex.onCarsDeleted(new CarsDeletedEvent(List.of(1L, 2L, 3L)));
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When a car saved during the reconcile is already read by it, count the car once and report no drift.")
+    public void test6() {
+
+        var car = CarEntity
+                .builder()
+                .id(4L)
+                .price(BigDecimal.valueOf(100000))
+                .speed(300)
+                .build();
+
+        when(carRepository.findAllPricesAndSpeeds())
+                .thenAnswer(invocation -> {
+                    // The listener of the committed save runs while the reconcile reads the database
+                    CompletableFuture
+                            .runAsync(() -> statisticIndex.onCarsSaved(new CarsSavedEvent(List.of(car))))
+                            .get(5, TimeUnit.SECONDS);
+                    return List.of(
+                            new CarPriceSpeedView(1L, new BigDecimal("250000.00"), 250),
+                            new CarPriceSpeedView(2L, new BigDecimal("200000.00"), 220),
+                            new CarPriceSpeedView(3L, new BigDecimal("150000.00"), 180),
+                            new CarPriceSpeedView(4L, new BigDecimal("100000.00"), 300));
+                });
+
+        Assertions.assertThat(statisticIndex.reconcile())
+                .isFalse();
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("100000.00"), new BigDecimal("250000.00"),
+                        175000.0, 180, 300, 237.5));
+    }
+
+    @Test
+    @DisplayName("When a car deleted during the reconcile is still read by it, replay the delete on the reloaded statistics.")
+    public void test7() {
+
+        when(carRepository.findAllPricesAndSpeeds())
+                .thenAnswer(invocation -> {
+                    CompletableFuture
+                            .runAsync(() -> statisticIndex.onCarsDeleted(new CarsDeletedEvent(List.of(1L, 3L))))
+                            .get(5, TimeUnit.SECONDS);
+                    return List.of(
+                            new CarPriceSpeedView(1L, new BigDecimal("250000.00"), 250),
+                            new CarPriceSpeedView(2L, new BigDecimal("200000.00"), 220),
+                            new CarPriceSpeedView(3L, new BigDecimal("150000.00"), 180));
+                });
+
+        Assertions.assertThat(statisticIndex.reconcile())
+                .isFalse();
+
+        Assertions.assertThat(statisticIndex.findPriceSpeedStatistics())
+                .contains(new PriceSpeedStatisticView(
+                        new BigDecimal("200000.00"), new BigDecimal("200000.00"),
+                        200000.0, 220, 220, 220.0));
+    }
+}
@@ -0,0 +1,123 @@
+package com.app.index;
+
+import com.app.persistence.CarRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.view.CarSpeedView;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class SpeedIndexTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    private SpeedIndex speedIndex;
+
+    @BeforeEach
+    public void setUp() {
+        when(carRepository.findAllSpeeds())
+                .thenReturn(List.of(
+                        new CarSpeedView(1L, 250),
+                        new CarSpeedView(2L, 220),
+                        new CarSpeedView(3L, 180),
+                        new CarSpeedView(4L, 220)));
+
+        speedIndex = new SpeedIndex(carRepository, true, 1000);
+        speedIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("When looking for cars within a speed interval, return their IDs ordered by speed.")
+    public void test1() {
+
+        Assertions.assertThat(speedIndex.findBetween(200, 300))
+                .contains(List.of(2L, 4L, 1L));
+    }
+
+    @Test
+    @DisplayName("When counting cars within a speed interval, return the number of cars within the interval.")
+    public void test2() {
+
+        Assertions.assertThat(speedIndex.countBetween(180, 220))
+                .contains(3L);
+    }
+
+    @Test
+    @DisplayName("When cars are saved and deleted, the index reflects the changes.")
+    public void test3() {
+
+        var car = CarEntity
+                .builder()
+                .id(3L)
+                .speed(230)
+                .build();
+
+        speedIndex.onCarsSaved(new CarsSavedEvent(List.of(car)));
+        speedIndex.onCarsDeleted(new CarsDeletedEvent(List.of(2L)));
+
+        Assertions.assertThat(speedIndex.findBetween(100, 300))
+                .contains(List.of(4L, 3L, 1L));
+    }
+
+    @Test
+    @DisplayName("When the index is disabled, no lookup can be answered by the index.")
+    public void test4() {
+
+        var disabled = new SpeedIndex(carRepository, false, 1000);
+        disabled.afterSingletonsInstantiated();
+
+        Assertions.assertThat(disabled.countBetween(100, 300))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("When more cars than the maximum range size are within a speed interval, the IDs are left to the database but the count is still answered.")
+    public void test5() {
+
+        var limited = new SpeedIndex(carRepository, true, 2);
+        limited.afterSingletonsInstantiated();
+
+        Assertions.assertThat(limited.findBetween(200, 300))
+                .isEmpty();
+        Assertions.assertThat(limited.findBetween(200, 230))
+                .contains(List.of(2L, 4L));
+        Assertions.assertThat(limited.countBetween(200, 300))
+                .contains(3L);
+    }
+
+    @Test
+    @DisplayName("When a bucket is edited, remove and insert the IDs at their sorted positions.")
+    public void test6() {
+
+        Assertions.assertThat(SpeedIndex.edit(new long[]{2, 4, 6, 8}, new long[]{4, 8, 9}, new long[]{1, 4, 7, 10}))
+                .containsExactly(1, 2, 4, 6, 7, 10);
+    }
+
+    @Test
+    @DisplayName("When a saved car keeps its speed, the bucket holds its ID once.")
+    public void test7() {
+
+        var car = CarEntity
+                .builder()
+                .id(2L)
+                .speed(220)
+                .build();
+
+        speedIndex.onCarsSaved(new CarsSavedEvent(List.of(car, car)));
+
+        Assertions.assertThat(speedIndex.findBetween(220, 220))
+                .contains(List.of(2L, 4L));
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.index.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+/**
+ * Compares the throughput of the scalar and the vector filter kernels evaluating the speed, price and color
+ * predicates over generated columns.
+ * <p>
+ * The benchmark is excluded from the regular build and runs with {@code mvn test -Pbenchmark,vector},
+ * the {@code vector} profile building the vector kernel.
+ * Larger columns, e.g. 100M rows, need a heap of a few GB given with {@code -DargLine}.
+ * </p>
+ */
+@Slf4j
+@Tag("benchmark")
+public class FilterKernelBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @ParameterizedTest
+    @DisplayName("When filtering columns by speed, price and color, the vector kernel is measured against the scalar kernel.")
+    @ValueSource(ints = {1_000_000, 10_000_000})
+    public void test1(int rows) {
+
+        Assumptions.assumeTrue(FilterKernels.vector().isPresent(), "The vector kernel is built with -Pvector");
+
+        var random = new Random(rows);
+        var cents = random.longs(rows, 1_000_000, 100_000_000).toArray();
+        var speeds = random.ints(rows, 100, 300).toArray();
+        var colors = new byte[rows];
+        for (int row = 0; row < rows; row++) {
+            colors[row] = (byte) random.nextInt(12);
+        }
+
+        var scalar = measure("scalar", new ScalarFilterKernel(), cents, speeds, colors);
+        var vector = measure("vector", FilterKernels.vector().orElseThrow(), cents, speeds, colors);
+
+        Assertions.assertThat(vector).isEqualTo(scalar);
+    }
+
+    private int measure(String name, FilterKernel kernel, long[] cents, int[] speeds, byte[] colors) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            filter(kernel, cents, speeds, colors);
+        }
+
+        var count = 0;
+        var start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            count = filter(kernel, cents, speeds, colors);
+        }
+        var elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS / 1_000_000.0;
+
+        log.info("{} kernel: {} of {} rows selected in {} ms on average ({} M rows/s)",
+                name, count, cents.length, String.format("%.2f", elapsed),
+                String.format("%.0f", cents.length / elapsed / 1000));
+        return count;
+    }
+
+    private static int filter(FilterKernel kernel, long[] cents, int[] speeds, byte[] colors) {
+        var selection = FilterKernels.selectAll(cents.length);
+        kernel.between(speeds, 150, 250, selection);
+        kernel.between(cents, 20_000_000, 60_000_000, selection);
+        kernel.equal(colors, (byte) 2, selection);
+        return FilterKernels.count(selection);
+    }
+}
@@ -0,0 +1,65 @@
+package com.app.index.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class FilterKernelTest {
+
+    private static final FilterKernel SCALAR = new ScalarFilterKernel();
+    private static final Optional<FilterKernel> VECTOR = FilterKernels.vector();
+
+    @Test
+    @DisplayName("When the vector kernel is built and its module is available, return it as the fastest kernel, and the scalar kernel otherwise.")
+    public void test1() {
+
+        Assertions.assertThat(FilterKernels.fastest().getClass().getName())
+                .isEqualTo(VECTOR.isPresent() ? FilterKernels.VECTOR_KERNEL : ScalarFilterKernel.class.getName());
+    }
+
+    @ParameterizedTest
+    @DisplayName("When evaluating the predicates over columns, select the same rows with the scalar and the available vector kernels as row by row.")
+    @ValueSource(ints = {0, 1, 63, 64, 65, 1000})
+    public void test2(int rows) {
+
+        var random = new Random(rows);
+        var cents = random.longs(rows, 0, 1000).toArray();
+        var speeds = random.ints(rows, 100, 300).toArray();
+        var colors = new byte[rows];
+        for (int row = 0; row < rows; row++) {
+            colors[row] = (byte) random.nextInt(3);
+        }
+
+        var expected = new long[FilterKernels.selectAll(rows).length];
+        for (int row = 0; row < rows; row++) {
+            if (cents[row] >= 200 && cents[row] <= 700 && speeds[row] >= 150 && speeds[row] <= 250 && colors[row] == 1) {
+                expected[row / Long.SIZE] |= 1L << row % Long.SIZE;
+            }
+        }
+
+        for (var kernel : Stream.concat(Stream.of(SCALAR), VECTOR.stream()).toList()) {
+            var selection = FilterKernels.selectAll(rows);
+            kernel.between(cents, 200, 700, selection);
+            kernel.between(speeds, 150, 250, selection);
+            kernel.equal(colors, (byte) 1, selection);
+
+            Assertions.assertThat(selection).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("When selecting all the rows of a column, set one bit per row and count them.")
+    public void test3() {
+
+        var selection = FilterKernels.selectAll(130);
+
+        Assertions.assertThat(selection).containsExactly(-1L, -1L, 0b11L);
+        Assertions.assertThat(FilterKernels.count(selection)).isEqualTo(130);
+    }
+}
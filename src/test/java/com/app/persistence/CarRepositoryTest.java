@@ -4,14 +4,23 @@ package com.app.persistence;
 import com.app.color.Color;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.impl.CarSpecificationImpl;
+import com.app.persistence.view.CarCriterionFilteringView;
+import com.app.persistence.view.CarView;
+import com.app.persistence.view.ComponentCarView;
 import com.app.persistence.view.PriceSpeedStatisticView;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -22,6 +31,7 @@ import java.util.List;
 import static com.app.data.CarComponentData.*;
 
 @DataJpaTest
+@Import(CarFieldRegistry.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
@@ -33,6 +43,9 @@ public class CarRepositoryTest {
     @Autowired
     private ComponentRepository componentRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private ComponentEntity COMPONENT_ENTITY_SAVE_1;
 
     private ComponentEntity COMPONENT_ENTITY_SAVE_2;
@@ -135,5 +148,133 @@ public class CarRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("When we read all sorted cars, the components of every car are fetched together with the cars.")
+    public void test4() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        var cars = carRepository.findAll(Sort.by("id"));
+
+        Assertions.assertThat(cars)
+                .hasSize(3)
+                .allMatch(car -> Hibernate.isInitialized(car.getComponents()));
+        Assertions.assertThat(cars.get(1).getComponents())
+                .extracting(ComponentEntity::getName)
+                .containsExactlyInAnyOrder("RADIO", "BACKUP CAMERA");
+    }
+
+    @Test
+    @DisplayName("When we look for the k cars closest to the given price, return them ordered by price.")
+    public void test5() {
 
+        Assertions.assertThat(carRepository.findCarsCloseToPrice(BigDecimal.valueOf(210000), 2))
+                .containsExactly(CAR_ENTITY_READ_2, CAR_ENTITY_READ_1);
+    }
+
+    @Test
+    @DisplayName("When other cars are as close to the given price as the k-th closest car, return them as well.")
+    public void test6() {
+
+        Assertions.assertThat(carRepository.findCarsCloseToPrice(BigDecimal.valueOf(200000), 2))
+                .containsExactly(CAR_ENTITY_READ_3, CAR_ENTITY_READ_2, CAR_ENTITY_READ_1);
+    }
+
+    @Test
+    @DisplayName("When we filter cars by components, return each car having any of the components once.")
+    public void test7() {
+
+        var specification = new CarSpecificationImpl().dynamicFilters(new CarCriterionFilteringView(
+                null, null, null, null, null, null, null, List.of("RADIO", "BACKUP CAMERA")));
+
+        Assertions.assertThat(carRepository.findAll(specification))
+                .extracting(CarEntity::getModel)
+                .containsExactlyInAnyOrder("X1", "A1");
+    }
+
+    @Test
+    @DisplayName("When we filter cars without filtering components, return the cars without components as well.")
+    public void test8() {
+
+        carRepository.save(CarEntity
+                .builder()
+                .brand("AUDI")
+                .model("A3")
+                .price(BigDecimal.valueOf(160000))
+                .speed(200)
+                .color(Color.RED)
+                .build());
+
+        var specification = new CarSpecificationImpl().dynamicFilters(new CarCriterionFilteringView(
+                "AUDI", null, null, null, null, null, null, null));
+
+        Assertions.assertThat(carRepository.findAll(specification))
+                .extracting(CarEntity::getModel)
+                .containsExactlyInAnyOrder("A1", "A3");
+    }
+
+    @Test
+    @DisplayName("When we filter cars requiring all the components, return only the cars having every component.")
+    public void test9() {
+
+        var specification = new CarSpecificationImpl().dynamicFilters(new CarCriterionFilteringView(
+                null, null, null, null, null, null, null, List.of("RADIO", "BACKUP CAMERA", "RADIO"), true));
+
+        Assertions.assertThat(carRepository.findAll(specification))
+                .extracting(CarEntity::getModel)
+                .containsExactly("X1");
+    }
+
+    @Test
+    @DisplayName("When we read the cars as views, return them sorted with their component names and without managed entities.")
+    public void test10() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        var cars = carRepository.findCarViews(
+                new CarSpecificationImpl().dynamicFilters(new CarCriterionFilteringView(
+                        null, null, 200, null, null, null, null, null)),
+                Sort.by(Sort.Direction.DESC, "speed"));
+
+        Assertions.assertThat(cars)
+                .extracting(CarView::model)
+                .containsExactly("X3", "X1");
+        Assertions.assertThat(cars.get(1).components())
+                .containsExactlyInAnyOrder("RADIO", "BACKUP CAMERA");
+        Assertions.assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When deleting cars by IDs in bulk, delete them and their component associations without loading them.")
+    public void test11() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Assertions.assertThat(carRepository.countByIdIn(List.of(2L, 3L, 4L)))
+                .isEqualTo(2L);
+        Assertions.assertThat(carRepository.deleteAllByIdIn(List.of(2L, 3L)))
+                .isEqualTo(2);
+
+        Assertions.assertThat(carRepository.findAll())
+                .extracting(CarEntity::getModel)
+                .containsExactly("X3");
+        Assertions.assertThat(componentRepository.findAllComponentCars())
+                .extracting(ComponentCarView::carId)
+                .containsExactly(1L);
+        Assertions.assertThat(componentRepository.count())
+                .isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("When we filter cars requiring all the components given in different cases, count each component once.")
+    public void test12() {
+
+        var specification = new CarSpecificationImpl().dynamicFilters(new CarCriterionFilteringView(
+                null, null, null, null, null, null, null, List.of("RADIO", "backup camera", "Radio"), true));
+
+        Assertions.assertThat(carRepository.findAll(specification))
+                .extracting(CarEntity::getModel)
+                .containsExactly("X1");
+    }
 }
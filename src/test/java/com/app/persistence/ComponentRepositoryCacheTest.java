@@ -0,0 +1,116 @@
+package com.app.persistence;
+
+import com.app.persistence.entity.ComponentEntity;
+import com.app.service.event.ComponentsDeletedEvent;
+import com.app.service.impl.cache.ComponentCacheEvictor;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@DataJpaTest
+@Import(CarFieldRegistry.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class ComponentRepositoryCacheTest {
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        componentRepository.saveAll(List.of(
+                ComponentEntity.builder().name("AIR CONDITION").build(),
+                ComponentEntity.builder().name("SUNROOF").build(),
+                ComponentEntity.builder().name("RADIO").build()));
+    }
+
+    @Test
+    @DisplayName("When the components are cached, find them by IDs without querying the database.")
+    public void test1() {
+
+        transactionTemplate.execute(status -> componentRepository.findAllByIdCached(List.of(1L, 2L, 3L)));
+        statistics.clear();
+
+        List<ComponentEntity> components = transactionTemplate.execute(status -> componentRepository.findAllByIdCached(List.of(1L, 3L, 3L)));
+
+        Assertions.assertThat(components)
+                .extracting(ComponentEntity::getName)
+                .containsExactlyInAnyOrder("AIR CONDITION", "RADIO");
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When finding components by IDs, skip the IDs without a component.")
+    public void test2() {
+
+        List<ComponentEntity> components = transactionTemplate.execute(status -> componentRepository.findAllByIdCached(List.of(2L, 4L)));
+
+        Assertions.assertThat(components)
+                .extracting(ComponentEntity::getName)
+                .containsExactly("SUNROOF");
+    }
+
+    @Test
+    @DisplayName("When the component is cached, find it by name without querying the database.")
+    public void test3() {
+
+        transactionTemplate.execute(status -> componentRepository.findByNameCached("SUNROOF"));
+        statistics.clear();
+
+        Optional<ComponentEntity> component = transactionTemplate.execute(status -> componentRepository.findByNameCached("SUNROOF"));
+
+        Assertions.assertThat(component)
+                .map(ComponentEntity::getId)
+                .contains(2L);
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When components are deleted, evict them from the second-level cache.")
+    public void test4() {
+
+        transactionTemplate.execute(status -> componentRepository.findAllByIdCached(List.of(1L, 2L)));
+
+        new ComponentCacheEvictor(entityManagerFactory).onComponentsDeleted(new ComponentsDeletedEvent(List.of(1L)));
+
+        Assertions.assertThat(entityManagerFactory.getCache().contains(ComponentEntity.class, 1L))
+                .isFalse();
+        Assertions.assertThat(entityManagerFactory.getCache().contains(ComponentEntity.class, 2L))
+                .isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.persistence.id;
+
+import com.app.persistence.CarFieldRegistry;
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.ComponentEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.stream.IntStream;
+
+@DataJpaTest
+@Import(CarFieldRegistry.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class PooledSequenceGeneratorTest {
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SequenceStyleGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        generator = (SequenceStyleGenerator) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(ComponentEntity.class)
+                .getGenerator();
+    }
+
+    @Test
+    @DisplayName("When the generator is configured, allocate the number of identifiers set by the increment size setting.")
+    public void test1() {
+
+        Assertions.assertThat(generator)
+                .isInstanceOf(PooledSequenceGenerator.class);
+        Assertions.assertThat(generator.getOptimizer().getIncrementSize())
+                .isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("When a batch of entities fitting in one block is saved, access the sequence once.")
+    public void test2() {
+
+        componentRepository.save(ComponentEntity.builder().name("COMPONENT 0").build());
+        var accessed = generator.getDatabaseStructure().getTimesAccessed();
+
+        componentRepository.saveAll(IntStream
+                .rangeClosed(1, 100)
+                .mapToObj(i -> ComponentEntity.builder().name("COMPONENT " + i).build())
+                .toList());
+
+        Assertions.assertThat(generator.getDatabaseStructure().getTimesAccessed() - accessed)
+                .isEqualTo(1);
+    }
+}
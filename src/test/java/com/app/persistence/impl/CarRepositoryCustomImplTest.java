@@ -1,12 +1,16 @@
 package com.app.persistence.impl;
 
 import com.app.color.Color;
+import com.app.persistence.CarFieldRegistry;
 import com.app.persistence.CarRepository;
 import com.app.persistence.ComponentRepository;
 import com.app.persistence.entity.CarEntity;
 import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.CarCriterionFilteringView;
+import com.app.persistence.view.CarView;
 import com.app.persistence.view.GroupByAndPriceStatisticView;
 import com.app.persistence.view.GroupByView;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,14 +18,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @DataJpaTest
+@Import(CarFieldRegistry.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
@@ -36,6 +46,11 @@ public class CarRepositoryCustomImplTest {
     @Autowired
     private ComponentRepository componentRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    private final CarSpecificationImpl carSpecification = new CarSpecificationImpl();
+
     private ComponentEntity COMPONENT_ENTITY_SAVE_1;
 
     private ComponentEntity COMPONENT_ENTITY_SAVE_2;
@@ -154,4 +169,133 @@ public class CarRepositoryCustomImplTest {
                                 BigDecimal.valueOf(200000).setScale(2, RoundingMode.DOWN),
                                 BigDecimal.valueOf(250000).setScale(2, RoundingMode.DOWN)));
     }
+
+    @Test
+    @DisplayName("When we read a page of filtered cars, return only the cars of the page ordered by ID.")
+    public void test5() {
+
+        var filter = carSpecification.dynamicFilters(new CarCriterionFilteringView(
+                null, null, null, null, null, null, Color.BLACK, List.of("AIR CONDITION", "SUNROOF")));
+
+        Assertions.assertThat(carRepositoryCustom.findPage(filter, 0, 1))
+                .extracting(CarEntity::getModel)
+                .containsExactly("X3");
+
+        Assertions.assertThat(carRepositoryCustom.findPage(filter, 1, 1))
+                .extracting(CarEntity::getModel)
+                .containsExactly("A1");
+    }
+
+    @Test
+    @DisplayName("When we stream filtered cars, return all cars matching the filter ordered by ID.")
+    public void test6() {
+
+        var filter = carSpecification.dynamicFilters(new CarCriterionFilteringView(
+                "BMW", null, null, null, null, null, null, List.of("RADIO")));
+
+        try (var cars = carRepositoryCustom.streamAll(filter)) {
+            Assertions.assertThat(cars)
+                    .extracting(CarEntity::getModel)
+                    .containsExactly("X1");
+        }
+    }
+
+    @Test
+    @DisplayName("When we export all cars, pass each car with its component names to the consumer, ordered by ID.")
+    public void test7() {
+
+        var cars = new ArrayList<CarView>();
+
+        carRepositoryCustom.forEachCarView(Specification.where(null), cars::add);
+
+        Assertions.assertThat(cars)
+                .extracting(CarView::model)
+                .containsExactly("X3", "X1", "A1");
+        Assertions.assertThat(cars.get(1).components())
+                .containsExactlyInAnyOrder("RADIO", "BACKUP CAMERA");
+    }
+
+    @Test
+    @DisplayName("When upserting cars, update the car with the same brand and model and report it as concurrently inserted, insert the new car and replace their components.")
+    public void test8() {
+
+        var updated = CarEntity
+                .builder()
+                .brand("BMW")
+                .model("X3")
+                .price(BigDecimal.valueOf(260000))
+                .speed(255)
+                .color(Color.WHITE)
+                .components(List.of(COMPONENT_ENTITY_SAVE_2, COMPONENT_ENTITY_SAVE_4))
+                .build();
+        var created = CarEntity
+                .builder()
+                .brand("AUDI")
+                .model("A4")
+                .price(BigDecimal.valueOf(210000))
+                .speed(240)
+                .color(Color.GRAY)
+                .components(List.of(COMPONENT_ENTITY_SAVE_1))
+                .build();
+
+        var concurrentlyInserted = carRepositoryCustom.upsertAll(List.of(updated, created));
+
+        Assertions.assertThat(concurrentlyInserted)
+                .containsExactly(updated.getId());
+        Assertions.assertThat(created.getId())
+                .isNotNull();
+
+        var cars = carRepositoryCustom.findCarViews(
+                carSpecification.brandAndModelIn(Map.of("BMW", List.of("X3"), "AUDI", List.of("A4"))), Sort.by("model"));
+
+        Assertions.assertThat(cars)
+                .extracting(CarView::id)
+                .containsExactly(created.getId(), updated.getId());
+        Assertions.assertThat(cars.get(1).price())
+                .isEqualByComparingTo(BigDecimal.valueOf(260000));
+        Assertions.assertThat(cars.get(1).color())
+                .isEqualTo(Color.WHITE);
+        Assertions.assertThat(cars.get(1).components())
+                .containsExactlyInAnyOrder("SUNROOF", "AUTOMATIC EMERGENCY BRAKING");
+        Assertions.assertThat(cars.get(0).components())
+                .containsExactly("AIR CONDITION");
+        Assertions.assertThat(carRepository.count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("When we group by the components, throw an IllegalArgumentException.")
+    public void test9() {
+
+        Assertions.assertThatThrownBy(() -> carRepositoryCustom.groupByField("components"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid parameter value: components");
+    }
+
+    @Test
+    @DisplayName("When upserting cars, detach only the loaded instances of the written cars, so that they are read again.")
+    public void test10() {
+
+        var stored = carRepository.findAll();
+        var x3 = stored.stream().filter(car -> car.getModel().equals("X3")).findFirst().orElseThrow();
+        var x1 = stored.stream().filter(car -> car.getModel().equals("X1")).findFirst().orElseThrow();
+
+        carRepositoryCustom.upsertAll(List.of(CarEntity
+                .builder()
+                .id(x3.getId())
+                .brand("BMW")
+                .model("X3")
+                .price(BigDecimal.valueOf(260000))
+                .speed(255)
+                .color(Color.WHITE)
+                .components(List.of())
+                .build()));
+
+        Assertions.assertThat(entityManager.contains(x3))
+                .isFalse();
+        Assertions.assertThat(entityManager.contains(x1))
+                .isTrue();
+        Assertions.assertThat(carRepository.findById(x3.getId()).orElseThrow().getPrice())
+                .isEqualByComparingTo(BigDecimal.valueOf(260000));
+    }
 }
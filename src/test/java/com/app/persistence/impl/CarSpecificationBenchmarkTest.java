@@ -0,0 +1,128 @@
+package com.app.persistence.impl;
+
+import com.app.data.BenchmarkData;
+import com.app.persistence.CarFieldRegistry;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
+import com.app.persistence.view.CarCriterionFilteringView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the plan joining the components for every filter with the plan filtering components
+ * through an {@code EXISTS} subquery, on a large generated dataset.
+ * <p>
+ * The benchmark is excluded from the regular build and runs with {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Import(CarFieldRegistry.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class CarSpecificationBenchmarkTest {
+
+    private static final int CARS = 50_000;
+    private static final int COMPONENTS = 20;
+    private static final int COMPONENTS_PER_CAR = 5;
+    private static final long FIRST_ID = 1_000_000L;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        BenchmarkData.insertCars(jdbcTemplate, FIRST_ID, CARS, COMPONENTS, COMPONENTS_PER_CAR);
+    }
+
+    @Test
+    @DisplayName("When filtering cars by brand, the plan without the components join is measured against the joining plan.")
+    public void test1() {
+
+        var filteringView = new CarCriterionFilteringView("BMW", null, null, null, null, null, null, null);
+
+        compare(filteringView);
+    }
+
+    @Test
+    @DisplayName("When filtering cars by components, the EXISTS plan is measured against the joining plan.")
+    public void test2() {
+
+        var filteringView = new CarCriterionFilteringView(
+                "BMW", null, null, null, null, null, null, List.of("COMPONENT 1", "COMPONENT 2", "COMPONENT 3"));
+
+        compare(filteringView);
+    }
+
+    private void compare(CarCriterionFilteringView filteringView) {
+        var joining = measure("joining", () -> findIds(joiningFilters(filteringView)));
+        var current = measure("current", () -> findIds(new CarSpecificationImpl().dynamicFilters(filteringView)));
+
+        Assertions.assertThat(current)
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(new HashSet<>(joining));
+    }
+
+    private List<Long> measure(String plan, Supplier<List<Long>> query) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            query.get();
+        }
+
+        List<Long> ids = List.of();
+        var start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            ids = query.get();
+        }
+        var elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS / 1_000_000.0;
+
+        log.info("{} plan: {} rows in {} ms on average", plan, ids.size(), String.format("%.2f", elapsed));
+        return ids;
+    }
+
+    private List<Long> findIds(Specification<CarEntity> specification) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(CarEntity.class);
+
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * The previous plan, which joined the components whether or not they were filtered.
+     */
+    private static Specification<CarEntity> joiningFilters(CarCriterionFilteringView filteringView) {
+        return (root, query, cb) -> {
+            Join<CarEntity, ComponentEntity> comp = root.join("components");
+            var p = cb.equal(root.get("brand"), filteringView.brand());
+
+            if (filteringView.components() != null && !filteringView.components().isEmpty()) {
+                p = cb.and(p, comp.get("name").in(filteringView.components()));
+            }
+            return p;
+        };
+    }
+}
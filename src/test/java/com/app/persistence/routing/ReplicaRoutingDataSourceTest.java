@@ -0,0 +1,98 @@
+package com.app.persistence.routing;
+
+import com.app.controller.dto.components.CreateComponentDto;
+import com.app.service.CarService;
+import com.app.service.ComponentService;
+import jakarta.persistence.EntityNotFoundException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingDataSourceTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "app.datasource.replicas[0].username=sa",
+        "app.datasource.replicas[0].password=",
+        "app.datasource.lag-query=select seconds_behind_source from replica_status",
+        "app.datasource.lag-column=seconds_behind_source",
+        "app.datasource.lag-check-interval=PT1H"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ActiveProfiles("test")
+public class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE";
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private ComponentService componentService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new JdbcTemplate(new SingleConnectionDataSource(PRIMARY_URL, "sa", "", true));
+        replica = new JdbcTemplate(new SingleConnectionDataSource(REPLICA_URL, "sa", "", true));
+
+        // The replica gets the schema of the primary database and a car the primary database does not have
+        replica.execute("drop all objects");
+        primary.queryForList("script nodata", String.class).forEach(replica::execute);
+        replica.execute("create table replica_status (seconds_behind_source bigint)");
+        replica.update("insert into replica_status values (0)");
+        replica.update("insert into cars (id, brand, model, price, speed, color) values (100, 'BMW', 'X5', 300000, 250, 'BLACK')");
+
+        replicaRoutingDataSource.checkReplicas();
+    }
+
+    @Test
+    @DisplayName("When reading in a read-only transaction, read from the replica.")
+    public void test1() {
+
+        Assertions.assertThat(replicaRoutingDataSource.getAvailableReplicas())
+                .containsExactly("replica-0");
+
+        Assertions.assertThat(carService.findCarById(100L).model())
+                .isEqualTo("X5");
+    }
+
+    @Test
+    @DisplayName("When saving, write to the primary database.")
+    public void test2() {
+
+        var id = componentService.save(new CreateComponentDto("SUNROOF"));
+
+        Assertions.assertThat(primary.queryForObject("select name from components where id = ?", String.class, id))
+                .isEqualTo("SUNROOF");
+        Assertions.assertThat(replica.queryForObject("select count(*) from components", Long.class))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("When the replica lags behind, read from the primary database.")
+    public void test3() {
+
+        replica.update("update replica_status set seconds_behind_source = 60");
+        replicaRoutingDataSource.checkReplicas();
+
+        Assertions.assertThat(replicaRoutingDataSource.getAvailableReplicas())
+                .isEmpty();
+
+        Assertions.assertThatThrownBy(() -> carService.findCarById(100L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
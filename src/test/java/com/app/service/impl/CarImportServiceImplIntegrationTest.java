@@ -0,0 +1,96 @@
+package com.app.service.impl;
+
+import com.app.controller.dto.components.CreateComponentDto;
+import com.app.service.CarImportService;
+import com.app.service.ComponentService;
+import com.app.service.event.CarsSavedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@SpringBootTest(properties = "import.chunk-size=2")
+@Import(CarImportServiceImplIntegrationTest.PersistenceContextProbe.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@ActiveProfiles("test")
+public class CarImportServiceImplIntegrationTest {
+
+    @Autowired
+    private CarImportService carImportService;
+
+    @Autowired
+    private ComponentService componentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PersistenceContextProbe probe;
+
+    @Test
+    @DisplayName("When importing several chunks within an open entity manager, leave no entity managed after each chunk.")
+    public void test1() {
+
+        var component = componentService.save(new CreateComponentDto("SUNROOF"));
+        var input = """
+                {"brand":"BMW","model":"X3","speed":250,"price":250000,"color":"BLACK","components":[%1$d]}
+                {"brand":"BMW","model":"X5","speed":250,"price":300000,"color":"BLACK","components":[%1$d]}
+                {"brand":"AUDI","model":"A4","speed":240,"price":200000,"color":"WHITE","components":[%1$d]}
+                """.formatted(component);
+
+        // Binds the entity manager the way open session in view does for a request
+        var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            var report = carImportService.importCars(
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_NDJSON);
+
+            Assertions.assertThat(report.imported())
+                    .isEqualTo(3);
+            Assertions.assertThat(probe.entityCounts)
+                    .containsExactly(0, 0);
+            Assertions.assertThat(managedEntities(entityManager))
+                    .isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private static int managedEntities(EntityManager entityManager) {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    /**
+     * Records the number of entities managed by the bound entity manager after each chunk is committed.
+     */
+    static class PersistenceContextProbe {
+
+        private final List<Integer> entityCounts = new CopyOnWriteArrayList<>();
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @TransactionalEventListener
+        public void onCarsSaved(CarsSavedEvent event) {
+            var holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            entityCounts.add(managedEntities(holder.getEntityManager()));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.app.service.impl;
+
+import com.app.color.Color;
+import com.app.controller.dto.car.CarImportErrorDto;
+import com.app.controller.dto.car.CreateCarDto;
+import com.app.persistence.CarRepository;
+import com.app.persistence.ComponentRepository;
+import com.app.persistence.entity.CarEntity;
+import com.app.persistence.impl.CarSpecificationImpl;
+import com.app.persistence.view.CarView;
+import com.app.service.event.CarsSavedEvent;
+import com.app.validate.ValidationEngine;
+import com.app.validate.Validator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.app.data.CarComponentData.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+public class CarImportServiceImplTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private ComponentRepository componentRepository;
+
+    @Mock
+    private CarSpecificationImpl carSpecificationImpl;
+
+    @Mock
+    private Validator<CreateCarDto> validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CarImportServiceImpl carImportService;
+
+    @BeforeEach
+    public void setup() {
+        carImportService = new CarImportServiceImpl(
+                carRepository, componentRepository, carSpecificationImpl, validator, new ValidationEngine(1000), new ObjectMapper(),
+                eventPublisher, entityManager, transactionManager, 2);
+
+        when(componentRepository.findAllByIdCached(anyList()))
+                .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2));
+        when(carRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("When importing NDJSON, commit each chunk in its own transaction and report the rows that cannot be parsed.")
+    public void test1() {
+
+        var input = """
+                {"brand":"BMW","model":"X3","speed":250,"price":250000,"color":"BLACK","components":[1,2]}
+                {"brand":"BMW",
+
+                {"brand":"AUDI","model":"A4","speed":240,"price":200000,"color":"WHITE","components":[1]}
+                """;
+
+        var report = carImportService.importCars(stream(input), MediaType.APPLICATION_NDJSON);
+
+        Assertions.assertThat(report.imported()).isEqualTo(2);
+        Assertions.assertThat(report.failed()).isEqualTo(1);
+        Assertions.assertThat(report.chunks()).hasSize(2);
+        Assertions.assertThat(report.chunks().getFirst().firstLine()).isEqualTo(1);
+        Assertions.assertThat(report.chunks().getFirst().lastLine()).isEqualTo(2);
+        Assertions.assertThat(report.chunks().getFirst().imported()).isEqualTo(1);
+        Assertions.assertThat(report.chunks().getLast().firstLine()).isEqualTo(4);
+        Assertions.assertThat(report.errors()).extracting(CarImportErrorDto::line).containsExactly(2L);
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(carRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(CarsSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("When importing several chunks, flush and clear the persistence context before each chunk is committed.")
+    public void test6() {
+
+        var input = """
+                {"brand":"BMW","model":"X3","speed":250,"price":250000,"color":"BLACK","components":[1]}
+                {"brand":"BMW","model":"X5","speed":250,"price":300000,"color":"BLACK","components":[2]}
+                {"brand":"AUDI","model":"A4","speed":240,"price":200000,"color":"WHITE","components":[1]}
+                """;
+
+        carImportService.importCars(stream(input), MediaType.APPLICATION_NDJSON);
+
+        InOrder inOrder = inOrder(carRepository, entityManager, transactionManager);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            inOrder.verify(carRepository).saveAll(anyList());
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+            inOrder.verify(transactionManager).commit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("When importing CSV, save the valid cars and report the rows rejected by the validator or with unknown components.")
+    public void test2() {
+
+        var input = """
+                components,brand,model,speed,price,color
+                1;2,BMW,X3,250,250000,BLACK
+                "1",AUDI,"A""4",240,200000,WHITE
+                3,FIAT,PANDA,150,50000,RED
+                """;
+
+        when(validator.check(argThat(car -> car != null && car.model().equals("A\"4"))))
+                .thenReturn(List.of("The model does not match the pattern."));
+
+        var report = carImportService.importCars(stream(input), MediaType.valueOf("text/csv"));
+
+        Assertions.assertThat(report.imported()).isEqualTo(1);
+        Assertions.assertThat(report.failed()).isEqualTo(2);
+        Assertions.assertThat(report.errors()).containsExactly(
+                new CarImportErrorDto(3, "The model does not match the pattern."),
+                new CarImportErrorDto(4, "Not all components were found"));
+
+        verify(carRepository, times(1)).saveAll(argThat(cars -> {
+            var car = ((List<CarEntity>) cars).getFirst();
+            return car.getBrand().equals("BMW") && car.getComponents().size() == 2;
+        }));
+    }
+
+    @Test
+    @DisplayName("When a chunk cannot be saved, roll it back, save its rows one by one and report only the failing rows.")
+    public void test3() {
+
+        var input = """
+                {"brand":"BMW","model":"X3","speed":250,"price":250000,"color":"BLACK","components":[1]}
+                {"brand":"BMW","model":"X5","speed":250,"price":300000,"color":"BLACK","components":[2]}
+                {"brand":"AUDI","model":"A4","speed":240,"price":200000,"color":"WHITE","components":[1]}
+                """;
+
+        when(carRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("insert into cars ... Duplicate entry"))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("insert into cars ... Duplicate entry"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var report = carImportService.importCars(stream(input), MediaType.APPLICATION_NDJSON);
+
+        Assertions.assertThat(report.imported()).isEqualTo(2);
+        Assertions.assertThat(report.failed()).isEqualTo(1);
+        Assertions.assertThat(report.chunks().getFirst().failed()).isEqualTo(1);
+        Assertions.assertThat(report.errors()).containsExactly(new CarImportErrorDto(2, "The car could not be saved."));
+
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("When importing CSV without all the required columns, throw an IllegalArgumentException.")
+    public void test4() {
+
+        var input = """
+                brand,model,speed,price
+                BMW,X3,250,250000
+                """;
+
+        Assertions.assertThatThrownBy(() -> carImportService.importCars(stream(input), MediaType.valueOf("text/csv")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The CSV header is missing the columns: [color, components].");
+
+        verify(carRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("When importing an unsupported format, throw an IllegalArgumentException.")
+    public void test5() {
+
+        Assertions.assertThatThrownBy(() -> carImportService.importCars(stream("[]"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported import format: application/json.");
+    }
+
+    @Test
+    @DisplayName("When rows repeat the brand and model of an earlier row or of a stored car, reject only these rows.")
+    public void test7() {
+
+        var input = """
+                {"brand":"BMW","model":"X3","speed":250,"price":250000,"color":"BLACK","components":[1]}
+                {"brand":"BMW","model":"X3","speed":240,"price":260000,"color":"BLACK","components":[1]}
+                {"brand":"AUDI","model":"A4","speed":240,"price":200000,"color":"WHITE","components":[1]}
+                """;
+
+        when(carRepository.findCarViews(any(), any()))
+                .thenReturn(List.of(new CarView(3L, "AUDI", "A4", 240, BigDecimal.valueOf(210000), Color.WHITE, List.of())));
+
+        var report = carImportService.importCars(stream(input), MediaType.APPLICATION_NDJSON);
+
+        Assertions.assertThat(report.imported()).isEqualTo(1);
+        Assertions.assertThat(report.errors()).containsExactly(
+                new CarImportErrorDto(2, "Duplicate car: BMW X3."),
+                new CarImportErrorDto(3, "Duplicate car: AUDI A4."));
+
+        verify(carRepository, times(1)).saveAll(anyList());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
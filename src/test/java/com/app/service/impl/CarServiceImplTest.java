@@ -3,29 +3,56 @@ package com.app.service.impl;
 import com.app.color.Color;
 import com.app.controller.dto.car.*;
 import com.app.controller.dto.components.ComponentsWithCarsDto;
+import com.app.index.CarColumnStore;
+import com.app.index.ComponentIndex;
+import com.app.index.PriceIndex;
+import com.app.index.PriceSpeedStatisticIndex;
+import com.app.index.SpeedIndex;
 import com.app.persistence.CarRepository;
 import com.app.persistence.ComponentRepository;
 import com.app.persistence.CrudRepository;
 import com.app.persistence.entity.CarEntity;
+import com.app.persistence.entity.ComponentEntity;
 import com.app.persistence.impl.CarSpecificationImpl;
 import com.app.persistence.view.*;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import com.app.service.impl.cursor.KeysetCursorCodec;
+import com.app.validate.ValidationEngine;
+import com.app.validate.ValidationException;
 import com.app.validate.Validator;
+import com.app.validate.Violation;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static com.app.data.CarComponentData.*;
 import static org.mockito.Mockito.*;
@@ -50,6 +77,33 @@ public class CarServiceImplTest {
     @Mock
     private Validator<String> parametersValidator;
 
+    @Mock
+    private ValidationEngine validationEngine;
+
+    @Mock
+    private KeysetCursorCodec keysetCursorCodec;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PriceIndex priceIndex;
+
+    @Mock
+    private SpeedIndex speedIndex;
+
+    @Mock
+    private PriceSpeedStatisticIndex priceSpeedStatisticIndex;
+
+    @Mock
+    private ComponentIndex componentIndex;
+
+    @Mock
+    private CarColumnStore carColumnStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CarServiceImpl carService;
 
@@ -134,7 +188,7 @@ public class CarServiceImplTest {
         doNothing().when(validator)
                 .validate(any(CreateCarDto.class));
 
-        when(componentRepository.findAllById(anyList()))
+        when(componentRepository.findAllByIdCached(anyList()))
                 .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2, COMPONENT_ENTITY_READ_3, COMPONENT_ENTITY_READ_4));
 
         when(carRepository.saveAll(anyList()))
@@ -146,7 +200,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(carRepository, componentRepository);
 
         inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+                .findAllByIdCached(anyList());
 
         inOrder.verify(carRepository, times(1))
                 .saveAll(anyList());
@@ -159,7 +213,7 @@ public class CarServiceImplTest {
         doNothing().when(validator)
                 .validate(ArgumentMatchers.any());
 
-        when(componentRepository.findAllById(anyList()))
+        when(componentRepository.findAllByIdCached(anyList()))
                 .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2, COMPONENT_ENTITY_READ_3));
 
         Assertions.assertThatThrownBy(() -> carService.saveAll(List.of(CREATE_CAR_DTO_1, CREATE_CAR_DTO_2, CREATE_CAR_DTO_3)))
@@ -169,7 +223,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(componentRepository);
 
         inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+                .findAllByIdCached(anyList());
     }
 
     @Test
@@ -179,7 +233,7 @@ public class CarServiceImplTest {
         doNothing().when(validator)
                 .validate(ArgumentMatchers.any());
 
-        when(componentRepository.findAllById(anyList()))
+        when(componentRepository.findAllByIdCached(anyList()))
                 .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2));
 
         when(carRepository.save(any()))
@@ -191,7 +245,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(carRepository, componentRepository, validator);
 
         inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+                .findAllByIdCached(anyList());
 
         inOrder.verify(carRepository, times(1))
                 .save(any());
@@ -204,7 +258,7 @@ public class CarServiceImplTest {
         doNothing().when(validator)
                 .validate(ArgumentMatchers.any());
 
-        when(componentRepository.findAllById(anyList()))
+        when(componentRepository.findAllByIdCached(anyList()))
                 .thenReturn(List.of(COMPONENT_ENTITY_READ_1));
 
         when(carRepository.save(any()))
@@ -217,7 +271,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(componentRepository, validator);
 
         inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+                .findAllByIdCached(anyList());
 
     }
 
@@ -225,10 +279,8 @@ public class CarServiceImplTest {
     @DisplayName("When delete car by id from the database, return the ID if the operation completes successfully.")
     public void test10() {
 
-        when(carRepository.findById(any()))
-                .thenReturn(Optional.of(CAR_ENTITY_READ_1));
-
-        doNothing().when(carRepository).delete(any());
+        when(carRepository.countByIdIn(List.of(1L)))
+                .thenReturn(1L);
 
         Assertions.assertThat(carService.deleteById(1L))
                 .isEqualTo(1L);
@@ -236,39 +288,36 @@ public class CarServiceImplTest {
         var inOrder = inOrder(carRepository);
 
         inOrder.verify(carRepository, times(1))
-                .findById(anyLong());
+                .countByIdIn(List.of(1L));
 
         inOrder.verify(carRepository, times(1))
-                .delete(any());
+                .deleteAllByIdIn(List.of(1L));
 
+        verify(carRepository, never())
+                .findById(any());
     }
 
     @Test
     @DisplayName("When deleting a non-existing car by ID from the database, throw an EntityNotFoundException.")
     public void test11() {
 
-        when(carRepository.findById(any()))
-                .thenReturn(Optional.empty());
+        when(carRepository.countByIdIn(List.of(1L)))
+                .thenReturn(0L);
 
         Assertions.assertThatThrownBy(() -> carService.deleteById(1L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Element not found.");
 
-        var inOrder = inOrder(carRepository);
-
-        inOrder.verify(carRepository, times(1))
-                .findById(anyLong());
-
+        verify(carRepository, never())
+                .deleteAllByIdIn(anyCollection());
     }
 
     @Test
     @DisplayName("When delete cars by ids from the database, return the IDs if the operation completes successfully.")
     public void test12() {
 
-        when(carRepository.findAllById(anyList()))
-                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2));
-
-        doNothing().when(carRepository).deleteAll(anyList());
+        when(carRepository.countByIdIn(List.of(1L, 2L)))
+                .thenReturn(2L);
 
         Assertions.assertThat(carService.deleteAllById(List.of(1L, 2L)))
                 .contains(1L, 2L);
@@ -276,29 +325,28 @@ public class CarServiceImplTest {
         var inOrder = inOrder(carRepository);
 
         inOrder.verify(carRepository, times(1))
-                .findAllById(anyList());
+                .countByIdIn(List.of(1L, 2L));
 
         inOrder.verify(carRepository, times(1))
-                .deleteAll(anyList());
+                .deleteAllByIdIn(List.of(1L, 2L));
+
+        verify(carRepository, never())
+                .findAllById(anyList());
     }
 
     @Test
     @DisplayName("When deleting cars by IDs from the database, if not all cars are found, throw an EntityNotFoundException.")
     public void test13() {
 
-        when(carRepository.findAllById(anyList()))
-                .thenReturn(List.of(CAR_ENTITY_READ_1));
-
-        doNothing().when(carRepository).deleteAll(anyList());
+        when(carRepository.countByIdIn(List.of(1L, 2L)))
+                .thenReturn(1L);
 
         Assertions.assertThatThrownBy(() -> carService.deleteAllById(List.of(1L, 2L)))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Not all elements were found.");
 
-        var inOrder = inOrder(carRepository);
-
-        inOrder.verify(carRepository, times(1))
-                .findAllById(anyList());
+        verify(carRepository, never())
+                .deleteAllByIdIn(anyCollection());
     }
 
     @Test
@@ -307,8 +355,8 @@ public class CarServiceImplTest {
 
         doNothing().when(parametersValidator).validate(anyString());
 
-        when(carRepository.findAll(any(Sort.class)))
-                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2, CAR_ENTITY_READ_3));
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2, CAR_VIEW_3));
 
         doNothing().when(carRepository).deleteAll(anyList());
 
@@ -318,7 +366,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(parametersValidator, carRepository);
 
         inOrder.verify(carRepository, times(1))
-                .findAll(any(Sort.class));
+                .findCarViews(any(), any(Sort.class));
     }
 
     @Test
@@ -327,8 +375,8 @@ public class CarServiceImplTest {
 
         doNothing().when(parametersValidator).validate(anyString());
 
-        when(carRepository.findAll(any(Sort.class)))
-                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2, CAR_ENTITY_READ_3));
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2, CAR_VIEW_3));
 
         doNothing().when(carRepository).deleteAll(anyList());
 
@@ -338,7 +386,7 @@ public class CarServiceImplTest {
         var inOrder = inOrder(parametersValidator, carRepository);
 
         inOrder.verify(carRepository, times(1))
-                .findAll(any(Sort.class));
+                .findCarViews(any(), any(Sort.class));
     }
 
     @Test
@@ -382,15 +430,15 @@ public class CarServiceImplTest {
     @DisplayName("When retrieving cars from the database with a speed interval, return cars related to the specified speed range.")
     public void test20() {
 
-        when(carRepository.findCarEntitiesBySpeedBetween(200, 300))
-                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2));
+        when(carRepository.findCarViews(any(), eq(Sort.by("speed"))))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2));
 
         Assertions.assertThat(carService.getCarsWithSpeedInterval(200, 300))
                 .contains(CAR_DTO_1, CAR_DTO_2);
 
 
         verify(carRepository, times(1))
-                .findCarEntitiesBySpeedBetween(200, 300);
+                .findCarViews(any(), eq(Sort.by("speed")));
     }
 
     @Test
@@ -415,8 +463,8 @@ public class CarServiceImplTest {
     @DisplayName("When retrieving cars from the database with filtering, return cars related to the specified filter.")
     public void test23() {
 
-        when(carRepository.findAll(any(Specification.class)))
-                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2));
+        when(carRepository.findCarViews(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2));
 
         when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
                 .thenCallRealMethod();
@@ -426,7 +474,7 @@ public class CarServiceImplTest {
                 .contains(CAR_DTO_1, CAR_DTO_2);
 
         verify(carRepository, times(1))
-                .findAll(any(Specification.class));
+                .findCarViews(any(Specification.class), any(Sort.class));
 
     }
 
@@ -692,4 +740,697 @@ public class CarServiceImplTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Price cannot be negative");
     }
+
+    @Test
+    @DisplayName("When retrieving a page of sorted cars, return the cars of the page and the cursor of the next page.")
+    public void test39() {
+
+        var position = ScrollPosition.forward(Map.of("price", BigDecimal.valueOf(250000), "id", 1L));
+
+        doNothing().when(parametersValidator).validate(anyString());
+
+        when(keysetCursorCodec.decode(isNull(), eq(CarEntity.class), anyCollection()))
+                .thenReturn(ScrollPosition.keyset());
+
+        when(carRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(CAR_ENTITY_READ_1), index -> position, true));
+
+        when(keysetCursorCodec.encode(position))
+                .thenReturn("cursor");
+
+        var page = carService.sortedCarsPageBy(List.of("price"), "desc", null, 1);
+
+        Assertions.assertThat(page.content())
+                .containsExactly(CAR_DTO_1);
+
+        Assertions.assertThat(page.nextCursor())
+                .isEqualTo("cursor");
+
+        verify(carRepository, times(1))
+                .findAllBy(ScrollPosition.keyset(), Sort.by(Sort.Direction.DESC, "price"), Limit.of(1));
+    }
+
+    @Test
+    @DisplayName("When retrieving the last page of sorted cars, return the cars of the page without the cursor of the next page.")
+    public void test40() {
+
+        doNothing().when(parametersValidator).validate(anyString());
+
+        when(keysetCursorCodec.decode(eq("cursor"), eq(CarEntity.class), anyCollection()))
+                .thenReturn(ScrollPosition.forward(Map.of("price", BigDecimal.valueOf(250000), "id", 1L)));
+
+        when(carRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(CAR_ENTITY_READ_2), ScrollPosition::offset, false));
+
+        var page = carService.sortedCarsPageBy(List.of("price"), "desc", "cursor", 1);
+
+        Assertions.assertThat(page.content())
+                .containsExactly(CAR_DTO_2);
+
+        Assertions.assertThat(page.nextCursor())
+                .isNull();
+
+        verify(keysetCursorCodec, never())
+                .encode(any());
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of sorted cars, if the limit is not positive, throw an IllegalArgumentException.")
+    public void test41() {
+
+        Assertions.assertThatThrownBy(() -> carService.sortedCarsPageBy(List.of("price"), "desc", null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be positive");
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of sorted cars, if the limit is too large, throw an IllegalArgumentException.")
+    public void test42() {
+
+        Assertions.assertThatThrownBy(() -> carService.sortedCarsPageBy(List.of("price"), "desc", null, 1001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit cannot be greater than 1000");
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of filtered cars, return the cars of the page and whether a next page exists.")
+    public void test43() {
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.findPage(any(Specification.class), eq(2), eq(3)))
+                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2, CAR_ENTITY_READ_3));
+
+        var page = carService.getCarsFilterBy(new CarCriterionDto(
+                "BMW", null, null, null, null, null, null, null), 1, 2);
+
+        Assertions.assertThat(page.content())
+                .containsExactly(CAR_DTO_1, CAR_DTO_2);
+
+        Assertions.assertThat(page.hasNext())
+                .isTrue();
+
+        verify(carRepository, times(1))
+                .findPage(any(Specification.class), eq(2), eq(3));
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of filtered cars, if the page is negative, throw an IllegalArgumentException.")
+    public void test44() {
+
+        Assertions.assertThatThrownBy(() -> carService.getCarsFilterBy(new CarCriterionDto(
+                        "BMW", null, null, null, null, null, null, null), -1, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page cannot be negative");
+    }
+
+    @Test
+    @DisplayName("When streaming filtered cars, pass every car to the consumer and detach it afterwards.")
+    public void test45() {
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.streamAll(any(Specification.class)))
+                .thenReturn(Stream.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2));
+
+        var cars = new ArrayList<CarDto>();
+
+        carService.streamCarsFilterBy(new CarCriterionDto(
+                "BMW", null, null, null, null, null, null, null), cars::add);
+
+        Assertions.assertThat(cars)
+                .containsExactly(CAR_DTO_1, CAR_DTO_2);
+
+        verify(entityManager, times(1)).detach(CAR_ENTITY_READ_1);
+        verify(entityManager, times(1)).detach(CAR_ENTITY_READ_2);
+    }
+
+    @Test
+    @DisplayName("When streaming filtered cars, if carCriterionDto is null, throw an IllegalArgumentException.")
+    public void test46() {
+
+        Assertions.assertThatThrownBy(() -> carService.streamCarsFilterBy(null, carDto -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Criterion cannot be null");
+    }
+
+    @Test
+    @DisplayName("When retrieving the k cars closest to a given price, return a list of cars.")
+    public void test47() {
+
+        when(carRepository.findCarsCloseToPrice(any(BigDecimal.class), eq(2)))
+                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2));
+
+        Assertions.assertThat(carService.getCarsCloseToPrice(BigDecimal.valueOf(2000000), 2))
+                .containsExactly(CAR_DTO_1, CAR_DTO_2);
+
+        verify(carRepository, times(1))
+                .findCarsCloseToPrice(any(BigDecimal.class), eq(2));
+    }
+
+    @Test
+    @DisplayName("When retrieving the k cars closest to a given price, if k is not positive, throw an IllegalArgumentException.")
+    public void test48() {
+
+        Assertions.assertThatThrownBy(() -> carService.getCarsCloseToPrice(BigDecimal.valueOf(2000000), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be positive");
+    }
+
+    @Test
+    @DisplayName("When the price index knows the cars closest to a given price, load them by ID in the order of the index.")
+    public void test49() {
+
+        when(priceIndex.findClosest(any(BigDecimal.class), eq(2)))
+                .thenReturn(Optional.of(List.of(2L, 1L)));
+
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2));
+
+        Assertions.assertThat(carService.getCarsCloseToPrice(BigDecimal.valueOf(210000), 2))
+                .containsExactly(CAR_DTO_2, CAR_DTO_1);
+
+        verify(carRepository, never())
+                .findCarsCloseToPrice(any(BigDecimal.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("When saving cars to the database, publish the saved cars.")
+    public void test50() {
+
+        doNothing().when(validator)
+                .validate(any(CreateCarDto.class));
+
+        when(componentRepository.findAllByIdCached(anyList()))
+                .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2, COMPONENT_ENTITY_READ_3, COMPONENT_ENTITY_READ_4));
+
+        when(carRepository.saveAll(anyList()))
+                .thenReturn(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2, CAR_ENTITY_READ_3));
+
+        carService.saveAll(List.of(CREATE_CAR_DTO_1, CREATE_CAR_DTO_2, CREATE_CAR_DTO_3));
+
+        verify(eventPublisher, times(1))
+                .publishEvent(new CarsSavedEvent(List.of(CAR_ENTITY_READ_1, CAR_ENTITY_READ_2, CAR_ENTITY_READ_3)));
+    }
+
+    @Test
+    @DisplayName("When deleting cars by IDs from the database, publish the IDs of the deleted cars.")
+    public void test51() {
+
+        when(carRepository.countByIdIn(List.of(1L, 2L)))
+                .thenReturn(2L);
+
+        carService.deleteAllById(List.of(1L, 2L));
+
+        verify(eventPublisher, times(1))
+                .publishEvent(new CarsDeletedEvent(List.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("When counting cars within a speed interval, return the count of the speed index.")
+    public void test52() {
+
+        when(speedIndex.countBetween(200, 300))
+                .thenReturn(Optional.of(2L));
+
+        Assertions.assertThat(carService.countCarsWithSpeedInterval(200, 300))
+                .isEqualTo(2L);
+
+        verify(carRepository, never())
+                .countBySpeedBetween(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("When counting cars within a speed interval and the speed index is not ready, count the cars in the database.")
+    public void test53() {
+
+        when(carRepository.countBySpeedBetween(200, 300))
+                .thenReturn(3L);
+
+        Assertions.assertThat(carService.countCarsWithSpeedInterval(200, 300))
+                .isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("When counting cars within a speed interval, if min speed is greater than max speed, throw an IllegalArgumentException.")
+    public void test54() {
+
+        Assertions.assertThatThrownBy(() -> carService.countCarsWithSpeedInterval(300, 200))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Min speed cannot be greater than max speed");
+    }
+
+    @Test
+    @DisplayName("When retrieving price and speed statistics and the statistic index is ready, return its statistics.")
+    public void test55() {
+
+        when(priceSpeedStatisticIndex.findPriceSpeedStatistics())
+                .thenReturn(Optional.of(new PriceSpeedStatisticView(
+                        BigDecimal.valueOf(100000),
+                        BigDecimal.valueOf(200000),
+                        150000.0,
+                        100,
+                        200,
+                        150.0)));
+
+        Assertions.assertThat(carService.priceSpeedStatistic())
+                .isEqualTo(new PriceSpeedStatisticDto(BigDecimal.valueOf(100000),
+                        BigDecimal.valueOf(200000),
+                        150000.0,
+                        100,
+                        200,
+                        150.0));
+
+        verify(carRepository, never()).findPriceSpeedStatistics();
+    }
+
+    @Test
+    @DisplayName("When filtering cars by price and components known to the indexes, restrict the filter to the IDs matching both.")
+    public void test56() {
+
+        when(priceIndex.findInRange(BigDecimal.valueOf(100000), BigDecimal.valueOf(200000)))
+                .thenReturn(Optional.of(List.of(1L, 2L)));
+
+        when(componentIndex.findCarsWithAnyComponent(List.of("ABS")))
+                .thenReturn(Optional.of(List.of(2L, 3L)));
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.findCarViews(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_2));
+
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        null, null, null, null, BigDecimal.valueOf(100000), BigDecimal.valueOf(200000), null, List.of("ABS"))))
+                .containsExactly(CAR_DTO_2);
+
+        verify(carSpecificationImpl, times(1))
+                .idIn(Set.of(2L));
+        verify(carSpecificationImpl, times(1))
+                .dynamicFilters(new CarCriterionFilteringView(
+                        null, null, null, null, BigDecimal.valueOf(100000), BigDecimal.valueOf(200000), null, null));
+    }
+
+    @Test
+    @DisplayName("When filtering cars requiring all components known to the component index, restrict the filter to the IDs of the index without filtering the components again.")
+    public void test57() {
+
+        when(componentIndex.findCarsWithAllComponents(List.of("ABS", "GPS")))
+                .thenReturn(Optional.of(List.of(1L)));
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.findCarViews(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1));
+
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        null, null, null, null, null, null, null, List.of("ABS", "GPS"), true)))
+                .containsExactly(CAR_DTO_1);
+
+        verify(carSpecificationImpl, times(1))
+                .idIn(Set.of(1L));
+        verify(carSpecificationImpl, times(1))
+                .dynamicFilters(new CarCriterionFilteringView(null, null, null, null, null, null, null, null));
+        verify(componentIndex, never())
+                .findCarsWithAnyComponent(anyList());
+    }
+
+    @Test
+    @DisplayName("When finding a car by ID, return the car read by the projection query.")
+    public void test58() {
+
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1));
+
+        Assertions.assertThat(carService.findCarById(1L))
+                .isEqualTo(CAR_DTO_1);
+
+        verify(carRepository, never())
+                .findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("When a car with the specified ID is not found by the projection query, throw an EntityNotFoundException.")
+    public void test59() {
+
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of());
+
+        Assertions.assertThatThrownBy(() -> carService.findCarById(1L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Element not found.");
+    }
+
+    @Test
+    @DisplayName("When finding cars by IDs, return them in the order of the IDs, or throw if not all of them are found.")
+    public void test60() {
+
+        when(carRepository.findCarViews(any(), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1, CAR_VIEW_2));
+
+        Assertions.assertThat(carService.findCarsById(List.of(2L, 1L)))
+                .containsExactly(CAR_DTO_2, CAR_DTO_1);
+
+        Assertions.assertThatThrownBy(() -> carService.findCarsById(List.of(1L, 2L, 3L)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Not all elements were found.");
+    }
+
+    @Test
+    @DisplayName("When saving car whose components are known to the component index, attach references without loading the components.")
+    public void test61() {
+
+        when(componentIndex.containsAllComponents(List.of(1L, 2L)))
+                .thenReturn(Optional.of(true));
+
+        when(entityManager.getReference(ComponentEntity.class, 1L))
+                .thenReturn(COMPONENT_ENTITY_READ_1);
+
+        when(entityManager.getReference(ComponentEntity.class, 2L))
+                .thenReturn(COMPONENT_ENTITY_READ_2);
+
+        when(carRepository.save(any()))
+                .thenReturn(CAR_ENTITY_READ_1);
+
+        Assertions.assertThat(carService.save(CREATE_CAR_DTO_1))
+                .isEqualTo(1L);
+
+        verify(carRepository, times(1))
+                .save(argThat(car -> car.getComponents().equals(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2))));
+
+        verify(componentRepository, never())
+                .findAllByIdCached(anyCollection());
+    }
+
+    @Test
+    @DisplayName("When saving car with components unknown to the component index, load the components and throw an EntityNotFoundException if any is missing.")
+    public void test62() {
+
+        when(componentIndex.containsAllComponents(List.of(1L, 2L)))
+                .thenReturn(Optional.of(false));
+
+        when(componentRepository.findAllByIdCached(List.of(1L, 2L)))
+                .thenReturn(List.of(COMPONENT_ENTITY_READ_1));
+
+        Assertions.assertThatThrownBy(() -> carService.save(CREATE_CAR_DTO_1))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Not all components were found");
+
+        verify(entityManager, never())
+                .getReference(any(), any());
+    }
+
+    @Test
+    @DisplayName("When deleting more cars than fit into one statement, count and delete them in chunks.")
+    public void test63() {
+
+        var ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        when(carRepository.countByIdIn(anyCollection()))
+                .thenAnswer(invocation -> (long) invocation.<Collection<Long>>getArgument(0).size());
+
+        Assertions.assertThat(carService.deleteAllById(ids))
+                .isEqualTo(ids);
+
+        verify(carRepository, times(3))
+                .countByIdIn(anyCollection());
+
+        var inOrder = inOrder(carRepository);
+
+        inOrder.verify(carRepository, times(1))
+                .deleteAllByIdIn(ids.subList(0, 1000));
+
+        inOrder.verify(carRepository, times(1))
+                .deleteAllByIdIn(ids.subList(1000, 2000));
+
+        inOrder.verify(carRepository, times(1))
+                .deleteAllByIdIn(ids.subList(2000, 2500));
+    }
+
+    @Test
+    @DisplayName("When exporting all cars, pass every car read by the projection cursor to the consumer.")
+    public void test64() {
+
+        doAnswer(invocation -> {
+            Consumer<CarView> consumer = invocation.getArgument(1);
+            consumer.accept(CAR_VIEW_1);
+            consumer.accept(CAR_VIEW_2);
+            return null;
+        }).when(carRepository).forEachCarView(any(), any());
+
+        var cars = new ArrayList<CarDto>();
+
+        carService.exportCars(cars::add);
+
+        Assertions.assertThat(cars)
+                .containsExactly(CAR_DTO_1, CAR_DTO_2);
+    }
+
+    @Test
+    @DisplayName("When upserting cars, write only the new and changed cars and return the status of each car.")
+    public void test65() {
+
+        when(componentRepository.findAllByIdCached(anyList()))
+                .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2, COMPONENT_ENTITY_READ_3, COMPONENT_ENTITY_READ_4));
+
+        when(carRepository.findCarViews(any(), any()))
+                .thenReturn(List.of(
+                        CAR_VIEW_1,
+                        new CarView(2L, "BMW", "X1", 220, new BigDecimal("200000.00"), Color.RED, List.of("RADIO"))));
+
+        when(carRepository.upsertAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<CarEntity> cars = invocation.getArgument(0);
+                    cars.stream().filter(car -> car.getId() == null).forEach(car -> car.setId(3L));
+                    return Set.of();
+                });
+
+        Assertions.assertThat(carService.upsertAll(List.of(CREATE_CAR_DTO_1, CREATE_CAR_DTO_2, CREATE_CAR_DTO_3)))
+                .containsExactly(
+                        new CarUpsertResultDto(1L, "BMW", "X3", CarUpsertStatus.UPDATED),
+                        new CarUpsertResultDto(2L, "BMW", "X1", CarUpsertStatus.UNCHANGED),
+                        new CarUpsertResultDto(3L, "AUDI", "A1", CarUpsertStatus.CREATED));
+
+        verify(carSpecificationImpl, times(1))
+                .brandAndModelIn(Map.of("BMW", Set.of("X3", "X1"), "AUDI", Set.of("A1")));
+
+        verify(carRepository, times(1))
+                .upsertAll(argThat(cars -> cars.stream().map(CarEntity::getModel).toList().equals(List.of("X3", "A1"))));
+
+        verify(eventPublisher, times(1))
+                .publishEvent(any(CarsSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("When upserting cars with the same brand and model twice, throw an IllegalArgumentException.")
+    public void test66() {
+
+        Assertions.assertThatThrownBy(() -> carService.upsertAll(List.of(CREATE_CAR_DTO_1, CREATE_CAR_DTO_1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate car: BMW X3.");
+
+        verify(carRepository, never())
+                .upsertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("When saving cars with invalid DTOs, reject the whole batch with the violations of every DTO before reading the components.")
+    public void test67() {
+
+        var cars = List.of(CREATE_CAR_DTO_1, CREATE_CAR_DTO_2);
+
+        doThrow(new ValidationException(List.of(
+                new Violation(0, "Model cannot be empty."),
+                new Violation(1, "Price cannot be null."))))
+                .when(validationEngine)
+                .validate(eq(cars), any());
+
+        Assertions.assertThatThrownBy(() -> carService.saveAll(cars))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Row 0: Model cannot be empty. (and 1 more violations)");
+
+        verify(componentRepository, never())
+                .findAllByIdCached(anyCollection());
+
+        verify(carRepository, never())
+                .saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("When retrieving cars grouped by a parameter and the column store is ready, return its groups without querying the database.")
+    public void test68() {
+
+        doNothing().when(parametersValidator).validate(anyString());
+
+        when(carColumnStore.groupByField("brand"))
+                .thenReturn(Optional.of(List.of(new GroupByView<>("AUDI", 1L), new GroupByView<>("BMW", 2L))));
+
+        Assertions.assertThat(carService.groupByAndAmountOfCars("brand"))
+                .containsExactly(new GroupByDto<>("AUDI", 1L), new GroupByDto<>("BMW", 2L));
+
+        verify(carRepository, never()).groupByField(anyString());
+    }
+
+    @Test
+    @DisplayName("When filtering cars by criteria matching few cars of the column store, restrict the filter to the IDs of the store.")
+    public void test69() {
+
+        when(carColumnStore.filter(any(CarCriterionFilteringView.class)))
+                .thenReturn(Optional.of(List.of(1L)));
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.findCarViews(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1));
+
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        "BMW", null, 200, 300, null, null, Color.BLACK, null)))
+                .containsExactly(CAR_DTO_1);
+
+        verify(carSpecificationImpl, times(1))
+                .idIn(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("When filtering cars by a brand pattern and a speed with the column store ready, leave the pattern to the database and restrict the filter to the IDs matching the speed.")
+    public void test70() {
+
+        when(carRepository.findAllRows())
+                .thenReturn(List.of(
+                        new CarRowView(1L, "BMW", "X3", BigDecimal.valueOf(250000), 250, Color.BLACK),
+                        new CarRowView(2L, "AUDI", "A4", BigDecimal.valueOf(200000), 220, Color.WHITE)));
+
+        var store = new CarColumnStore(carRepository, componentRepository, true, 1000, eventPublisher);
+        store.afterSingletonsInstantiated();
+
+        when(carColumnStore.filter(any(CarCriterionFilteringView.class)))
+                .thenAnswer(invocation -> store.filter(invocation.getArgument(0)));
+
+        when(carSpecificationImpl.dynamicFilters(any(CarCriterionFilteringView.class)))
+                .thenCallRealMethod();
+
+        when(carRepository.findCarViews(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(CAR_VIEW_1));
+
+        Assertions.assertThat(carService.getCarsFilterBy(new CarCriterionDto(
+                        "B%", null, 200, 300, null, null, null, null)))
+                .containsExactly(CAR_DTO_1);
+
+        verify(carSpecificationImpl, times(1))
+                .idIn(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("When retrieving cars with a speed interval holding more cars than the speed index returns, read them from the database.")
+    public void test71() {
+
+        when(carRepository.findAllSpeeds())
+                .thenReturn(List.of(new CarSpeedView(1L, 250), new CarSpeedView(2L, 220)));
+
+        var limited = new SpeedIndex(carRepository, true, 1);
+        limited.afterSingletonsInstantiated();
+
+        when(speedIndex.findBetween(200, 300))
+                .thenAnswer(invocation -> limited.findBetween(200, 300));
+
+        when(carRepository.findCarViews(any(), eq(Sort.by("speed"))))
+                .thenReturn(List.of(CAR_VIEW_2, CAR_VIEW_1));
+
+        Assertions.assertThat(carService.getCarsWithSpeedInterval(200, 300))
+                .containsExactly(CAR_DTO_2, CAR_DTO_1);
+
+        verify(carSpecificationImpl, never())
+                .idIn(anyCollection());
+        verify(carRepository, times(1))
+                .findCarViews(any(), eq(Sort.by("speed")));
+    }
+
+    @Test
+    @DisplayName("When deleting cars by IDs repeated in different chunks, throw an EntityNotFoundException without deleting any car.")
+    public void test72() {
+
+        var ids = new ArrayList<>(LongStream.rangeClosed(1, 1000).boxed().toList());
+        ids.add(1L);
+
+        when(carRepository.countByIdIn(anyCollection()))
+                .thenAnswer(invocation -> (long) invocation.<Collection<Long>>getArgument(0).size());
+
+        Assertions.assertThatThrownBy(() -> carService.deleteAllById(ids))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Not all elements were found.");
+
+        verify(carRepository, never())
+                .deleteAllByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("When upserting a new car stored concurrently by another transaction, report it as updated with the ID of the stored car.")
+    public void test73() {
+
+        when(componentRepository.findAllByIdCached(anyList()))
+                .thenReturn(List.of(COMPONENT_ENTITY_READ_3, COMPONENT_ENTITY_READ_4));
+
+        when(carRepository.findCarViews(any(), any()))
+                .thenReturn(List.of());
+
+        when(carRepository.upsertAll(anyList()))
+                .thenAnswer(invocation -> {
+                    List<CarEntity> cars = invocation.getArgument(0);
+                    cars.forEach(car -> car.setId(3L));
+                    return Set.of(3L);
+                });
+
+        Assertions.assertThat(carService.upsertAll(List.of(CREATE_CAR_DTO_3)))
+                .containsExactly(new CarUpsertResultDto(3L, "AUDI", "A1", CarUpsertStatus.UPDATED));
+    }
+
+    @Test
+    @DisplayName("When saving car whose component was deleted after the component index confirmed it, throw an EntityNotFoundException instead of the foreign key violation.")
+    public void test74() {
+
+        when(componentIndex.containsAllComponents(List.of(1L, 2L)))
+                .thenReturn(Optional.of(true));
+
+        when(entityManager.getReference(ComponentEntity.class, 1L))
+                .thenReturn(COMPONENT_ENTITY_READ_1);
+
+        when(entityManager.getReference(ComponentEntity.class, 2L))
+                .thenReturn(COMPONENT_ENTITY_READ_2);
+
+        when(carRepository.save(any()))
+                .thenReturn(CAR_ENTITY_READ_1);
+
+        doThrow(new DataIntegrityViolationException("insert into cars_components ...", new ConstraintViolationException(
+                "could not execute batch",
+                new SQLException("Cannot add or update a child row: a foreign key constraint fails", "23000", 1452),
+                "insert into cars_components (car_id, component_id) values (?, ?)",
+                ConstraintViolationException.ConstraintKind.FOREIGN_KEY,
+                null)))
+                .when(carRepository)
+                .flush();
+
+        Assertions.assertThatThrownBy(() -> carService.save(CREATE_CAR_DTO_1))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Not all components were found");
+
+        verify(eventPublisher, never())
+                .publishEvent(any(CarsSavedEvent.class));
+    }
+
+    @Test
+    @DisplayName("When retrieving a page of filtered cars, if the offset of the page does not fit into an int, throw an IllegalArgumentException.")
+    public void test75() {
+
+        Assertions.assertThatThrownBy(() -> carService.getCarsFilterBy(new CarCriterionDto(
+                        "BMW", null, null, null, null, null, null, null), Integer.MAX_VALUE / 2 + 1, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page cannot be greater than " + Integer.MAX_VALUE / 2);
+
+        verify(carRepository, never())
+                .findPage(any(Specification.class), anyInt(), anyInt());
+    }
 }
@@ -1,9 +1,13 @@
 package com.app.service.impl;
 
 
+import com.app.controller.dto.car.GroupByDto;
 import com.app.controller.dto.components.CreateComponentDto;
+import com.app.index.ComponentIndex;
 import com.app.persistence.ComponentRepository;
+import com.app.persistence.view.GroupByView;
 import com.app.validate.CreateComponentDtoValidator;
+import com.app.validate.ValidationEngine;
 import jakarta.persistence.EntityNotFoundException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static com.app.data.CarComponentData.*;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -30,6 +36,14 @@ public class ComponentServiceImplTest {
     @Mock
     private CreateComponentDtoValidator createComponentDtoValidator;
 
+    @Mock
+    private ValidationEngine validationEngine;
+
+    @Mock
+    private ComponentIndex componentIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ComponentServiceImpl componentServiceImpl;
@@ -111,10 +125,8 @@ public class ComponentServiceImplTest {
     @DisplayName("When delete component by id from the database, return the ID if the operation completes successfully.")
     public void test6() {
 
-        when(componentRepository.findById(any()))
-                .thenReturn(Optional.of(COMPONENT_ENTITY_READ_1));
-
-        doNothing().when(componentRepository).delete(any());
+        when(componentRepository.countByIdIn(List.of(1L)))
+                .thenReturn(1L);
 
         Assertions.assertThat(componentServiceImpl.deleteById(1L))
                 .isEqualTo(1L);
@@ -122,39 +134,36 @@ public class ComponentServiceImplTest {
         var inOrder = inOrder(componentRepository);
 
         inOrder.verify(componentRepository, times(1))
-                .findById(anyLong());
+                .countByIdIn(List.of(1L));
 
         inOrder.verify(componentRepository, times(1))
-                .delete(any());
+                .deleteAllByIdIn(List.of(1L));
 
+        verify(componentRepository, never())
+                .findById(any());
     }
 
     @Test
     @DisplayName("When deleting a non-existing component by ID from the database, throw an EntityNotFoundException.")
     public void test7() {
 
-        when(componentRepository.findById(any()))
-                .thenReturn(Optional.empty());
+        when(componentRepository.countByIdIn(List.of(1L)))
+                .thenReturn(0L);
 
         Assertions.assertThatThrownBy(() -> componentServiceImpl.deleteById(1L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Element not found.");
 
-        var inOrder = inOrder(componentRepository);
-
-        inOrder.verify(componentRepository, times(1))
-                .findById(anyLong());
-
+        verify(componentRepository, never())
+                .deleteAllByIdIn(anyCollection());
     }
 
     @Test
     @DisplayName("When delete components by ids from the database, return the IDs if the operation completes successfully.")
     public void test8() {
 
-        when(componentRepository.findAllById(anyList()))
-                .thenReturn(List.of(COMPONENT_ENTITY_READ_1, COMPONENT_ENTITY_READ_2));
-
-        doNothing().when(componentRepository).deleteAll(anyList());
+        when(componentRepository.countByIdIn(List.of(1L, 2L)))
+                .thenReturn(2L);
 
         Assertions.assertThat(componentServiceImpl.deleteAllById(List.of(1L, 2L)))
                 .contains(1L, 2L);
@@ -162,29 +171,28 @@ public class ComponentServiceImplTest {
         var inOrder = inOrder(componentRepository);
 
         inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+                .countByIdIn(List.of(1L, 2L));
 
         inOrder.verify(componentRepository, times(1))
-                .deleteAll(anyList());
+                .deleteAllByIdIn(List.of(1L, 2L));
+
+        verify(componentRepository, never())
+                .findAllById(anyList());
     }
 
     @Test
     @DisplayName("When deleting components by IDs from the database, if not all components are found, throw an EntityNotFoundException.")
     public void test9() {
 
-        when(componentRepository.findAllById(anyList()))
-                .thenReturn(List.of(COMPONENT_ENTITY_READ_1));
-
-        doNothing().when(componentRepository).deleteAll(anyList());
+        when(componentRepository.countByIdIn(List.of(1L, 2L)))
+                .thenReturn(1L);
 
         Assertions.assertThatThrownBy(() -> componentServiceImpl.deleteAllById(List.of(1L, 2L)))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Not all elements were found.");
 
-        var inOrder = inOrder(componentRepository);
-
-        inOrder.verify(componentRepository, times(1))
-                .findAllById(anyList());
+        verify(componentRepository, never())
+                .deleteAllByIdIn(anyCollection());
     }
 
     @Test
@@ -223,4 +231,33 @@ public class ComponentServiceImplTest {
         verify(componentRepository, times(1))
                 .saveAll(anyList());
     }
+
+    @Test
+    @DisplayName("When counting cars by component, return the counts of the component index.")
+    public void test12() {
+
+        var counts = new TreeMap<String, Long>();
+        counts.put("ABS", 2L);
+        counts.put("GPS", 1L);
+
+        when(componentIndex.countCarsByComponent())
+                .thenReturn(Optional.of(counts));
+
+        Assertions.assertThat(componentServiceImpl.countCarsByComponent())
+                .containsExactly(new GroupByDto<>("ABS", 2L), new GroupByDto<>("GPS", 1L));
+
+        verify(componentRepository, never())
+                .countCarsByComponent();
+    }
+
+    @Test
+    @DisplayName("When counting cars by component and the component index is not ready, count the cars in the database.")
+    public void test13() {
+
+        when(componentRepository.countCarsByComponent())
+                .thenReturn(List.of(new GroupByView<>("ABS", 2L)));
+
+        Assertions.assertThat(componentServiceImpl.countCarsByComponent())
+                .containsExactly(new GroupByDto<>("ABS", 2L));
+    }
 }
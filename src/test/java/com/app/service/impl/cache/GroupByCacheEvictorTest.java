@@ -0,0 +1,85 @@
+package com.app.service.impl.cache;
+
+import com.app.config.CacheConfig;
+import com.app.index.CarColumnStore;
+import com.app.service.event.CarColumnsUpdatedEvent;
+import com.app.service.event.CarsDeletedEvent;
+import com.app.service.event.CarsSavedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class GroupByCacheEvictorTest {
+
+    @Mock
+    private CarColumnStore carColumnStore;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private GroupByCacheEvictor groupByCacheEvictor;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(
+                CacheConfig.GROUP_BY_AMOUNT_CACHE,
+                CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE);
+        groupByCacheEvictor = new GroupByCacheEvictor(cacheManager, carColumnStore);
+
+        cacheManager.getCache(CacheConfig.GROUP_BY_AMOUNT_CACHE).put("color", List.of());
+        cacheManager.getCache(CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE).put("brand", List.of());
+    }
+
+    @Test
+    @DisplayName("When cars are saved and the column store is not ready, clear all cached group-by results.")
+    public void test1() {
+
+        groupByCacheEvictor.onCarsSaved(new CarsSavedEvent(List.of()));
+
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_AMOUNT_CACHE).get("color"))
+                .isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE).get("brand"))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("When cars are deleted and the column store is not ready, clear all cached group-by results.")
+    public void test2() {
+
+        groupByCacheEvictor.onCarsDeleted(new CarsDeletedEvent(List.of(1L)));
+
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_AMOUNT_CACHE).get("color"))
+                .isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE).get("brand"))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("When cars are saved and the column store is ready, keep the cached group-by results until the store has applied the change.")
+    public void test3() {
+
+        when(carColumnStore.isReady())
+                .thenReturn(true);
+
+        groupByCacheEvictor.onCarsSaved(new CarsSavedEvent(List.of()));
+
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_AMOUNT_CACHE).get("color"))
+                .isNotNull();
+
+        groupByCacheEvictor.onCarColumnsUpdated(new CarColumnsUpdatedEvent());
+
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_AMOUNT_CACHE).get("color"))
+                .isNull();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.GROUP_BY_PRICE_STATISTIC_CACHE).get("brand"))
+                .isNull();
+    }
+}
@@ -144,4 +144,17 @@ public class CreateCarDtoValidatorTest {
         );
     }
 
+    @Test
+    @DisplayName("When checking CreateCarDto, return the first violation of every invalid field.")
+    public void test13() {
+
+        Assertions.assertThat(createCarDtoValidator.check(
+                        new CreateCarDto("bmw", null, 50, null, Color.BLACK, List.of())))
+                .containsExactly(
+                        "Model cannot be null.",
+                        "The brand does not match the pattern: " + brandRegex + ".",
+                        "The speed does not match the minimum speed: " + minimumSpeed + ".",
+                        "Price cannot be null.",
+                        "Components cannot be empty.");
+    }
 }
@@ -1,21 +1,30 @@
 package com.app.validator;
 
+import com.app.persistence.CarFieldRegistry;
 import com.app.validate.ParameterCarValidator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.InjectMocks;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
 
-@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import({CarFieldRegistry.class, ParameterCarValidator.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
 public class ParameterCarValidatorTest {
 
-    @InjectMocks
+    @Autowired
     private ParameterCarValidator parameterCarValidator;
 
+    @Autowired
+    private CarFieldRegistry carFieldRegistry;
+
     @Test
     @DisplayName("When validating the parameter, if the parameter is null, throw an IllegalArgumentException.")
     public void test1() {
@@ -45,10 +54,29 @@ public class ParameterCarValidatorTest {
 
     @ParameterizedTest
     @DisplayName("When validating the parameter, parameter is correct, do not throw an Exception.")
-    @CsvSource({"id", "brand", "model", "price", "speed", "color", "components"})
+    @CsvSource({"id", "brand", "model", "price", "speed", "color"})
     public void test4(String parameter) {
 
         Assertions.assertThatNoException()
                 .isThrownBy(() -> parameterCarValidator.validate(parameter));
     }
+
+    @Test
+    @DisplayName("When validating the parameter, if the parameter is a collection such as the components, throw an IllegalArgumentException.")
+    public void test5() {
+
+        Assertions.assertThatThrownBy(() -> parameterCarValidator.validate("components"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid parameter value: components");
+    }
+
+    @Test
+    @DisplayName("When building the field registry, allow sorting and grouping by the basic fields only.")
+    public void test6() {
+
+        Assertions.assertThat(carFieldRegistry.find("price").orElseThrow().sortable()).isTrue();
+        Assertions.assertThat(carFieldRegistry.find("color").orElseThrow().groupable()).isTrue();
+        Assertions.assertThat(carFieldRegistry.find("components").orElseThrow().sortable()).isFalse();
+        Assertions.assertThat(carFieldRegistry.find("components").orElseThrow().groupable()).isFalse();
+    }
 }
@@ -0,0 +1,72 @@
+package com.app.validator;
+
+import com.app.validate.ValidationEngine;
+import com.app.validate.ValidationException;
+import com.app.validate.Validator;
+import com.app.validate.Violation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class ValidationEngineTest {
+
+    private final Validator<Integer> evenValidator = number -> number % 2 == 0
+            ? List.of()
+            : List.of("Number " + number + " is odd.");
+
+    @Test
+    @DisplayName("When checking a batch, return every violation with the index of its row.")
+    public void test1() {
+
+        var engine = new ValidationEngine(1000);
+
+        Assertions.assertThat(engine.check(List.of(2, 3, 4, 5), evenValidator))
+                .containsExactly(
+                        new Violation(1, "Number 3 is odd."),
+                        new Violation(3, "Number 5 is odd."));
+    }
+
+    @Test
+    @DisplayName("When checking a batch in parallel, return the violations ordered by row index.")
+    public void test2() {
+
+        var engine = new ValidationEngine(10);
+        var numbers = IntStream.range(0, 10_000).boxed().toList();
+
+        Assertions.assertThat(engine.check(numbers, evenValidator))
+                .hasSize(5_000)
+                .extracting(Violation::row)
+                .isSorted()
+                .allMatch(row -> row % 2 == 1);
+    }
+
+    @Test
+    @DisplayName("When validating an invalid batch, throw a ValidationException without a stack trace holding every violation.")
+    public void test3() {
+
+        var engine = new ValidationEngine(1000);
+
+        Assertions.assertThatThrownBy(() -> engine.validate(List.of(1, 2, 3), evenValidator))
+                .isInstanceOf(ValidationException.class)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row 0: Number 1 is odd. (and 1 more violations)")
+                .satisfies(e -> {
+                    Assertions.assertThat(e.getStackTrace()).isEmpty();
+                    Assertions.assertThat(((ValidationException) e).getViolations())
+                            .extracting(Violation::row)
+                            .containsExactly(0, 2);
+                });
+    }
+
+    @Test
+    @DisplayName("When validating a valid batch, not throw an Exception.")
+    public void test4() {
+
+        var engine = new ValidationEngine(1000);
+
+        Assertions.assertThatNoException().isThrownBy(() -> engine.validate(List.of(2, 4), evenValidator));
+    }
+}